@@ -0,0 +1,157 @@
+package lt.lukasa.proguardviewer.cli;
+
+import lt.lukasa.proguardviewer.mappings.MappingComposer;
+import lt.lukasa.proguardviewer.mappings.MappingConsistencyAnalyzer;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import lt.lukasa.proguardviewer.query.NameTranslator;
+import lt.lukasa.proguardviewer.query.Namespace;
+import lt.lukasa.proguardviewer.util.CompressedStreams;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Translates names read line by line from stdin and writes one line per query to stdout. See {@link NameTranslator}
+ * for the query syntax, names which are not part of the mappings are written back unchanged. Mapping files ending
+ * with {@code .gz} are decompressed while they are read.
+ * <p>
+ * Output is only flushed when no further input is waiting, so piping a large file costs one write per buffer while an
+ * interactive caller still gets every answer right away.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingQueryCli {
+    private static final String USAGE = "Usage: mapping-query (--mojang <file> [--spigot <file>] | --tiny <file> [--tiny-obfuscated <namespace>]"
+            + " [--tiny-mojang <namespace>] [--tiny-spigot <namespace>]) [--to mojang|spigot|obfuscated] [--conflicts true] [--check true]";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> mappings = new HashMap<>();
+        Namespace target = Namespace.MOJANG;
+        String conflicts = null;
+        String check = null;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length || !args[i].startsWith("--")) {
+                exit(USAGE);
+            }
+            String option = args[i].substring(2);
+            String value = args[++i];
+            switch (option) {
+                case "mojang":
+                case "tiny":
+                case "tiny-obfuscated":
+                case "tiny-mojang":
+                case "tiny-spigot":
+                    mappings.put(option, value);
+                    break;
+                case "spigot":
+                    mappings.put("spigot-classes", value);
+                    break;
+                case "conflicts":
+                    conflicts = value;
+                    break;
+                case "check":
+                    check = value;
+                    break;
+                case "to":
+                    try {
+                        target = Namespace.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        exit("Unknown namespace " + value + "\n" + USAGE);
+                    }
+                    break;
+                default:
+                    exit("Unknown option " + args[i - 1] + "\n" + USAGE);
+            }
+        }
+        if (!mappings.containsKey("mojang") && !mappings.containsKey("tiny")) {
+            exit(USAGE);
+        }
+
+        long start = System.nanoTime();
+        MappingSnapshot snapshot = MappingLoader.load(new Profile("cli", mappings), location -> CompressedStreams.open(Paths.get(location)));
+        System.err.printf("Loaded %d classes in %d ms%n", snapshot.getMojang().getClassesByObfuscation().size(), (System.nanoTime() - start) / 1_000_000);
+        printConflicts(snapshot.getComposition().getConflicts(), "true".equals(conflicts));
+        printConsistency(MappingConsistencyAnalyzer.analyze(snapshot), "true".equals(check));
+
+        NameTranslator translator = new NameTranslator(snapshot, target);
+        start = System.nanoTime();
+        long[] counts = translate(translator, new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        long nanos = Math.max(1, System.nanoTime() - start);
+        System.err.printf("Translated %d of %d names, %.0f names/s%n", counts[1], counts[0], counts[0] * 1e9 / nanos);
+    }
+
+    /**
+     * @return the number of queries and the number of translated queries
+     */
+    static long[] translate(NameTranslator translator, Reader input, Writer output) throws IOException {
+        long queries = 0;
+        long translated = 0;
+        BufferedReader reader = new BufferedReader(input, 1 << 16);
+        BufferedWriter writer = new BufferedWriter(output, 1 << 16);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String query = line.trim();
+            String result = query.isEmpty() ? null : translator.translate(query);
+            queries++;
+            if (result != null) {
+                translated++;
+                writer.write(result);
+            } else {
+                writer.write(line);
+            }
+            writer.newLine();
+            if (!reader.ready()) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return new long[]{queries, translated};
+    }
+
+    /**
+     * Prints the number of conflicts per kind, and with {@code list} every single one of them.
+     */
+    private static void printConflicts(List<MappingComposer.Conflict> conflicts, boolean list) {
+        Map<MappingComposer.Conflict.Kind, Integer> counts = new EnumMap<>(MappingComposer.Conflict.Kind.class);
+        for (MappingComposer.Conflict conflict : conflicts) {
+            counts.merge(conflict.getKind(), 1, Integer::sum);
+            if (list) {
+                System.err.println(conflict);
+            }
+        }
+        if (!counts.isEmpty()) {
+            System.err.println("Composition conflicts: " + counts);
+        }
+    }
+
+    /**
+     * Prints the summary of the consistency check, and with {@code list} every single issue.
+     */
+    private static void printConsistency(MappingConsistencyAnalyzer.Report report, boolean list) {
+        if (list) {
+            report.getIssues().forEach(System.err::println);
+        }
+        System.err.println(report);
+    }
+
+    private static void exit(String message) {
+        System.err.println(message);
+        System.exit(2);
+    }
+}
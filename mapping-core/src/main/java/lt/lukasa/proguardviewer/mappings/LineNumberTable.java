@@ -0,0 +1,76 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.Arrays;
+
+/**
+ * The line number ranges ProGuard recorded for the methods of one class, stored as flat arrays. They allow picking
+ * the right method of an obfuscated name that is shared by several overloads, given the line number of a stack
+ * frame.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class LineNumberTable {
+    public static final LineNumberTable EMPTY = new LineNumberTable(new int[0], new ObfuscationMethodMapping[0]);
+
+    // start and end line of every entry, interleaved
+    private final int[] ranges;
+    private final ObfuscationMethodMapping[] methods;
+
+    private LineNumberTable(int[] ranges, ObfuscationMethodMapping[] methods) {
+        this.ranges = ranges;
+        this.methods = methods;
+    }
+
+    public int size() {
+        return methods.length;
+    }
+
+    public int getStart(int index) {
+        return ranges[index * 2];
+    }
+
+    public int getEnd(int index) {
+        return ranges[index * 2 + 1];
+    }
+
+    public ObfuscationMethodMapping getMethod(int index) {
+        return methods[index];
+    }
+
+    /**
+     * @return the method with the given obfuscated name whose line range contains the line, or null
+     */
+    public ObfuscationMethodMapping find(String obfuscatedName, int line) {
+        for (int i = 0; i < methods.length; i++) {
+            if (ranges[i * 2] <= line && line <= ranges[i * 2 + 1] && methods[i].getObfuscatedName().equals(obfuscatedName)) {
+                return methods[i];
+            }
+        }
+        return null;
+    }
+
+    public static class Builder {
+        private int[] ranges = new int[16];
+        private ObfuscationMethodMapping[] methods = new ObfuscationMethodMapping[8];
+        private int size;
+
+        public void add(int start, int end, ObfuscationMethodMapping method) {
+            if (size == methods.length) {
+                methods = Arrays.copyOf(methods, size * 2);
+                ranges = Arrays.copyOf(ranges, size * 4);
+            }
+            ranges[size * 2] = start;
+            ranges[size * 2 + 1] = end;
+            methods[size] = method;
+            size++;
+        }
+
+        public LineNumberTable build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new LineNumberTable(Arrays.copyOf(ranges, size * 2), Arrays.copyOf(methods, size));
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.parser.JvmDescriptorParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Composes an ordered chain of mappings, e.g. obfuscated to Spigot to Mojang to a community mapping, into a single
+ * {@link MultiNamespaceMapping}. Every class and member is followed through the whole chain once, afterwards a class is
+ * translated between any two namespaces of the chain with a single lookup, however long the chain is.
+ * <p>
+ * Each link of the chain consists of one or more hops, a hop applies an {@link ObfuscationMapping} either from its
+ * obfuscated to its real names or the other way round. The namespaces between the hops of one link are not part of
+ * the result, so Spigot to Mojang is the Spigot mapping reversed followed by the Mojang mapping.
+ * <p>
+ * Names a hop does not map pass through unchanged, names only mapped by a later hop keep their name in all earlier
+ * namespaces. Everything which makes the result deviate from the chain is reported as a {@link Conflict}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingComposer {
+    private final List<String> namespaces = new ArrayList<>();
+    private final List<Hop> hops = new ArrayList<>();
+    // For every hop the namespace of the link it belongs to
+    private final List<Integer> hopLinks = new ArrayList<>();
+
+    public MappingComposer(String sourceNamespace) {
+        namespaces.add(sourceNamespace);
+    }
+
+    /**
+     * Appends a link to the chain, leading from the last namespace to the given one.
+     */
+    public MappingComposer then(String namespace, Hop... linkHops) {
+        if (linkHops.length == 0) {
+            throw new IllegalArgumentException("Link to " + namespace + " has no hops");
+        }
+        for (Hop hop : linkHops) {
+            hops.add(hop);
+            hopLinks.add(namespaces.size());
+        }
+        namespaces.add(namespace);
+        return this;
+    }
+
+    public Composition compose() {
+        return new Run().compose();
+    }
+
+    /**
+     * One application of a mapping.
+     */
+    public static final class Hop {
+        private final ObfuscationMapping mapping;
+        private final boolean reverse;
+
+        private Hop(ObfuscationMapping mapping, boolean reverse) {
+            this.mapping = mapping;
+            this.reverse = reverse;
+        }
+
+        /**
+         * @return a hop from the obfuscated to the real names of the mapping
+         */
+        public static Hop forward(ObfuscationMapping mapping) {
+            return new Hop(mapping, false);
+        }
+
+        /**
+         * @return a hop from the real to the obfuscated names of the mapping
+         */
+        public static Hop reverse(ObfuscationMapping mapping) {
+            return new Hop(mapping, true);
+        }
+
+        private Map<String, ObfuscationClassMapping> sourceClasses() {
+            return reverse ? mapping.getClassesByRealName() : mapping.getClassesByObfuscation();
+        }
+
+        private String sourceName(ObfuscationClassMapping mapping) {
+            return reverse ? mapping.getRealName() : mapping.getObfuscatedName();
+        }
+
+        private String targetName(ObfuscationClassMapping mapping) {
+            return reverse ? mapping.getObfuscatedName() : mapping.getRealName();
+        }
+    }
+
+    public static final class Composition {
+        private final MultiNamespaceMapping mapping;
+        private final List<Conflict> conflicts;
+
+        private Composition(MultiNamespaceMapping mapping, List<Conflict> conflicts) {
+            this.mapping = mapping;
+            this.conflicts = Collections.unmodifiableList(conflicts);
+        }
+
+        public MultiNamespaceMapping getMapping() {
+            return mapping;
+        }
+
+        public List<Conflict> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    public static final class Conflict {
+        public enum Kind {
+            /**
+             * A hop maps other names of the class, but not this one, so the name was kept
+             */
+            UNMAPPED,
+            /**
+             * Several overloads of a hop matched a method, the first one was taken
+             */
+            AMBIGUOUS,
+            /**
+             * Two classes have the same name in a namespace, lookups by that name find the later one
+             */
+            DUPLICATE
+        }
+
+        private final Kind kind;
+        private final String namespace;
+        private final String className;
+        private final String memberName;
+
+        Conflict(Kind kind, String namespace, String className, String memberName) {
+            this.kind = kind;
+            this.namespace = namespace;
+            this.className = className;
+            this.memberName = memberName;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the namespace whose link or names caused the conflict
+         */
+        public String getNamespace() {
+            return namespace;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return the member name, or null if the conflict is about the class itself
+         */
+        public String getMemberName() {
+            return memberName;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + namespace + ": " + className + (memberName == null ? "" : "#" + memberName);
+        }
+    }
+
+    /**
+     * The state of one composition. Names are tracked in every namespace of every hop until the result is built.
+     */
+    private final class Run {
+        private final int namespaceCount = hops.size() + 1;
+        private final List<ClassRow> rows = new ArrayList<>();
+        private final List<Conflict> conflicts = new ArrayList<>();
+        private Map<String, ClassRow>[] index;
+
+        Composition compose() {
+            for (int hop = 0; hop < hops.size(); hop++) {
+                composeClasses(hop);
+            }
+            buildIndex();
+            for (ClassRow row : rows) {
+                for (int hop = 0; hop < hops.size(); hop++) {
+                    composeFields(row, hop);
+                    composeMethods(row, hop);
+                }
+            }
+            return new Composition(buildMapping(), conflicts);
+        }
+
+        private void composeClasses(int hop) {
+            Hop current = hops.get(hop);
+            Map<String, ObfuscationClassMapping> source = current.sourceClasses();
+            Set<ObfuscationClassMapping> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ClassRow row : rows) {
+                ObfuscationClassMapping mapping = source.get(row.names[hop]);
+                if (mapping != null) {
+                    matched.add(mapping);
+                    row.hopClasses[hop] = mapping;
+                    row.names[hop + 1] = current.targetName(mapping);
+                } else {
+                    row.names[hop + 1] = row.names[hop];
+                    if (!source.isEmpty()) {
+                        report(Conflict.Kind.UNMAPPED, hop, row.names[hop], null);
+                    }
+                }
+            }
+            for (ObfuscationClassMapping mapping : source.values()) {
+                if (!matched.contains(mapping)) {
+                    ClassRow row = new ClassRow(namespaceCount, hops.size());
+                    Arrays.fill(row.names, 0, hop + 1, current.sourceName(mapping));
+                    row.names[hop + 1] = current.targetName(mapping);
+                    row.hopClasses[hop] = mapping;
+                    rows.add(row);
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void buildIndex() {
+            index = new Map[namespaceCount];
+            for (int namespace = 0; namespace < namespaceCount; namespace++) {
+                index[namespace] = new HashMap<>(rows.size() * 4 / 3 + 1);
+                for (ClassRow row : rows) {
+                    index[namespace].putIfAbsent(row.names[namespace], row);
+                }
+            }
+        }
+
+        private void composeFields(ClassRow row, int hop) {
+            Hop current = hops.get(hop);
+            ObfuscationClassMapping owner = row.hopClasses[hop];
+            Map<String, String> source = owner == null ? Collections.emptyMap() : current.reverse ? owner.getFieldByRealName() : owner.getFieldByObfuscation();
+            Set<String> matched = new HashSet<>();
+            for (MemberRow field : row.fields) {
+                String target = source.get(field.names[hop]);
+                if (target != null) {
+                    matched.add(field.names[hop]);
+                    field.names[hop + 1] = target;
+                } else {
+                    field.names[hop + 1] = field.names[hop];
+                    if (!source.isEmpty()) {
+                        report(Conflict.Kind.UNMAPPED, hop, row.names[hop], field.names[hop]);
+                    }
+                }
+            }
+            source.forEach((name, target) -> {
+                if (!matched.contains(name)) {
+                    MemberRow field = new MemberRow(namespaceCount, null, null, -1);
+                    Arrays.fill(field.names, 0, hop + 1, name);
+                    field.names[hop + 1] = target;
+                    row.fields.add(field);
+                }
+            });
+        }
+
+        private void composeMethods(ClassRow row, int hop) {
+            Hop current = hops.get(hop);
+            ObfuscationClassMapping owner = row.hopClasses[hop];
+            Map<String, List<ObfuscationMethodMapping>> source = owner == null ? Collections.emptyMap() : current.reverse ? owner.getMethodsByRealName() : owner.getMethodsByObfuscatedName();
+            // The types of a mapping are always given in its real names
+            int typeNamespace = current.reverse ? hop : hop + 1;
+            Set<ObfuscationMethodMapping> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (MemberRow method : row.methods) {
+                ObfuscationMethodMapping match = null;
+                boolean ambiguous = false;
+                for (ObfuscationMethodMapping candidate : source.getOrDefault(method.names[hop], Collections.emptyList())) {
+                    if (!matched.contains(candidate) && parametersEqual(method, candidate.getParameterTypes(), typeNamespace)) {
+                        ambiguous |= match != null;
+                        match = match == null ? candidate : match;
+                    }
+                }
+                if (match != null) {
+                    matched.add(match);
+                    method.names[hop + 1] = current.reverse ? match.getObfuscatedName() : match.getRealName();
+                    if (ambiguous) {
+                        report(Conflict.Kind.AMBIGUOUS, hop, row.names[hop], method.names[hop]);
+                    }
+                } else {
+                    method.names[hop + 1] = method.names[hop];
+                    if (!source.isEmpty()) {
+                        report(Conflict.Kind.UNMAPPED, hop, row.names[hop], method.names[hop]);
+                    }
+                }
+            }
+            for (List<ObfuscationMethodMapping> candidates : source.values()) {
+                for (ObfuscationMethodMapping candidate : candidates) {
+                    if (!matched.contains(candidate) && !candidate.getRealName().startsWith("<")) {
+                        MemberRow method = new MemberRow(namespaceCount, candidate.getParameterTypes(), candidate.getReturnType(), typeNamespace);
+                        Arrays.fill(method.names, 0, hop + 1, current.reverse ? candidate.getRealName() : candidate.getObfuscatedName());
+                        method.names[hop + 1] = current.reverse ? candidate.getObfuscatedName() : candidate.getRealName();
+                        row.methods.add(method);
+                    }
+                }
+            }
+        }
+
+        private boolean parametersEqual(MemberRow method, List<String> parameterTypes, int namespace) {
+            if (method.parameterTypes.size() != parameterTypes.size()) {
+                return false;
+            }
+            for (int i = 0; i < parameterTypes.size(); i++) {
+                if (!translateType(method.parameterTypes.get(i), method.typeNamespace, namespace).equals(parameterTypes.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String translateType(String type, int from, int to) {
+            if (from == to) {
+                return type;
+            }
+            int dimensions = type.indexOf('[');
+            ClassRow row = index[from].get(dimensions < 0 ? type : type.substring(0, dimensions));
+            if (row == null) {
+                return type;
+            }
+            return dimensions < 0 ? row.names[to] : row.names[to] + type.substring(dimensions);
+        }
+
+        /**
+         * Keeps the names of the link namespaces only and converts the classes into internal names.
+         */
+        private MultiNamespaceMapping buildMapping() {
+            int[] visible = new int[namespaces.size()];
+            for (int hop = 0; hop < hops.size(); hop++) {
+                visible[hopLinks.get(hop)] = hop + 1;
+            }
+            MultiNamespaceMapping mapping = new MultiNamespaceMapping(namespaces.toArray(new String[0]));
+            for (ClassRow row : rows) {
+                MultiNamespaceMapping.ClassEntry entry = new MultiNamespaceMapping.ClassEntry(select(row.names, visible, true));
+                for (int namespace = 0; namespace < visible.length; namespace++) {
+                    if (mapping.getClass(namespace, entry.getName(namespace)) != null) {
+                        conflicts.add(new Conflict(Conflict.Kind.DUPLICATE, namespaces.get(namespace), row.names[visible[namespace]], null));
+                    }
+                }
+                for (MemberRow field : row.fields) {
+                    entry.addField(new MultiNamespaceMapping.MemberEntry(null, select(field.names, visible, false)));
+                }
+                for (MemberRow method : row.methods) {
+                    List<String> parameterTypes = new ArrayList<>(method.parameterTypes.size());
+                    for (String parameterType : method.parameterTypes) {
+                        parameterTypes.add(translateType(parameterType, method.typeNamespace, 0));
+                    }
+                    String descriptor = JvmDescriptorParser.toMethodDescriptor(parameterTypes, translateType(method.returnType, method.typeNamespace, 0));
+                    entry.addMethod(new MultiNamespaceMapping.MemberEntry(descriptor, select(method.names, visible, false)));
+                }
+                mapping.addClass(entry);
+            }
+            return mapping;
+        }
+
+        private String[] select(String[] names, int[] visible, boolean internalNames) {
+            String[] selected = new String[visible.length];
+            for (int i = 0; i < visible.length; i++) {
+                selected[i] = internalNames ? names[visible[i]].replace('.', '/') : names[visible[i]];
+            }
+            return selected;
+        }
+
+        private void report(Conflict.Kind kind, int hop, String className, String memberName) {
+            conflicts.add(new Conflict(kind, namespaces.get(hopLinks.get(hop)), className, memberName));
+        }
+    }
+
+    private static final class ClassRow {
+        private final String[] names;
+        private final ObfuscationClassMapping[] hopClasses;
+        private final List<MemberRow> fields = new ArrayList<>();
+        private final List<MemberRow> methods = new ArrayList<>();
+
+        ClassRow(int namespaces, int hops) {
+            this.names = new String[namespaces];
+            this.hopClasses = new ObfuscationClassMapping[hops];
+        }
+    }
+
+    private static final class MemberRow {
+        private final String[] names;
+        // Methods only, given in the names of the type namespace
+        private final List<String> parameterTypes;
+        private final String returnType;
+        private final int typeNamespace;
+
+        MemberRow(int namespaces, List<String> parameterTypes, String returnType, int typeNamespace) {
+            this.names = new String[namespaces];
+            this.parameterTypes = parameterTypes;
+            this.returnType = returnType;
+            this.typeNamespace = typeNamespace;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the mappings of a snapshot for entries which cannot be looked up as the mappings intend, which otherwise only
+ * show as hints silently missing for some names. The classes of both mappings are checked in parallel, each on its
+ * own, so a full profile takes a few milliseconds per core.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingConsistencyAnalyzer {
+    private MappingConsistencyAnalyzer() {
+    }
+
+    public static Report analyze(MappingSnapshot snapshot) {
+        long start = System.nanoTime();
+        ObfuscationMapping mojang = snapshot.getMojang();
+        ObfuscationMapping spigot = snapshot.getSpigot();
+        List<Check> checks = new ArrayList<>();
+        for (ObfuscationClassMapping classMapping : distinctClasses(mojang)) {
+            checks.add(new Check(MappingSnapshot.MOJANG, mojang, classMapping, null));
+        }
+        for (ObfuscationClassMapping classMapping : distinctClasses(spigot)) {
+            checks.add(new Check(MappingSnapshot.SPIGOT, spigot, classMapping, mojang));
+        }
+        List<Issue> issues = checks.parallelStream()
+                .flatMap(check -> check.run().stream())
+                .collect(Collectors.toCollection(ArrayList::new));
+        addOrphans(MappingSnapshot.MOJANG, mojang, issues);
+        addOrphans(MappingSnapshot.SPIGOT, spigot, issues);
+        issues.sort(Comparator.comparing(Issue::getKind).thenComparing(Issue::getMapping).thenComparing(Issue::getClassName)
+                .thenComparing(Issue::getMemberName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return new Report(issues, checks.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static List<ObfuscationClassMapping> distinctClasses(ObfuscationMapping mapping) {
+        Map<ObfuscationClassMapping, Boolean> classes = new IdentityHashMap<>();
+        mapping.getClassesByObfuscation().values().forEach(classMapping -> classes.put(classMapping, Boolean.TRUE));
+        mapping.getClassesByRealName().values().forEach(classMapping -> classes.put(classMapping, Boolean.TRUE));
+        return new ArrayList<>(classes.keySet());
+    }
+
+    private static void addOrphans(String name, ObfuscationMapping mapping, List<Issue> issues) {
+        for (String member : mapping.getOrphanMembers()) {
+            String[] split = member.split(" ");
+            issues.add(new Issue(Issue.Kind.ORPHAN, name, split[0].replace('/', '.'), split.length > 1 ? split[1] : null));
+        }
+    }
+
+    /**
+     * The checks of a single class, which only read the mappings and can run in any order.
+     */
+    private static final class Check {
+        private final String name;
+        private final ObfuscationMapping mapping;
+        private final ObfuscationClassMapping classMapping;
+        // The mapping the classes are expected to continue in, null for the last one of the chain
+        private final ObfuscationMapping next;
+        private List<Issue> issues = Collections.emptyList();
+
+        Check(String name, ObfuscationMapping mapping, ObfuscationClassMapping classMapping, ObfuscationMapping next) {
+            this.name = name;
+            this.mapping = mapping;
+            this.classMapping = classMapping;
+            this.next = next;
+        }
+
+        List<Issue> run() {
+            String realName = classMapping.getRealName();
+            String obfuscatedName = classMapping.getObfuscatedName();
+            if (mapping.getClassesByRealName().get(realName) != classMapping) {
+                report(Issue.Kind.DUPLICATE, realName, null);
+            }
+            if (mapping.getClassesByObfuscation().get(obfuscatedName) != classMapping) {
+                report(Issue.Kind.DUPLICATE, obfuscatedName, null);
+            }
+            if (next != null && !next.hasObfuscatedClass(obfuscatedName)) {
+                report(Issue.Kind.UNMAPPED, realName, null);
+            }
+            checkFields();
+            checkMethods();
+            return issues;
+        }
+
+        /**
+         * Both field maps have to be the inverse of each other, any difference means two fields share a name.
+         */
+        private void checkFields() {
+            Map<String, String> byObfuscation = classMapping.getFieldByObfuscation();
+            Map<String, String> byRealName = classMapping.getFieldByRealName();
+            byObfuscation.forEach((obfuscated, real) -> {
+                if (!obfuscated.equals(byRealName.get(real))) {
+                    report(Issue.Kind.DUPLICATE, classMapping.getRealName(), real);
+                }
+            });
+            byRealName.forEach((real, obfuscated) -> {
+                if (!real.equals(byObfuscation.get(obfuscated))) {
+                    report(Issue.Kind.DUPLICATE, classMapping.getRealName(), obfuscated);
+                }
+            });
+        }
+
+        /**
+         * Methods are looked up by their obfuscated name and parameter types, overloads only differing in their
+         * real name cannot be told apart. Overloads sharing real name, parameters and return type are duplicates.
+         */
+        private void checkMethods() {
+            for (List<ObfuscationMethodMapping> overloads : classMapping.getMethodsByObfuscatedName().values()) {
+                for (int i = 0; i < overloads.size(); i++) {
+                    for (int j = i + 1; j < overloads.size(); j++) {
+                        ObfuscationMethodMapping a = overloads.get(i);
+                        ObfuscationMethodMapping b = overloads.get(j);
+                        if (a.getParameterTypes().equals(b.getParameterTypes()) && !a.getRealName().equals(b.getRealName())) {
+                            report(Issue.Kind.AMBIGUOUS, classMapping.getRealName(), a.getObfuscatedName() + "(" + String.join(",", a.getParameterTypes()) + ")");
+                        }
+                    }
+                }
+            }
+            for (List<ObfuscationMethodMapping> overloads : classMapping.getMethodsByRealName().values()) {
+                for (int i = 0; i < overloads.size(); i++) {
+                    for (int j = i + 1; j < overloads.size(); j++) {
+                        ObfuscationMethodMapping a = overloads.get(i);
+                        ObfuscationMethodMapping b = overloads.get(j);
+                        if (a != b && a.getParameterTypes().equals(b.getParameterTypes()) && Objects.equals(a.getReturnType(), b.getReturnType())
+                                && !a.getObfuscatedName().equals(b.getObfuscatedName())) {
+                            report(Issue.Kind.DUPLICATE, classMapping.getRealName(), a.getRealName() + "(" + String.join(",", a.getParameterTypes()) + ")");
+                        }
+                    }
+                }
+            }
+        }
+
+        private void report(Issue.Kind kind, String className, String memberName) {
+            if (issues.isEmpty()) {
+                issues = new ArrayList<>(2);
+            }
+            issues.add(new Issue(kind, name, className, memberName));
+        }
+    }
+
+    public static final class Issue {
+        public enum Kind {
+            /**
+             * A class of the Spigot mapping whose obfuscated name is not part of the Mojang mapping, it has no Mojang
+             * name
+             */
+            UNMAPPED,
+            /**
+             * Overloads sharing an obfuscated name and parameter types but with different real names, lookups find
+             * the first of them only
+             */
+            AMBIGUOUS,
+            /**
+             * Two classes, fields or methods with the same name, lookups by that name find only one of them
+             */
+            DUPLICATE,
+            /**
+             * A member entry of a CSRG file whose class is not part of the class mapping, it has been skipped
+             */
+            ORPHAN
+        }
+
+        private final Kind kind;
+        private final String mapping;
+        private final String className;
+        private final String memberName;
+
+        Issue(Kind kind, String mapping, String className, String memberName) {
+            this.kind = kind;
+            this.mapping = mapping;
+            this.className = className;
+            this.memberName = memberName;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the mapping the entry belongs to, {@code mojang} or {@code spigot}
+         */
+        public String getMapping() {
+            return mapping;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return the member name, or null if the issue is about the class itself
+         */
+        public String getMemberName() {
+            return memberName;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + mapping + ": " + className + (memberName == null ? "" : "#" + memberName);
+        }
+    }
+
+    public static final class Report {
+        private final List<Issue> issues;
+        private final Map<Issue.Kind, Integer> counts = new EnumMap<>(Issue.Kind.class);
+        private final int checkedClasses;
+        private final long millis;
+
+        private Report(List<Issue> issues, int checkedClasses, long millis) {
+            this.issues = Collections.unmodifiableList(issues);
+            this.checkedClasses = checkedClasses;
+            this.millis = millis;
+            for (Issue issue : issues) {
+                counts.merge(issue.getKind(), 1, Integer::sum);
+            }
+        }
+
+        public List<Issue> getIssues() {
+            return issues;
+        }
+
+        public int getCount(Issue.Kind kind) {
+            return counts.getOrDefault(kind, 0);
+        }
+
+        /**
+         * @return the number of issues per kind, kinds without issues are left out
+         */
+        public Map<Issue.Kind, Integer> getCounts() {
+            return Collections.unmodifiableMap(counts);
+        }
+
+        public boolean isEmpty() {
+            return issues.isEmpty();
+        }
+
+        public int getCheckedClasses() {
+            return checkedClasses;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return "Checked " + checkedClasses + " classes in " + millis + " ms: " + (issues.isEmpty() ? "no issues" : counts.toString());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Lets mappings loaded next to each other, e.g. the profiles of several modules targeting neighbouring Minecraft
+ * versions, share their memory. Class records equal to one of an already loaded mapping are reused as they are, all
+ * other records are copied with their names and parameter lists replaced by the instances already in use.
+ * <p>
+ * Mappings are never modified after they have been loaded, so a shared class record can safely be part of several
+ * mappings. The deduplicator itself only lives for one load and keeps nothing alive afterwards.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingDeduplicator {
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<List<String>, List<String>> parameterLists = new HashMap<>();
+    // Records of the loaded mappings by their real name, with the same real name in several versions
+    private final Map<String, List<ObfuscationClassMapping>> classesByRealName = new HashMap<>();
+
+    /**
+     * @param loaded the mappings which are already loaded and whose records should be reused
+     */
+    public MappingDeduplicator(Collection<ObfuscationMapping> loaded) {
+        Map<ObfuscationClassMapping, Boolean> seen = new IdentityHashMap<>();
+        for (ObfuscationMapping mapping : loaded) {
+            for (ObfuscationClassMapping classMapping : mapping.getClassesByRealName().values()) {
+                if (seen.put(classMapping, Boolean.TRUE) == null) {
+                    classesByRealName.computeIfAbsent(classMapping.getRealName(), name -> new ArrayList<>(1)).add(classMapping);
+                    register(classMapping);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a mapping with the same content, sharing as much as possible with the loaded mappings and with the
+     * mappings shared before through this deduplicator
+     */
+    public ObfuscationMapping share(ObfuscationMapping mapping) {
+        Map<ObfuscationClassMapping, ObfuscationClassMapping> shared = new IdentityHashMap<>();
+        ObfuscationMapping result = new ObfuscationMapping();
+        mapping.getClassesByObfuscation().forEach((name, classMapping) ->
+                result.getClassesByObfuscation().put(intern(name), shared.computeIfAbsent(classMapping, this::share)));
+        mapping.getClassesByRealName().forEach((name, classMapping) ->
+                result.getClassesByRealName().put(intern(name), shared.computeIfAbsent(classMapping, this::share)));
+        result.getOrphanMembers().addAll(mapping.getOrphanMembers());
+        return result;
+    }
+
+    private ObfuscationClassMapping share(ObfuscationClassMapping classMapping) {
+        for (ObfuscationClassMapping candidate : classesByRealName.getOrDefault(classMapping.getRealName(), Collections.emptyList())) {
+            if (isEqual(candidate, classMapping)) {
+                return candidate;
+            }
+        }
+        ObfuscationClassMapping copy = new ObfuscationClassMapping(intern(classMapping.getRealName()), intern(classMapping.getObfuscatedName()));
+        classMapping.getFieldByObfuscation().forEach((obfuscated, real) -> copy.getFieldByObfuscation().put(intern(obfuscated), intern(real)));
+        classMapping.getFieldByRealName().forEach((real, obfuscated) -> copy.getFieldByRealName().put(intern(real), intern(obfuscated)));
+        Map<ObfuscationMethodMapping, ObfuscationMethodMapping> methods = new IdentityHashMap<>();
+        copyMethods(classMapping.getMethodsByObfuscatedName(), copy.getMethodsByObfuscatedName(), methods);
+        copyMethods(classMapping.getMethodsByRealName(), copy.getMethodsByRealName(), methods);
+        LineNumberTable lineNumbers = classMapping.getLineNumbers();
+        if (lineNumbers.size() > 0) {
+            LineNumberTable.Builder builder = new LineNumberTable.Builder();
+            for (int i = 0; i < lineNumbers.size(); i++) {
+                builder.add(lineNumbers.getStart(i), lineNumbers.getEnd(i), methods.computeIfAbsent(lineNumbers.getMethod(i), this::share));
+            }
+            copy.setLineNumbers(builder.build());
+        }
+        // Later mappings of the same load may contain the class again, e.g. the Mojang mappings of two profiles
+        classesByRealName.computeIfAbsent(copy.getRealName(), name -> new ArrayList<>(1)).add(copy);
+        return copy;
+    }
+
+    private void copyMethods(Map<String, List<ObfuscationMethodMapping>> source, Map<String, List<ObfuscationMethodMapping>> target,
+                             Map<ObfuscationMethodMapping, ObfuscationMethodMapping> methods) {
+        source.forEach((name, overloads) -> {
+            List<ObfuscationMethodMapping> copies = new ArrayList<>(overloads.size());
+            for (ObfuscationMethodMapping method : overloads) {
+                copies.add(methods.computeIfAbsent(method, this::share));
+            }
+            target.put(intern(name), copies);
+        });
+    }
+
+    private ObfuscationMethodMapping share(ObfuscationMethodMapping method) {
+        return new ObfuscationMethodMapping(intern(method.getReturnType()), intern(method.getRealName()), intern(method.getObfuscatedName()),
+                intern(method.getParameterTypes()));
+    }
+
+    private void register(ObfuscationClassMapping classMapping) {
+        strings.putIfAbsent(classMapping.getRealName(), classMapping.getRealName());
+        strings.putIfAbsent(classMapping.getObfuscatedName(), classMapping.getObfuscatedName());
+        classMapping.getFieldByObfuscation().forEach((obfuscated, real) -> {
+            strings.putIfAbsent(obfuscated, obfuscated);
+            strings.putIfAbsent(real, real);
+        });
+        for (List<ObfuscationMethodMapping> overloads : classMapping.getMethodsByObfuscatedName().values()) {
+            for (ObfuscationMethodMapping method : overloads) {
+                strings.putIfAbsent(method.getReturnType(), method.getReturnType());
+                strings.putIfAbsent(method.getRealName(), method.getRealName());
+                strings.putIfAbsent(method.getObfuscatedName(), method.getObfuscatedName());
+                parameterLists.putIfAbsent(method.getParameterTypes(), method.getParameterTypes());
+            }
+        }
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    private List<String> intern(List<String> parameterTypes) {
+        List<String> existing = parameterLists.get(parameterTypes);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> copy = new ArrayList<>(parameterTypes.size());
+        for (String parameterType : parameterTypes) {
+            copy.add(intern(parameterType));
+        }
+        List<String> interned = parameterTypes.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(copy);
+        parameterLists.put(interned, interned);
+        return interned;
+    }
+
+    private static boolean isEqual(ObfuscationClassMapping a, ObfuscationClassMapping b) {
+        if (!a.getObfuscatedName().equals(b.getObfuscatedName()) || !a.getFieldByObfuscation().equals(b.getFieldByObfuscation())
+                || !a.getFieldByRealName().equals(b.getFieldByRealName())
+                || !a.getMethodsByObfuscatedName().keySet().equals(b.getMethodsByObfuscatedName().keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, List<ObfuscationMethodMapping>> entry : a.getMethodsByObfuscatedName().entrySet()) {
+            List<ObfuscationMethodMapping> others = b.getMethodsByObfuscatedName().get(entry.getKey());
+            if (others.size() != entry.getValue().size()) {
+                return false;
+            }
+            for (int i = 0; i < others.size(); i++) {
+                if (!isEqual(entry.getValue().get(i), others.get(i))) {
+                    return false;
+                }
+            }
+        }
+        LineNumberTable lines = a.getLineNumbers();
+        LineNumberTable otherLines = b.getLineNumbers();
+        if (lines.size() != otherLines.size()) {
+            return false;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.getStart(i) != otherLines.getStart(i) || lines.getEnd(i) != otherLines.getEnd(i)
+                    || !isEqual(lines.getMethod(i), otherLines.getMethod(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEqual(ObfuscationMethodMapping a, ObfuscationMethodMapping b) {
+        return a.getRealName().equals(b.getRealName()) && a.getObfuscatedName().equals(b.getObfuscatedName())
+                && Objects.equals(a.getReturnType(), b.getReturnType()) && a.getParameterTypes().equals(b.getParameterTypes());
+    }
+}
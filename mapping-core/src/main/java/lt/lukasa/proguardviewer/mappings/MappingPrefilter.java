@@ -0,0 +1,147 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Decides cheaply whether a class name can be part of the mappings at all. Most classes referenced by a plugin are
+ * JDK, Bukkit or library classes, which are rejected by checking their package against a trie of all mapped packages
+ * and their full name against a Bloom filter. Neither check allocates.
+ * <p>
+ * A negative answer is definite, a positive answer still has to be confirmed by a lookup in the mappings.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingPrefilter {
+    private static final int BITS_PER_NAME = 10;
+    private static final int HASH_FUNCTIONS = 4;
+
+    // Package trie, every node stores its label, its first child and its next sibling
+    private char[] labels = new char[256];
+    private int[] firstChild = new int[256];
+    private int[] nextSibling = new int[256];
+    private boolean[] terminal = new boolean[256];
+    private int nodes = 1;
+
+    private final long[] bloom;
+    private final int bloomMask;
+
+    private MappingPrefilter(int expectedNames) {
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        int bits = Integer.highestOneBit(Math.max(64, expectedNames * BITS_PER_NAME - 1)) << 1;
+        this.bloom = new long[bits >>> 6];
+        this.bloomMask = bits - 1;
+    }
+
+    /**
+     * Builds a filter which accepts all names contained in the given collections.
+     */
+    @SafeVarargs
+    public static MappingPrefilter build(Collection<String>... names) {
+        int expected = 0;
+        for (Collection<String> collection : names) {
+            expected += collection.size();
+        }
+        MappingPrefilter filter = new MappingPrefilter(expected);
+        for (Collection<String> collection : names) {
+            for (String name : collection) {
+                filter.add(name);
+            }
+        }
+        filter.labels = Arrays.copyOf(filter.labels, filter.nodes);
+        filter.firstChild = Arrays.copyOf(filter.firstChild, filter.nodes);
+        filter.nextSibling = Arrays.copyOf(filter.nextSibling, filter.nodes);
+        filter.terminal = Arrays.copyOf(filter.terminal, filter.nodes);
+        return filter;
+    }
+
+    /**
+     * @return false if the class name is definitely not part of the mappings
+     */
+    public boolean mightContain(String className) {
+        if (className == null || !hasPackage(className)) {
+            return false;
+        }
+        int h1 = className.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & bloomMask;
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasPackage(String className) {
+        int end = className.lastIndexOf('.');
+        int node = 0;
+        for (int i = 0; i < end; i++) {
+            node = findChild(node, className.charAt(i));
+            if (node < 0) {
+                return false;
+            }
+        }
+        return terminal[node];
+    }
+
+    private void add(String className) {
+        int end = className.lastIndexOf('.');
+        int node = 0;
+        for (int i = 0; i < end; i++) {
+            char c = className.charAt(i);
+            int child = findChild(node, c);
+            if (child < 0) {
+                child = newNode(c);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+        }
+        terminal[node] = true;
+
+        int h1 = className.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & bloomMask;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private int findChild(int node, char c) {
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            if (labels[child] == c) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    private int newNode(char label) {
+        if (nodes == labels.length) {
+            int size = nodes * 2;
+            labels = Arrays.copyOf(labels, size);
+            terminal = Arrays.copyOf(terminal, size);
+            firstChild = Arrays.copyOf(firstChild, size);
+            nextSibling = Arrays.copyOf(nextSibling, size);
+            Arrays.fill(firstChild, nodes, size, -1);
+            Arrays.fill(nextSibling, nodes, size, -1);
+        }
+        labels[nodes] = label;
+        return nodes++;
+    }
+
+    /**
+     * Derives the second hash from {@link String#hashCode()}, which is cached by the string itself.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
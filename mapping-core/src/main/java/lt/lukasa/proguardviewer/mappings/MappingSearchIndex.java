@@ -0,0 +1,411 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Searches the Mojang and Spigot names of all classes and the Mojang names of all members of a snapshot. Entries are
+ * kept in parallel arrays sorted by their lower case name, so short queries are answered by a binary search for the
+ * prefix range. Longer queries look up the posting list of every trigram of the query in a flat inverted index and
+ * only check the names in the shortest list.
+ * <p>
+ * A query may contain an owner part, {@code Entity.getBounding} or {@code Entity#getBounding} only matches members
+ * of classes whose name contains {@code Entity}. Classes are only matched by an owner part separated with a dot, which
+ * has to be the end of their package or outer class, so a pasted {@code net.minecraft.world.entity.Entity} finds the
+ * class. Slashes and dollar signs of internal names are read as dots.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingSearchIndex {
+    public enum Kind {
+        CLASS, FIELD, METHOD
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final int MIN_TRIGRAM_QUERY = 3;
+    private static final int POSITION_BITS = 6;
+    private static final int MAX_POSITION = (1 << POSITION_BITS) - 1;
+    private static final int EXACT_TRIGRAM_CHAR_LIMIT = 1 << 10;
+
+    private final String[] names;
+    private final String[] lowerNames;
+    // Name lengths and the positions of upper case letters, kept apart so ranking a match needs no string access
+    private final int[] lengths;
+    private final long[] wordStarts;
+    private final byte[] kinds;
+    private final ObfuscationClassMapping[] owners;
+    // For members the lower case simple name of their class, for classes the lower case package or outer class
+    private final String[] lowerQualifiers;
+    // The obfuscated field name, the method mapping, or the full name a class was found by
+    private final Object[] members;
+
+    private final int[] trigrams;
+    private final int[] postingOffsets;
+    private final int[] postings;
+
+    private MappingSearchIndex(List<Match> entries) {
+        int size = entries.size();
+        String[] unsortedLowerNames = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            unsortedLowerNames[i] = entries.get(i).name.toLowerCase(Locale.ROOT);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> unsortedLowerNames[i]).thenComparing(i -> entries.get(i).name));
+        this.names = new String[size];
+        this.lowerNames = new String[size];
+        this.lengths = new int[size];
+        this.wordStarts = new long[size];
+        this.kinds = new byte[size];
+        this.owners = new ObfuscationClassMapping[size];
+        this.lowerQualifiers = new String[size];
+        this.members = new Object[size];
+        Map<ObfuscationClassMapping, String> ownerNames = new HashMap<>();
+        Map<String, String> qualifiers = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Match match = entries.get(order[i]);
+            names[i] = match.name;
+            lowerNames[i] = unsortedLowerNames[order[i]];
+            lengths[i] = match.name.length();
+            for (int j = 0; j < Math.min(Long.SIZE, match.name.length()); j++) {
+                if (Character.isUpperCase(match.name.charAt(j))) {
+                    wordStarts[i] |= 1L << j;
+                }
+            }
+            kinds[i] = (byte) match.kind.ordinal();
+            owners[i] = match.mojangClass;
+            if (match.kind == Kind.CLASS) {
+                String className = (String) match.member;
+                lowerQualifiers[i] = qualifiers.computeIfAbsent(className.substring(0, Math.max(0, className.lastIndexOf('.'))), qualifier -> qualifier.toLowerCase(Locale.ROOT));
+            } else {
+                lowerQualifiers[i] = ownerNames.computeIfAbsent(match.mojangClass, owner -> simpleName(owner.getRealName()).toLowerCase(Locale.ROOT));
+            }
+            members[i] = match.member;
+        }
+
+        // Every trigram occurrence packed into a long as (trigram, entry, position), sorting them groups the posting lists
+        long[] pairs = new long[64];
+        int pairCount = 0;
+        for (int i = 0; i < size; i++) {
+            String name = lowerNames[i];
+            for (int j = 0; j + MIN_TRIGRAM_QUERY <= name.length(); j++) {
+                if (pairCount == pairs.length) {
+                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                }
+                pairs[pairCount++] = ((long) trigram(name, j) << 32) | ((long) i << POSITION_BITS) | Math.min(j, MAX_POSITION);
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+        int[] trigrams = new int[pairCount];
+        int[] postingOffsets = new int[pairCount + 1];
+        int[] postings = new int[pairCount];
+        int keys = 0;
+        int postingCount = 0;
+        long previous = -1;
+        // Postings are sorted by entry and then position, only the first occurrence of a trigram in a name is kept
+        for (int i = 0; i < pairCount; i++) {
+            long pair = pairs[i];
+            if (previous >= 0 && pair >>> POSITION_BITS == previous >>> POSITION_BITS) {
+                continue;
+            }
+            int key = (int) (pair >>> 32);
+            if (keys == 0 || trigrams[keys - 1] != key) {
+                trigrams[keys] = key;
+                postingOffsets[keys] = postingCount;
+                keys++;
+            }
+            postings[postingCount++] = (int) pair;
+            previous = pair;
+        }
+        postingOffsets[keys] = postingCount;
+        this.trigrams = Arrays.copyOf(trigrams, keys);
+        this.postingOffsets = Arrays.copyOf(postingOffsets, keys + 1);
+        this.postings = Arrays.copyOf(postings, postingCount);
+    }
+
+    public static MappingSearchIndex build(ObfuscationMapping mojang, ObfuscationMapping spigot) {
+        List<Match> entries = new ArrayList<>();
+        for (ObfuscationClassMapping mojangClass : mojang.getClassesByObfuscation().values()) {
+            String simpleName = simpleName(mojangClass.getRealName());
+            entries.add(new Match(Kind.CLASS, simpleName, mojangClass, mojangClass.getRealName()));
+            ObfuscationClassMapping spigotClass = spigot.getClassesByObfuscation().get(mojangClass.getObfuscatedName());
+            if (spigotClass != null && !simpleName(spigotClass.getRealName()).equals(simpleName)) {
+                entries.add(new Match(Kind.CLASS, simpleName(spigotClass.getRealName()), mojangClass, spigotClass.getRealName()));
+            }
+            mojangClass.getFieldByObfuscation().forEach((obfuscated, real) -> entries.add(new Match(Kind.FIELD, real, mojangClass, obfuscated)));
+            for (List<ObfuscationMethodMapping> methods : mojangClass.getMethodsByRealName().values()) {
+                for (ObfuscationMethodMapping method : methods) {
+                    entries.add(new Match(Kind.METHOD, method.getRealName(), mojangClass, method));
+                }
+            }
+        }
+        return new MappingSearchIndex(entries);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Passes every distinct name to the consumer, in sorted order.
+     */
+    public void processNames(Consumer<String> consumer) {
+        for (int i = 0; i < names.length; i++) {
+            if (i == 0 || !names[i].equals(names[i - 1])) {
+                consumer.accept(names[i]);
+            }
+        }
+    }
+
+    /**
+     * @return all entries whose name is exactly the given one
+     */
+    public List<Match> findExact(String name) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        List<Match> result = new ArrayList<>();
+        for (int i = lowerBound(lowerName); i < names.length && lowerNames[i].equals(lowerName); i++) {
+            if (names[i].equals(name)) {
+                result.add(match(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return up to {@code limit} entries containing the query, exact matches first, then prefix matches, matches at
+     * the start of a camel case word and all others, shorter names first within each group
+     */
+    public List<Match> search(String query, int limit) {
+        query = query.trim().replace('/', '.').replace('$', '.');
+        String ownerQuery = null;
+        String qualifierQuery = null;
+        int separator = Math.max(query.lastIndexOf('#'), query.lastIndexOf('.'));
+        if (separator >= 0) {
+            qualifierQuery = query.charAt(separator) == '.' ? query.substring(0, separator).toLowerCase(Locale.ROOT) : null;
+            ownerQuery = query.substring(0, separator).toLowerCase(Locale.ROOT);
+            ownerQuery = ownerQuery.substring(ownerQuery.lastIndexOf('.') + 1);
+            query = query.substring(separator + 1);
+        }
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        if (lowerQuery.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        TopRanked ranked = new TopRanked(limit);
+        if (lowerQuery.length() < MIN_TRIGRAM_QUERY) {
+            int end = lowerBound(lowerQuery + Character.MAX_VALUE);
+            for (int i = lowerBound(lowerQuery); i < end; i++) {
+                if (accepts(i, ownerQuery, qualifierQuery)) {
+                    ranked.offer(rank(i, 0, lowerQuery));
+                }
+            }
+        } else {
+            int shortest = -1;
+            for (int j = 0; j + MIN_TRIGRAM_QUERY <= lowerQuery.length(); j++) {
+                int key = Arrays.binarySearch(trigrams, trigram(lowerQuery, j));
+                if (key < 0) {
+                    return Collections.emptyList();
+                }
+                if (shortest < 0 || postingLength(key) < postingLength(shortest)) {
+                    shortest = key;
+                }
+            }
+            // A query that is a single exactly stored trigram needs no look at the names at all
+            boolean exact = lowerQuery.length() == MIN_TRIGRAM_QUERY && isExact(trigrams[shortest]);
+            for (int p = postingOffsets[shortest]; p < postingOffsets[shortest + 1]; p++) {
+                int i = postings[p] >>> POSITION_BITS;
+                int position = exact && (postings[p] & MAX_POSITION) < MAX_POSITION ? postings[p] & MAX_POSITION : lowerNames[i].indexOf(lowerQuery);
+                if (position >= 0 && accepts(i, ownerQuery, qualifierQuery)) {
+                    ranked.offer(rank(i, position, lowerQuery));
+                }
+            }
+        }
+        long[] ranks = ranked.sorted();
+        List<Match> result = new ArrayList<>(ranks.length);
+        for (long rank : ranks) {
+            result.add(match((int) (rank & 0xFFFFFFFFL)));
+        }
+        return result;
+    }
+
+    private boolean accepts(int entry, String ownerQuery, String qualifierQuery) {
+        if (ownerQuery == null) {
+            return true;
+        }
+        if (kinds[entry] == Kind.CLASS.ordinal()) {
+            return qualifierQuery != null && lowerQualifiers[entry].endsWith(qualifierQuery);
+        }
+        return lowerQualifiers[entry].contains(ownerQuery);
+    }
+
+    /**
+     * Packs group, name length and entry so that sorting the longs orders the matches.
+     */
+    private long rank(int entry, int position, String lowerQuery) {
+        int group;
+        if (position == 0) {
+            group = lengths[entry] == lowerQuery.length() ? 0 : 1;
+        } else {
+            group = position < Long.SIZE && (wordStarts[entry] & (1L << position)) != 0 ? 2 : 3;
+        }
+        long length = Math.min(lengths[entry], 0x0FFFFFFF);
+        return ((long) group << 60) | (length << 32) | entry;
+    }
+
+    private int postingLength(int key) {
+        return postingOffsets[key + 1] - postingOffsets[key];
+    }
+
+    private int lowerBound(String lowerName) {
+        int low = 0;
+        int high = lowerNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lowerNames[middle].compareTo(lowerName) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Match match(int entry) {
+        return new Match(KINDS[kinds[entry]], names[entry], owners[entry], members[entry]);
+    }
+
+    /**
+     * Packs three characters below {@link #EXACT_TRIGRAM_CHAR_LIMIT} into 30 bits, any other trigram is hashed and
+     * marked by bit 30. Collisions of the hash are harmless, candidates of such trigrams are checked against the name.
+     */
+    private static int trigram(String name, int start) {
+        char first = name.charAt(start);
+        char second = name.charAt(start + 1);
+        char third = name.charAt(start + 2);
+        if (first < EXACT_TRIGRAM_CHAR_LIMIT && second < EXACT_TRIGRAM_CHAR_LIMIT && third < EXACT_TRIGRAM_CHAR_LIMIT) {
+            return first << 20 | second << 10 | third;
+        }
+        return 1 << 30 | (((first * 31) + second) * 31 + third) & 0x3FFFFFFF;
+    }
+
+    private static boolean isExact(int trigram) {
+        return (trigram & 1 << 30) == 0;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Keeps the lowest ranks offered to it in a bounded max-heap, so that broad queries do not sort all candidates.
+     */
+    private static final class TopRanked {
+        private final long[] heap;
+        private int size;
+
+        TopRanked(int limit) {
+            this.heap = new long[limit];
+        }
+
+        void offer(long rank) {
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0 && heap[(i - 1) >>> 1] < rank) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = rank;
+            } else if (rank < heap[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= rank) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = rank;
+            }
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(heap, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    /**
+     * A class, field or method of the mappings. Classes may be found by their Mojang or their Spigot name, members
+     * only by their Mojang name.
+     */
+    public static final class Match {
+        private final Kind kind;
+        private final String name;
+        private final ObfuscationClassMapping mojangClass;
+        private final Object member;
+
+        private Match(Kind kind, String name, ObfuscationClassMapping mojangClass, Object member) {
+            this.kind = kind;
+            this.name = name;
+            this.mojangClass = mojangClass;
+            this.member = member;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the name the match was found by
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the Mojang mapping of the class or of the class declaring the member
+         */
+        public ObfuscationClassMapping getMojangClass() {
+            return mojangClass;
+        }
+
+        /**
+         * @return the method mapping, or null if this is not a method
+         */
+        public ObfuscationMethodMapping getMethod() {
+            return kind == Kind.METHOD ? (ObfuscationMethodMapping) member : null;
+        }
+
+        public String getObfuscatedName() {
+            switch (kind) {
+                case FIELD:
+                    return (String) member;
+                case METHOD:
+                    return ((ObfuscationMethodMapping) member).getObfuscatedName();
+                default:
+                    return mojangClass.getObfuscatedName();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind == Kind.CLASS ? mojangClass.getRealName() : mojangClass.getRealName() + "." + name;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.profiles.Profile;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * All mappings of one profile together with the indexes derived from them. A snapshot is never modified after it
+ * has been constructed, so it can be published through a single volatile reference and read without locking.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingSnapshot {
+    // Namespaces of the composed mapping
+    public static final String OBFUSCATED = "obfuscated";
+    public static final String SPIGOT = "spigot";
+    public static final String MOJANG = "mojang";
+
+    private final Profile profile;
+    private final ObfuscationMapping mojang;
+    private final ObfuscationMapping spigot;
+    private final Map<String, ObfuscationClassMapping> mojangBySpigotName;
+    private final MappingPrefilter prefilter;
+    private volatile MappingSearchIndex searchIndex;
+    private volatile ObfuscatedMemberIndex memberIndex;
+    private volatile MappingComposer.Composition composition;
+    private final Map<Class<?>, Object> caches = new ConcurrentHashMap<>();
+
+    public MappingSnapshot(Profile profile, ObfuscationMapping mojang, ObfuscationMapping spigot) {
+        this.profile = profile;
+        this.mojang = mojang;
+        this.spigot = spigot;
+
+        Map<String, ObfuscationClassMapping> mojangBySpigotName = new HashMap<>();
+        for (ObfuscationClassMapping spigotClass : spigot.getClassesByRealName().values()) {
+            ObfuscationClassMapping mojangClass = mojang.getClassesByObfuscation().get(spigotClass.getObfuscatedName());
+            if (mojangClass != null) {
+                mojangBySpigotName.put(spigotClass.getRealName(), mojangClass);
+            }
+        }
+        this.mojangBySpigotName = Collections.unmodifiableMap(mojangBySpigotName);
+        this.prefilter = MappingPrefilter.build(spigot.getClassesByRealName().keySet(), spigot.getClassesByObfuscation().keySet(),
+                mojang.getClassesByRealName().keySet(), mojang.getClassesByObfuscation().keySet());
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    public ObfuscationMapping getMojang() {
+        return mojang;
+    }
+
+    public ObfuscationMapping getSpigot() {
+        return spigot;
+    }
+
+    /**
+     * @return a filter accepting every class name known to any of the mappings of this snapshot
+     */
+    public MappingPrefilter getPrefilter() {
+        return prefilter;
+    }
+
+    /**
+     * @return the name search over all classes and members, built on first use
+     */
+    public MappingSearchIndex getSearchIndex() {
+        MappingSearchIndex searchIndex = this.searchIndex;
+        if (searchIndex == null) {
+            synchronized (this) {
+                searchIndex = this.searchIndex;
+                if (searchIndex == null) {
+                    searchIndex = MappingSearchIndex.build(mojang, spigot);
+                    this.searchIndex = searchIndex;
+                }
+            }
+        }
+        return searchIndex;
+    }
+
+    /**
+     * @return all members by their obfuscated name, built on first use
+     */
+    public ObfuscatedMemberIndex getMemberIndex() {
+        ObfuscatedMemberIndex memberIndex = this.memberIndex;
+        if (memberIndex == null) {
+            synchronized (this) {
+                memberIndex = this.memberIndex;
+                if (memberIndex == null) {
+                    memberIndex = ObfuscatedMemberIndex.build(mojang);
+                    this.memberIndex = memberIndex;
+                }
+            }
+        }
+        return memberIndex;
+    }
+
+    /**
+     * @return the obfuscated, Spigot and Mojang names of all classes and members in one table, composed on first use
+     */
+    public MappingComposer.Composition getComposition() {
+        MappingComposer.Composition composition = this.composition;
+        if (composition == null) {
+            synchronized (this) {
+                composition = this.composition;
+                if (composition == null) {
+                    composition = new MappingComposer(OBFUSCATED)
+                            .then(SPIGOT, MappingComposer.Hop.forward(spigot))
+                            .then(MOJANG, MappingComposer.Hop.reverse(spigot), MappingComposer.Hop.forward(mojang))
+                            .compose();
+                    this.composition = composition;
+                }
+            }
+        }
+        return composition;
+    }
+
+    /**
+     * Returns a cache built from this snapshot by its users, creating it on first use. The cache lives exactly as
+     * long as the snapshot, so it never keeps a snapshot alive which has already been released.
+     */
+    public <T> T getCache(Class<T> type, Function<MappingSnapshot, T> factory) {
+        return type.cast(caches.computeIfAbsent(type, key -> factory.apply(this)));
+    }
+
+    /**
+     * @return the name a class has in the server jar, its Spigot name if there is one and its obfuscated name otherwise
+     */
+    public String getSourceClassName(ObfuscationClassMapping mojangClass) {
+        ObfuscationClassMapping spigotClass = spigot.getClassesByObfuscation().get(mojangClass.getObfuscatedName());
+        return spigotClass != null ? spigotClass.getRealName() : mojangClass.getObfuscatedName();
+    }
+
+    /**
+     * Joins a Spigot class name with the Mojang mapping of the same obfuscated class.
+     */
+    public Optional<ObfuscationClassMapping> getMojangClassBySpigotName(String spigotName) {
+        return Optional.ofNullable(this.mojangBySpigotName.get(spigotName));
+    }
+
+    /**
+     * Looks up the Mojang mapping of a class which may either be referenced by its Spigot name or directly by its
+     * obfuscated name.
+     */
+    public Optional<ObfuscationClassMapping> getMojangClass(String className) {
+        ObfuscationClassMapping mapping = this.mojangBySpigotName.get(className);
+        if (mapping == null) {
+            mapping = this.mojang.getClassesByObfuscation().get(className);
+        }
+        return Optional.ofNullable(mapping);
+    }
+
+    @Override
+    public String toString() {
+        return "MappingSnapshot{" +
+                "profile=" + profile.getId() +
+                ", classes=" + mojang.getClassesByObfuscation().size() +
+                '}';
+    }
+}
@@ -0,0 +1,208 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.parser.JvmDescriptorParser;
+import lt.lukasa.proguardviewer.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * All classes and members of a snapshot as rows of one table, with their obfuscated, Spigot and Mojang names side by
+ * side. A row is nothing but an index: the rows of a class are the class itself followed by its fields and methods,
+ * and the first row of every class is kept in a single array, so the table costs one int per class however many
+ * members there are. Names are read from the {@link MappingSnapshot#getComposition() composition} of the snapshot
+ * when a row is accessed.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingTable {
+    public enum Kind {
+        CLASS, FIELD, METHOD
+    }
+
+    private static final int CANCEL_CHECK_INTERVAL = 1 << 10;
+
+    private final MultiNamespaceMapping mapping;
+    private final MultiNamespaceMapping.ClassEntry[] classes;
+    // The first row of every class, followed by the row count
+    private final int[] classRows;
+    private final int obfuscated;
+    private final int spigot;
+    private final int mojang;
+    private final int[] namespaces;
+
+    private MappingTable(MultiNamespaceMapping mapping) {
+        this.mapping = mapping;
+        this.obfuscated = mapping.getNamespaceIndex(MappingSnapshot.OBFUSCATED);
+        this.spigot = mapping.getNamespaceIndex(MappingSnapshot.SPIGOT);
+        this.mojang = mapping.getNamespaceIndex(MappingSnapshot.MOJANG);
+        this.namespaces = new int[]{obfuscated, spigot, mojang};
+        this.classes = mapping.getClasses().toArray(new MultiNamespaceMapping.ClassEntry[0]);
+        Arrays.sort(classes, Comparator.comparing((MultiNamespaceMapping.ClassEntry entry) -> entry.getName(mojang)));
+        this.classRows = new int[classes.length + 1];
+        int rows = 0;
+        for (int i = 0; i < classes.length; i++) {
+            classRows[i] = rows;
+            rows += 1 + classes[i].getFields().size() + classes[i].getMethods().size();
+        }
+        classRows[classes.length] = rows;
+    }
+
+    public static MappingTable build(MappingSnapshot snapshot) {
+        return new MappingTable(snapshot.getComposition().getMapping());
+    }
+
+    public int getRowCount() {
+        return classRows[classes.length];
+    }
+
+    public Kind getKind(int row) {
+        int classIndex = classOf(row);
+        int member = row - classRows[classIndex] - 1;
+        if (member < 0) {
+            return Kind.CLASS;
+        }
+        return member < classes[classIndex].getFields().size() ? Kind.FIELD : Kind.METHOD;
+    }
+
+    public String getObfuscatedName(int row) {
+        return getName(row, obfuscated);
+    }
+
+    public String getSpigotName(int row) {
+        return getName(row, spigot);
+    }
+
+    public String getMojangName(int row) {
+        return getName(row, mojang);
+    }
+
+    /**
+     * @return the Mojang name of the class a member row belongs to, or null for class rows
+     */
+    public String getOwnerName(int row) {
+        int classIndex = classOf(row);
+        return row == classRows[classIndex] ? null : toSourceName(classes[classIndex].getName(mojang));
+    }
+
+    /**
+     * @return the parameter types of a method row in Mojang names, e.g. {@code (int, net.minecraft.world.entity.Entity)},
+     * or null for other rows
+     */
+    public String getParameters(int row) {
+        MultiNamespaceMapping.MemberEntry member = member(row);
+        if (member == null || member.getDescriptor() == null || getKind(row) != Kind.METHOD) {
+            return null;
+        }
+        List<String> parameterTypes = new ArrayList<>();
+        JvmDescriptorParser.parseMethod(member.getDescriptor(), name -> {
+            String translated = mapping.translateClass(0, mojang, name);
+            return toSourceName(translated != null ? translated : name);
+        }, parameterTypes);
+        return "(" + String.join(", ", parameterTypes) + ")";
+    }
+
+    private String getName(int row, int namespace) {
+        int classIndex = classOf(row);
+        MultiNamespaceMapping.MemberEntry member = member(classIndex, row);
+        return member != null ? member.getName(namespace) : toSourceName(classes[classIndex].getName(namespace));
+    }
+
+    private MultiNamespaceMapping.MemberEntry member(int row) {
+        return member(classOf(row), row);
+    }
+
+    private MultiNamespaceMapping.MemberEntry member(int classIndex, int row) {
+        int member = row - classRows[classIndex] - 1;
+        if (member < 0) {
+            return null;
+        }
+        MultiNamespaceMapping.ClassEntry entry = classes[classIndex];
+        return member < entry.getFields().size() ? entry.getFields().get(member) : entry.getMethods().get(member - entry.getFields().size());
+    }
+
+    private int classOf(int row) {
+        int index = Arrays.binarySearch(classRows, row);
+        // Rows within a class are not found, the insertion point is the class after the one containing the row
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Finds the rows whose obfuscated, Spigot or Mojang name contains the query, ignoring case. The package and inner
+     * class separators {@code .}, {@code /} and {@code $} match each other.
+     * <p>
+     * The rows matching a query are a subset of the rows matching any part of it, so refining a query only needs to
+     * check the rows of the previous result.
+     *
+     * @param candidates the rows to check in ascending order, or null to check all rows
+     * @param cancelled  polled while filtering, a stale query stops as soon as it returns true
+     * @return the matching rows in ascending order, or null if the query has been cancelled
+     */
+    public int[] filter(String query, int[] candidates, BooleanSupplier cancelled) {
+        int[] result = new int[Math.min(candidates != null ? candidates.length : getRowCount(), 1 << 12)];
+        int size = 0;
+        int count = candidates != null ? candidates.length : getRowCount();
+        int classIndex = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            int row = candidates != null ? candidates[i] : i;
+            // Rows come in ascending order, the class only ever moves forward
+            while (row >= classRows[classIndex + 1]) {
+                classIndex++;
+            }
+            if (matches(classIndex, row, query)) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = row;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private boolean matches(int classIndex, int row, String query) {
+        MultiNamespaceMapping.MemberEntry member = member(classIndex, row);
+        for (int namespace : namespaces) {
+            String name = member != null ? member.getName(namespace) : classes[classIndex].getName(namespace);
+            if (contains(name, query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(String name, String query) {
+        int last = name.length() - query.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < query.length() && matches(name.charAt(start + i), query.charAt(i))) {
+                i++;
+            }
+            if (i == query.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(char a, char b) {
+        if (a == b || Character.toLowerCase(a) == Character.toLowerCase(b)) {
+            return true;
+        }
+        return isSeparator(a) && isSeparator(b);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '/' || c == '$';
+    }
+
+    private static String toSourceName(String internalName) {
+        return StringUtil.mapClassName(internalName.replace('/', '.'));
+    }
+}
@@ -0,0 +1,163 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The Mojang names of all mapped members a class has, including the ones inherited from mapped supertypes, sorted by
+ * their lower case name. Every name comes with a mask of the characters it contains, so completion skips the names
+ * which cannot match the typed prefix with a single comparison instead of scanning the member maps of every class in
+ * the hierarchy on each keystroke.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MemberNameTable {
+    public static final MemberNameTable EMPTY = new MemberNameTable(new Member[0], new long[0]);
+
+    private final Member[] members;
+    private final long[] characterMasks;
+
+    private MemberNameTable(Member[] members, long[] characterMasks) {
+        this.members = members;
+        this.characterMasks = characterMasks;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    /**
+     * Passes all members whose name contains every character of the prefix, ignoring case, to the consumer. Prefix,
+     * middle and camel hump matches all need that, the consumer decides which of the candidates really match. Stops
+     * as soon as the consumer returns false.
+     */
+    public void processCandidates(String prefix, Predicate<Member> consumer) {
+        long required = characterMask(prefix);
+        for (int i = 0; i < members.length; i++) {
+            if ((characterMasks[i] & required) == required && !consumer.test(members[i])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return a bit per letter and digit contained in the text, ignoring case, and one bit shared by all other
+     * characters
+     */
+    private static long characterMask(String text) {
+        long mask = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1L << (c - 'a');
+            } else if (c >= '0' && c <= '9') {
+                mask |= 1L << (26 + c - '0');
+            } else {
+                mask |= 1L << 63;
+            }
+        }
+        return mask;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects the members of a class and its supertypes. Classes have to be added starting with the class itself, a
+     * member of a supertype is skipped if a subclass already added one with the same obfuscated name and parameters.
+     */
+    public static final class Builder {
+        private final List<Member> members = new ArrayList<>();
+        private final Set<String> signatures = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder add(ObfuscationClassMapping owner) {
+            owner.getFieldByObfuscation().forEach((obfuscated, real) -> {
+                if (signatures.add(obfuscated)) {
+                    members.add(new Member(real, obfuscated, owner, null));
+                }
+            });
+            for (List<ObfuscationMethodMapping> methods : owner.getMethodsByObfuscatedName().values()) {
+                for (ObfuscationMethodMapping method : methods) {
+                    if (!method.getRealName().startsWith("<") && signatures.add(method.getObfuscatedName() + method.getParameterTypes())) {
+                        members.add(new Member(method.getRealName(), method.getObfuscatedName(), owner, method));
+                    }
+                }
+            }
+            return this;
+        }
+
+        public MemberNameTable build() {
+            if (members.isEmpty()) {
+                return EMPTY;
+            }
+            String[] unsortedLowerNames = new String[members.size()];
+            Integer[] order = new Integer[members.size()];
+            for (int i = 0; i < order.length; i++) {
+                unsortedLowerNames[i] = members.get(i).name.toLowerCase(Locale.ROOT);
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> unsortedLowerNames[i]).thenComparing(i -> members.get(i).name));
+            Member[] sorted = new Member[order.length];
+            long[] characterMasks = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = members.get(order[i]);
+                characterMasks[i] = characterMask(sorted[i].name);
+            }
+            return new MemberNameTable(sorted, characterMasks);
+        }
+    }
+
+    public static final class Member {
+        private final String name;
+        private final String obfuscatedName;
+        private final ObfuscationClassMapping owner;
+        private final ObfuscationMethodMapping method;
+
+        Member(String name, String obfuscatedName, ObfuscationClassMapping owner, ObfuscationMethodMapping method) {
+            this.name = name;
+            this.obfuscatedName = obfuscatedName;
+            this.owner = owner;
+            this.method = method;
+        }
+
+        /**
+         * @return the Mojang name
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getObfuscatedName() {
+            return obfuscatedName;
+        }
+
+        /**
+         * @return the Mojang mapping of the class declaring the member
+         */
+        public ObfuscationClassMapping getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return the method mapping, or null for fields
+         */
+        public ObfuscationMethodMapping getMethod() {
+            return method;
+        }
+
+        public boolean isMethod() {
+            return method != null;
+        }
+    }
+}
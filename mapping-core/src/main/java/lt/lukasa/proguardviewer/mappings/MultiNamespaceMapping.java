@@ -0,0 +1,202 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.parser.JvmDescriptorParser;
+import lt.lukasa.proguardviewer.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mappings which name every class and member in several namespaces at once (e.g. official, intermediary and
+ * named), as read from a Tiny v2 file. Every class is indexed by its name in each namespace, so translating a
+ * class between any two namespaces is a single lookup.
+ * <p>
+ * Class names are stored in the internal JVM form ({@code net/minecraft/world/entity/Entity$RemovalReason}), member
+ * descriptors use the class names of the first namespace.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MultiNamespaceMapping {
+    private final String[] namespaces;
+    private final List<ClassEntry> classes = new ArrayList<>();
+    private final Map<String, ClassEntry>[] classesByName;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultiNamespaceMapping(String[] namespaces) {
+        this.namespaces = namespaces;
+        this.classesByName = new Map[namespaces.length];
+        for (int i = 0; i < namespaces.length; i++) {
+            this.classesByName[i] = new HashMap<>();
+        }
+    }
+
+    public List<String> getNamespaces() {
+        return Collections.unmodifiableList(Arrays.asList(namespaces));
+    }
+
+    /**
+     * @return the index of the namespace, or -1 if this mapping does not contain it
+     */
+    public int getNamespaceIndex(String namespace) {
+        for (int i = 0; i < namespaces.length; i++) {
+            if (namespaces[i].equals(namespace)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public List<ClassEntry> getClasses() {
+        return classes;
+    }
+
+    public void addClass(ClassEntry entry) {
+        classes.add(entry);
+        for (int i = 0; i < namespaces.length; i++) {
+            classesByName[i].put(entry.getName(i), entry);
+        }
+    }
+
+    public ClassEntry getClass(int namespace, String internalName) {
+        return classesByName[namespace].get(internalName);
+    }
+
+    /**
+     * @return the name of the class in the target namespace, or null if the class is not mapped
+     */
+    public String translateClass(int from, int to, String internalName) {
+        ClassEntry entry = classesByName[from].get(internalName);
+        return entry == null ? null : entry.getName(to);
+    }
+
+    /**
+     * Converts two namespaces of this mapping into the {@link ObfuscationMapping} model used by the rest of the
+     * plugin, with method parameter types given in the names of the real namespace.
+     */
+    public ObfuscationMapping toObfuscationMapping(int obfuscatedNamespace, int realNamespace) {
+        ObfuscationMapping mapping = new ObfuscationMapping();
+        for (ClassEntry entry : classes) {
+            ObfuscationClassMapping classMapping = new ObfuscationClassMapping(toSourceName(entry.getName(realNamespace)), toSourceName(entry.getName(obfuscatedNamespace)));
+            for (MemberEntry field : entry.getFields()) {
+                classMapping.getFieldByObfuscation().put(field.getName(obfuscatedNamespace), field.getName(realNamespace));
+                classMapping.getFieldByRealName().put(field.getName(realNamespace), field.getName(obfuscatedNamespace));
+            }
+            for (MemberEntry method : entry.getMethods()) {
+                List<String> parameterTypes = new ArrayList<>();
+                String returnType = JvmDescriptorParser.parseMethod(method.getDescriptor(), name -> translateClass(0, realNamespace, name), parameterTypes);
+                ObfuscationMethodMapping methodMapping = new ObfuscationMethodMapping(returnType, method.getName(realNamespace), method.getName(obfuscatedNamespace), parameterTypes);
+                classMapping.getMethodsByObfuscatedName().computeIfAbsent(methodMapping.getObfuscatedName(), a -> new ArrayList<>()).add(methodMapping);
+                classMapping.getMethodsByRealName().computeIfAbsent(methodMapping.getRealName(), a -> new ArrayList<>()).add(methodMapping);
+            }
+            mapping.getClassesByObfuscation().put(classMapping.getObfuscatedName(), classMapping);
+            mapping.getClassesByRealName().put(classMapping.getRealName(), classMapping);
+        }
+        return mapping;
+    }
+
+    private static String toSourceName(String internalName) {
+        return StringUtil.mapClassName(internalName.replace('/', '.'));
+    }
+
+    /**
+     * A class with its members. Members are indexed by their name in every namespace as they are added, so finding
+     * a member by name does not depend on the number of members of the class.
+     */
+    public static class ClassEntry {
+        private final String[] names;
+        private final List<MemberEntry> fields = new ArrayList<>();
+        private final List<MemberEntry> methods = new ArrayList<>();
+        private final Map<String, MemberEntry>[] fieldsByName;
+        private final Map<String, List<MemberEntry>>[] methodsByName;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public ClassEntry(String[] names) {
+            this.names = names;
+            this.fieldsByName = new Map[names.length];
+            this.methodsByName = new Map[names.length];
+            for (int i = 0; i < names.length; i++) {
+                fieldsByName[i] = new HashMap<>();
+                methodsByName[i] = new HashMap<>();
+            }
+        }
+
+        public String getName(int namespace) {
+            return names[namespace];
+        }
+
+        public List<MemberEntry> getFields() {
+            return Collections.unmodifiableList(fields);
+        }
+
+        public List<MemberEntry> getMethods() {
+            return Collections.unmodifiableList(methods);
+        }
+
+        public void addField(MemberEntry field) {
+            fields.add(field);
+            for (int i = 0; i < names.length; i++) {
+                // Lookups find the first field of a name, just like a scan in declaration order
+                fieldsByName[i].putIfAbsent(field.getName(i), field);
+            }
+        }
+
+        public void addMethod(MemberEntry method) {
+            methods.add(method);
+            for (int i = 0; i < names.length; i++) {
+                methodsByName[i].computeIfAbsent(method.getName(i), name -> new ArrayList<>(1)).add(method);
+            }
+        }
+
+        /**
+         * @return the field with the given name in the namespace, or null
+         */
+        public MemberEntry findField(int namespace, String name) {
+            return fieldsByName[namespace].get(name);
+        }
+
+        /**
+         * @return all overloads with the given name in the namespace
+         */
+        public List<MemberEntry> findMethods(int namespace, String name) {
+            List<MemberEntry> found = methodsByName[namespace].get(name);
+            return found == null ? Collections.emptyList() : Collections.unmodifiableList(found);
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" -> ", names);
+        }
+    }
+
+    public static class MemberEntry {
+        private final String descriptor;
+        private final String[] names;
+
+        public MemberEntry(String descriptor, String[] names) {
+            this.descriptor = descriptor;
+            this.names = names;
+        }
+
+        /**
+         * @return the JVM descriptor, using the class names of the first namespace, or null for fields of composed
+         * mappings, whose sources do not contain field types
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        public String getName(int namespace) {
+            return names[namespace];
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" -> ", names) + " " + descriptor;
+        }
+    }
+}
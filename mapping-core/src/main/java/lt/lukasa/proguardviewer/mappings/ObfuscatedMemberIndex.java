@@ -0,0 +1,72 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every member of the Mojang mappings grouped by its obfuscated name. Answers "which fields or methods are called
+ * {@code a}" for a name found in a string, e.g. in reflective access, where the owner class is often unknown.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class ObfuscatedMemberIndex {
+    private static final MemberNameTable.Member[] NO_MEMBERS = new MemberNameTable.Member[0];
+
+    private final Map<String, MemberNameTable.Member[]> fields;
+    private final Map<String, MemberNameTable.Member[]> methods;
+
+    private ObfuscatedMemberIndex(Map<String, MemberNameTable.Member[]> fields, Map<String, MemberNameTable.Member[]> methods) {
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    public static ObfuscatedMemberIndex build(ObfuscationMapping mojang) {
+        Map<String, List<MemberNameTable.Member>> fields = new HashMap<>();
+        Map<String, List<MemberNameTable.Member>> methods = new HashMap<>();
+        for (ObfuscationClassMapping owner : mojang.getClassesByObfuscation().values()) {
+            owner.getFieldByObfuscation().forEach((obfuscated, real) ->
+                    fields.computeIfAbsent(obfuscated, key -> new ArrayList<>(1)).add(new MemberNameTable.Member(real, obfuscated, owner, null)));
+            for (List<ObfuscationMethodMapping> candidates : owner.getMethodsByObfuscatedName().values()) {
+                for (ObfuscationMethodMapping method : candidates) {
+                    methods.computeIfAbsent(method.getObfuscatedName(), key -> new ArrayList<>(1))
+                            .add(new MemberNameTable.Member(method.getRealName(), method.getObfuscatedName(), owner, method));
+                }
+            }
+        }
+        return new ObfuscatedMemberIndex(toArrays(fields), toArrays(methods));
+    }
+
+    private static Map<String, MemberNameTable.Member[]> toArrays(Map<String, List<MemberNameTable.Member>> lists) {
+        Map<String, MemberNameTable.Member[]> arrays = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((name, members) -> arrays.put(name, members.toArray(NO_MEMBERS)));
+        return arrays;
+    }
+
+    public List<MemberNameTable.Member> findFields(String obfuscatedName) {
+        return List.of(fields.getOrDefault(obfuscatedName, NO_MEMBERS));
+    }
+
+    public List<MemberNameTable.Member> findMethods(String obfuscatedName) {
+        return List.of(methods.getOrDefault(obfuscatedName, NO_MEMBERS));
+    }
+
+    /**
+     * @return the members with the given name declared by one of the owners
+     */
+    public static List<MemberNameTable.Member> filterByOwner(List<MemberNameTable.Member> members, List<ObfuscationClassMapping> owners) {
+        if (members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<MemberNameTable.Member> result = new ArrayList<>();
+        for (MemberNameTable.Member member : members) {
+            if (owners.contains(member.getOwner())) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+}
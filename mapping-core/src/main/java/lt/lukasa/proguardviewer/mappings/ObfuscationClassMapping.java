@@ -16,6 +16,7 @@ public class ObfuscationClassMapping {
     private final Map<String, String> fieldByRealName = new HashMap<>();
     private final Map<String, List<ObfuscationMethodMapping>> methodsByObfuscatedName = new HashMap<>();
     private final Map<String, List<ObfuscationMethodMapping>> methodsByRealName = new HashMap<>();
+    private LineNumberTable lineNumbers = LineNumberTable.EMPTY;
 
     public ObfuscationClassMapping(String realName, String obfuscatedName) {
         this.realName = realName;
@@ -46,6 +47,14 @@ public class ObfuscationClassMapping {
         return methodsByRealName;
     }
 
+    public LineNumberTable getLineNumbers() {
+        return lineNumbers;
+    }
+
+    public void setLineNumbers(LineNumberTable lineNumbers) {
+        this.lineNumbers = lineNumbers;
+    }
+
     public Optional<String> deobfuscateField(String fieldName) {
         return Optional.ofNullable(this.fieldByObfuscation.get(fieldName));
     }
@@ -1,6 +1,8 @@
 package lt.lukasa.proguardviewer.mappings;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -11,6 +13,7 @@ import java.util.Optional;
 public class ObfuscationMapping {
     private final Map<String, ObfuscationClassMapping> classesByObfuscation = new HashMap<>();
     private final Map<String, ObfuscationClassMapping> classesByRealName = new HashMap<>();
+    private final List<String> orphanMembers = new ArrayList<>();
 
     public Map<String, ObfuscationClassMapping> getClassesByObfuscation() {
         return classesByObfuscation;
@@ -20,6 +23,13 @@ public class ObfuscationMapping {
         return classesByRealName;
     }
 
+    /**
+     * @return the member entries of the source whose class is not part of the mapping, as they were written there
+     */
+    public List<String> getOrphanMembers() {
+        return orphanMembers;
+    }
+
     @Override
     public String toString() {
         return classesByObfuscation.toString();
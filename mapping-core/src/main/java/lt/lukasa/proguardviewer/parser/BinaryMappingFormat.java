@@ -0,0 +1,303 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.mappings.LineNumberTable;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary copy of already parsed mappings, which can be read back much faster than the original text files
+ * since nothing has to be matched or split. Every string is stored once in a table at the start of the file and
+ * referenced by its index afterwards, so the strings read back are shared just like after a
+ * {@link lt.lukasa.proguardviewer.mappings.MappingDeduplicator} run.
+ * <p>
+ * The format is only meant as a local cache, files of another {@link #VERSION} are rejected and have to be rebuilt
+ * from the original mappings.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class BinaryMappingFormat {
+    private static final int MAGIC = 0x4D434D50;
+    private static final int VERSION = 2;
+
+    public static void write(List<ObfuscationMapping> mappings, OutputStream outputStream) throws IOException {
+        StringTable strings = new StringTable();
+        for (ObfuscationMapping mapping : mappings) {
+            mapping.getClassesByObfuscation().keySet().forEach(strings::add);
+            mapping.getClassesByRealName().keySet().forEach(strings::add);
+            mapping.getOrphanMembers().forEach(strings::add);
+            for (ObfuscationClassMapping classMapping : distinctClasses(mapping)) {
+                strings.add(classMapping);
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(strings.values.size());
+        for (String value : strings.values) {
+            out.writeUTF(value);
+        }
+        out.writeInt(mappings.size());
+        for (ObfuscationMapping mapping : mappings) {
+            List<ObfuscationClassMapping> classes = distinctClasses(mapping);
+            Map<ObfuscationClassMapping, Integer> classIndexes = new IdentityHashMap<>();
+            out.writeInt(classes.size());
+            for (ObfuscationClassMapping classMapping : classes) {
+                classIndexes.put(classMapping, classIndexes.size());
+                writeClass(out, strings, classMapping);
+            }
+            writeClassMap(out, strings, classIndexes, mapping.getClassesByObfuscation());
+            writeClassMap(out, strings, classIndexes, mapping.getClassesByRealName());
+            out.writeInt(mapping.getOrphanMembers().size());
+            for (String member : mapping.getOrphanMembers()) {
+                out.writeInt(strings.indexOf(member));
+            }
+        }
+        out.flush();
+    }
+
+    public static List<ObfuscationMapping> read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 1 << 16));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary mapping file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary mapping version " + version);
+        }
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+        Map<List<String>, List<String>> parameterLists = new HashMap<>();
+        int mappingCount = in.readInt();
+        List<ObfuscationMapping> mappings = new ArrayList<>(mappingCount);
+        for (int i = 0; i < mappingCount; i++) {
+            ObfuscationClassMapping[] classes = new ObfuscationClassMapping[in.readInt()];
+            for (int j = 0; j < classes.length; j++) {
+                classes[j] = readClass(in, strings, parameterLists);
+            }
+            ObfuscationMapping mapping = new ObfuscationMapping();
+            readClassMap(in, strings, classes, mapping.getClassesByObfuscation());
+            readClassMap(in, strings, classes, mapping.getClassesByRealName());
+            int orphanCount = in.readInt();
+            for (int j = 0; j < orphanCount; j++) {
+                mapping.getOrphanMembers().add(string(in, strings));
+            }
+            mappings.add(mapping);
+        }
+        return mappings;
+    }
+
+    private static List<ObfuscationClassMapping> distinctClasses(ObfuscationMapping mapping) {
+        Map<ObfuscationClassMapping, Boolean> classes = new IdentityHashMap<>();
+        mapping.getClassesByObfuscation().values().forEach(classMapping -> classes.put(classMapping, Boolean.TRUE));
+        mapping.getClassesByRealName().values().forEach(classMapping -> classes.put(classMapping, Boolean.TRUE));
+        return new ArrayList<>(classes.keySet());
+    }
+
+    private static void writeClass(DataOutputStream out, StringTable strings, ObfuscationClassMapping classMapping) throws IOException {
+        out.writeInt(strings.indexOf(classMapping.getRealName()));
+        out.writeInt(strings.indexOf(classMapping.getObfuscatedName()));
+        writeFields(out, strings, classMapping.getFieldByObfuscation());
+        writeFields(out, strings, classMapping.getFieldByRealName());
+
+        // Both method maps and the line numbers reference the same method instances
+        Map<ObfuscationMethodMapping, Integer> methodIndexes = new IdentityHashMap<>();
+        List<ObfuscationMethodMapping> methods = new ArrayList<>();
+        List<ObfuscationMethodMapping> referenced = new ArrayList<>();
+        classMapping.getMethodsByObfuscatedName().values().forEach(referenced::addAll);
+        classMapping.getMethodsByRealName().values().forEach(referenced::addAll);
+        LineNumberTable lineNumbers = classMapping.getLineNumbers();
+        for (int i = 0; i < lineNumbers.size(); i++) {
+            referenced.add(lineNumbers.getMethod(i));
+        }
+        for (ObfuscationMethodMapping method : referenced) {
+            if (methodIndexes.putIfAbsent(method, methods.size()) == null) {
+                methods.add(method);
+            }
+        }
+        out.writeInt(methods.size());
+        for (ObfuscationMethodMapping method : methods) {
+            out.writeInt(strings.indexOf(method.getReturnType()));
+            out.writeInt(strings.indexOf(method.getRealName()));
+            out.writeInt(strings.indexOf(method.getObfuscatedName()));
+            out.writeShort(method.getParameterTypes().size());
+            for (String parameterType : method.getParameterTypes()) {
+                out.writeInt(strings.indexOf(parameterType));
+            }
+        }
+        writeMethods(out, strings, methodIndexes, classMapping.getMethodsByObfuscatedName());
+        writeMethods(out, strings, methodIndexes, classMapping.getMethodsByRealName());
+
+        out.writeInt(lineNumbers.size());
+        for (int i = 0; i < lineNumbers.size(); i++) {
+            out.writeInt(lineNumbers.getStart(i));
+            out.writeInt(lineNumbers.getEnd(i));
+            out.writeInt(methodIndexes.get(lineNumbers.getMethod(i)));
+        }
+    }
+
+    private static ObfuscationClassMapping readClass(DataInputStream in, String[] strings, Map<List<String>, List<String>> parameterLists) throws IOException {
+        ObfuscationClassMapping classMapping = new ObfuscationClassMapping(string(in, strings), string(in, strings));
+        readFields(in, strings, classMapping.getFieldByObfuscation());
+        readFields(in, strings, classMapping.getFieldByRealName());
+
+        ObfuscationMethodMapping[] methods = new ObfuscationMethodMapping[in.readInt()];
+        for (int i = 0; i < methods.length; i++) {
+            String returnType = string(in, strings);
+            String realName = string(in, strings);
+            String obfuscatedName = string(in, strings);
+            int parameterCount = in.readShort();
+            List<String> parameterTypes;
+            if (parameterCount == 0) {
+                parameterTypes = Collections.emptyList();
+            } else {
+                String[] types = new String[parameterCount];
+                for (int j = 0; j < parameterCount; j++) {
+                    types[j] = string(in, strings);
+                }
+                parameterTypes = parameterLists.computeIfAbsent(List.of(types), list -> list);
+            }
+            methods[i] = new ObfuscationMethodMapping(returnType, realName, obfuscatedName, parameterTypes);
+        }
+        readMethods(in, strings, methods, classMapping.getMethodsByObfuscatedName());
+        readMethods(in, strings, methods, classMapping.getMethodsByRealName());
+
+        int lineCount = in.readInt();
+        if (lineCount > 0) {
+            LineNumberTable.Builder lineNumbers = new LineNumberTable.Builder();
+            for (int i = 0; i < lineCount; i++) {
+                lineNumbers.add(in.readInt(), in.readInt(), methods[in.readInt()]);
+            }
+            classMapping.setLineNumbers(lineNumbers.build());
+        }
+        return classMapping;
+    }
+
+    private static void writeFields(DataOutputStream out, StringTable strings, Map<String, String> fields) throws IOException {
+        out.writeInt(fields.size());
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            out.writeInt(strings.indexOf(entry.getKey()));
+            out.writeInt(strings.indexOf(entry.getValue()));
+        }
+    }
+
+    private static void readFields(DataInputStream in, String[] strings, Map<String, String> fields) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            fields.put(string(in, strings), string(in, strings));
+        }
+    }
+
+    private static void writeMethods(DataOutputStream out, StringTable strings, Map<ObfuscationMethodMapping, Integer> methodIndexes,
+                                     Map<String, List<ObfuscationMethodMapping>> methods) throws IOException {
+        out.writeInt(methods.size());
+        for (Map.Entry<String, List<ObfuscationMethodMapping>> entry : methods.entrySet()) {
+            out.writeInt(strings.indexOf(entry.getKey()));
+            out.writeInt(entry.getValue().size());
+            for (ObfuscationMethodMapping method : entry.getValue()) {
+                out.writeInt(methodIndexes.get(method));
+            }
+        }
+    }
+
+    private static void readMethods(DataInputStream in, String[] strings, ObfuscationMethodMapping[] methods,
+                                    Map<String, List<ObfuscationMethodMapping>> target) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = string(in, strings);
+            int overloadCount = in.readInt();
+            List<ObfuscationMethodMapping> overloads = new ArrayList<>(overloadCount);
+            for (int j = 0; j < overloadCount; j++) {
+                overloads.add(methods[in.readInt()]);
+            }
+            target.put(name, overloads);
+        }
+    }
+
+    private static void writeClassMap(DataOutputStream out, StringTable strings, Map<ObfuscationClassMapping, Integer> classIndexes,
+                                      Map<String, ObfuscationClassMapping> classes) throws IOException {
+        out.writeInt(classes.size());
+        for (Map.Entry<String, ObfuscationClassMapping> entry : classes.entrySet()) {
+            out.writeInt(strings.indexOf(entry.getKey()));
+            out.writeInt(classIndexes.get(entry.getValue()));
+        }
+    }
+
+    private static void readClassMap(DataInputStream in, String[] strings, ObfuscationClassMapping[] classMappings,
+                                     Map<String, ObfuscationClassMapping> target) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            target.put(string(in, strings), classMappings[in.readInt()]);
+        }
+    }
+
+    private static String string(DataInputStream in, String[] strings) throws IOException {
+        int index = in.readInt();
+        return index < 0 ? null : strings[index];
+    }
+
+    /**
+     * Assigns every distinct string an index, null is stored as -1.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && indexes.putIfAbsent(value, values.size()) == null) {
+                values.add(value);
+            }
+        }
+
+        void add(ObfuscationClassMapping classMapping) {
+            add(classMapping.getRealName());
+            add(classMapping.getObfuscatedName());
+            classMapping.getFieldByObfuscation().forEach((obfuscated, real) -> {
+                add(obfuscated);
+                add(real);
+            });
+            classMapping.getFieldByRealName().forEach((real, obfuscated) -> {
+                add(real);
+                add(obfuscated);
+            });
+            classMapping.getMethodsByObfuscatedName().keySet().forEach(this::add);
+            classMapping.getMethodsByRealName().keySet().forEach(this::add);
+            for (List<ObfuscationMethodMapping> overloads : classMapping.getMethodsByRealName().values()) {
+                overloads.forEach(this::add);
+            }
+            LineNumberTable lineNumbers = classMapping.getLineNumbers();
+            for (int i = 0; i < lineNumbers.size(); i++) {
+                add(lineNumbers.getMethod(i));
+            }
+        }
+
+        void add(ObfuscationMethodMapping method) {
+            add(method.getReturnType());
+            add(method.getRealName());
+            add(method.getObfuscatedName());
+            method.getParameterTypes().forEach(this::add);
+        }
+
+        int indexOf(String value) {
+            return value == null ? -1 : indexes.get(value);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Lukas Alt
+ * @since 12.08.2022
+ */
+public class CSRGMappingParser {
+    public static ObfuscationMapping parseDefaultSpigotMapping() {
+        try (Scanner classScanner = new Scanner(ObfuscationClassMapping.class.getResourceAsStream("/minecraft-server-1.19.2-R0.1-SNAPSHOT-maps-spigot.csrg"))) {
+            try (Scanner memberScanner = new Scanner(ObfuscationClassMapping.class.getResourceAsStream("/minecraft-server-1.19.2-R0.1-SNAPSHOT-maps-spigot-members.csrg"))) {
+                return parse(new PeekableScanner(classScanner), new PeekableScanner(memberScanner));
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    public static ObfuscationMapping parse(PeekableScanner classMappings, PeekableScanner memberMappings) {
+        final ObfuscationMapping proguardMapping = new ObfuscationMapping();
+        Map<String, ObfuscationClassMapping> byObfuscation = proguardMapping.getClassesByObfuscation();
+        Map<String, ObfuscationClassMapping> byRealName = proguardMapping.getClassesByRealName();
+
+        while (classMappings.hasNextLine()) {
+            String line = classMappings.nextLine();
+            if (line.startsWith("#")) {
+                continue;
+            }
+            String[] split = line.replace('/', '.').split(" ", 2);
+            ObfuscationClassMapping mapping = new ObfuscationClassMapping(StringUtil.mapClassName(split[1]), StringUtil.mapClassName(split[0]));
+            byObfuscation.put(mapping.getObfuscatedName(), mapping);
+            byRealName.put(mapping.getRealName(), mapping);
+        }
+
+        if (memberMappings != null) {
+            parseMembers(proguardMapping, memberMappings);
+        }
+
+        return proguardMapping;
+    }
+
+    /**
+     * Adds the members of a CSRG member file to the classes of a mapping already read from the class file.
+     */
+    public static void parseMembers(ObfuscationMapping proguardMapping, PeekableScanner memberMappings) {
+        Map<String, ObfuscationClassMapping> byRealName = proguardMapping.getClassesByRealName();
+        while (memberMappings.hasNextLine()) {
+            String line = memberMappings.nextLine();
+            if (line.startsWith("#")) {
+                continue;
+            }
+            String[] split = line.split(" ");
+
+            // Inner classes are keyed like all other class names, with '.' instead of '$'
+            String className = StringUtil.mapClassName(split[0].replace('/', '.'));
+            ObfuscationClassMapping classMapping = byRealName.get(className);
+            if (classMapping == null) {
+                // Kept for the consistency report, the member cannot be looked up without its class
+                proguardMapping.getOrphanMembers().add(line);
+                continue;
+            }
+            if (split.length == 3) { // field
+                String obfuscatedFieldName = split[1];
+                String realFieldName = split[2];
+                classMapping.getFieldByObfuscation().put(obfuscatedFieldName, realFieldName);
+                classMapping.getFieldByRealName().put(realFieldName, obfuscatedFieldName);
+            } else if (split.length == 4) { // method
+                String obfuscatedMethodName = split[1];
+                String realMethodName = split[3];
+                List<String> argumentTypes = new ArrayList<>();
+                String returnType = JvmDescriptorParser.parseMethod(split[2], UnaryOperator.identity(), argumentTypes);
+                ObfuscationMethodMapping method = new ObfuscationMethodMapping(returnType, realMethodName, obfuscatedMethodName, argumentTypes);
+                classMapping.getMethodsByObfuscatedName().computeIfAbsent(method.getObfuscatedName(), a -> new ArrayList<>()).add(method);
+                classMapping.getMethodsByRealName().computeIfAbsent(method.getRealName(), a -> new ArrayList<>()).add(method);
+            }
+        }
+    }
+}
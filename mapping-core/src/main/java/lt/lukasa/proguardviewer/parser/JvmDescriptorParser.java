@@ -0,0 +1,127 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.util.CharBuffer;
+import lt.lukasa.proguardviewer.util.StringUtil;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Converts JVM type descriptors into the source type names used by the ProGuard mappings.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class JvmDescriptorParser {
+
+    /**
+     * @param classNames maps internal class names (with slashes) from the descriptor into the wanted naming, may
+     *                   return null to keep the original name
+     */
+    public static String parseType(CharBuffer chars, UnaryOperator<String> classNames) {
+        char first = chars.take();
+        switch (first) {
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'D':
+                return "double";
+            case 'F':
+                return "float";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'L': {
+                StringBuilder builder = new StringBuilder();
+                char next;
+                while ((next = chars.take()) != ';') {
+                    builder.append(next);
+                }
+                String internalName = builder.toString();
+                String mapped = classNames.apply(internalName);
+                return StringUtil.mapClassName((mapped == null ? internalName : mapped).replace('/', '.'));
+            }
+            case 'S':
+                return "short";
+            case 'Z':
+                return "boolean";
+            case '[':
+                return parseType(chars, classNames) + "[]";
+            case 'V':
+                return "void";
+            default:
+                throw new IllegalArgumentException("Could not parse JVM type: '" + first + "'");
+        }
+    }
+
+    /**
+     * Parses a method descriptor like {@code (ILjava/lang/String;)V}.
+     *
+     * @param parameterTypes receives the parameter types
+     * @return the return type
+     */
+    public static String parseMethod(String descriptor, UnaryOperator<String> classNames, List<String> parameterTypes) {
+        CharBuffer signature = new CharBuffer(descriptor);
+        if (signature.take() != '(') {
+            throw new IllegalArgumentException("Not a method descriptor: " + descriptor);
+        }
+        while (signature.peek() != ')') {
+            parameterTypes.add(parseType(signature, classNames));
+        }
+        signature.take();
+        return parseType(signature, classNames);
+    }
+
+    /**
+     * Builds a method descriptor from source type names, the inverse of {@link #parseMethod}.
+     */
+    public static String toMethodDescriptor(List<String> parameterTypes, String returnType) {
+        StringBuilder builder = new StringBuilder().append('(');
+        for (String parameterType : parameterTypes) {
+            appendType(builder, parameterType);
+        }
+        appendType(builder.append(')'), returnType);
+        return builder.toString();
+    }
+
+    private static void appendType(StringBuilder builder, String type) {
+        int dimensions = type.indexOf('[');
+        String elementType = dimensions < 0 ? type : type.substring(0, dimensions);
+        for (int i = dimensions; i >= 0 && i < type.length(); i += 2) {
+            builder.append('[');
+        }
+        switch (elementType) {
+            case "byte":
+                builder.append('B');
+                break;
+            case "char":
+                builder.append('C');
+                break;
+            case "double":
+                builder.append('D');
+                break;
+            case "float":
+                builder.append('F');
+                break;
+            case "int":
+                builder.append('I');
+                break;
+            case "long":
+                builder.append('J');
+                break;
+            case "short":
+                builder.append('S');
+                break;
+            case "boolean":
+                builder.append('Z');
+                break;
+            case "void":
+                builder.append('V');
+                break;
+            default:
+                builder.append('L').append(elementType.replace('.', '/')).append(';');
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package lt.lukasa.proguardviewer.parser;
 
+import lt.lukasa.proguardviewer.mappings.LineNumberTable;
 import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
 import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
 import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
@@ -51,6 +52,7 @@ public class ProguardMappingParser {
         Map<String, String> fieldByRealName = classMapping.getFieldByRealName();
         Map<String, List<ObfuscationMethodMapping>> methodsByObfuscation = classMapping.getMethodsByObfuscatedName();
         Map<String, List<ObfuscationMethodMapping>> methodsByRealName = classMapping.getMethodsByRealName();
+        LineNumberTable.Builder lineNumbers = new LineNumberTable.Builder();
         while (scanner.hasNextLine()) {
             if (!scanner.peekNextLine().startsWith(indent)) {
                 break;
@@ -70,9 +72,12 @@ public class ProguardMappingParser {
                 final int endIndex = unobfuscated.length() - 1;
                 String parametersStr = endIndex < beginIndex ? "" : unobfuscated.substring(beginIndex, endIndex);
 
-                final ObfuscationMethodMapping mapping = new ObfuscationMethodMapping(type, realName, obfuscatedName, parametersStr.isEmpty() ? Collections.emptyList() : Arrays.stream(parametersStr.split(",")).map(StringUtil::mapClassName).collect(Collectors.toList()));
+                final ObfuscationMethodMapping mapping = new ObfuscationMethodMapping(type, realName, obfuscated, parametersStr.isEmpty() ? Collections.emptyList() : Arrays.stream(parametersStr.split(",")).map(StringUtil::mapClassName).collect(Collectors.toList()));
                 methodsByObfuscation.computeIfAbsent(obfuscated, a -> new ArrayList<>()).add(mapping);
                 methodsByRealName.computeIfAbsent(realName, a -> new ArrayList<>()).add(mapping);
+                if (methodMatcher.group(1) != null) {
+                    lineNumbers.add(Integer.parseInt(methodMatcher.group(1)), Integer.parseInt(methodMatcher.group(2)), mapping);
+                }
             } else {
                 Matcher fieldMatcher = FIELD_PATTERN.matcher(line.substring(indent.length()));
                 if (fieldMatcher.matches()) {
@@ -81,6 +86,7 @@ public class ProguardMappingParser {
                 }
             }
         }
+        classMapping.setLineNumbers(lineNumbers.build());
         return classMapping;
     }
 }
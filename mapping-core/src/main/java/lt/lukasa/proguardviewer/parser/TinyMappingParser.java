@@ -0,0 +1,150 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.mappings.MultiNamespaceMapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses the tab separated Tiny v2 format in a single streaming pass:
+ * <pre>
+ * tiny	2	0	official	intermediary	named
+ * c	a	net/minecraft/class_1	net/minecraft/Foo
+ * 	f	I	a	field_1	bar
+ * 	m	(La;)V	b	method_1	baz
+ * 		p	1	param_0	other
+ * </pre>
+ * Parameters, local variables and comments are skipped.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class TinyMappingParser {
+
+    public static MultiNamespaceMapping parse(InputStream inputStream) throws IOException {
+        return parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public static MultiNamespaceMapping parse(Reader input) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input, 1 << 16);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("Empty tiny mapping");
+        }
+        String[] headerColumns = header.split("\t");
+        if (headerColumns.length < 5 || !headerColumns[0].equals("tiny") || !headerColumns[1].equals("2")) {
+            throw new IOException("Unsupported tiny mapping header: " + header);
+        }
+        String[] namespaces = Arrays.copyOfRange(headerColumns, 3, headerColumns.length);
+        MultiNamespaceMapping mapping = new MultiNamespaceMapping(namespaces);
+        int namespaceCount = namespaces.length;
+
+        boolean escapedNames = false;
+        MultiNamespaceMapping.ClassEntry currentClass = null;
+        List<String> columns = new ArrayList<>(namespaceCount + 3);
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            int depth = 0;
+            while (depth < line.length() && line.charAt(depth) == '\t') {
+                depth++;
+            }
+            split(line, depth, columns);
+            String kind = columns.get(0);
+            if (currentClass == null && depth == 1 && !kind.equals("f") && !kind.equals("m") && !kind.equals("c")) {
+                // Header properties come before the first class
+                if (kind.equals("escaped-names")) {
+                    escapedNames = true;
+                }
+                continue;
+            }
+            if (depth == 0 && kind.equals("c")) {
+                String[] names = readNames(columns, 1, namespaceCount, escapedNames, lineNumber);
+                currentClass = new MultiNamespaceMapping.ClassEntry(names);
+                mapping.addClass(currentClass);
+            } else if (depth == 1 && currentClass != null && (kind.equals("f") || kind.equals("m"))) {
+                String descriptor = unescape(columns.get(1), escapedNames);
+                String[] names = readNames(columns, 2, namespaceCount, escapedNames, lineNumber);
+                MultiNamespaceMapping.MemberEntry member = new MultiNamespaceMapping.MemberEntry(descriptor, names);
+                if (kind.equals("f")) {
+                    currentClass.addField(member);
+                } else {
+                    currentClass.addMethod(member);
+                }
+            }
+            // Comments, parameters and local variables are not used by the plugin
+        }
+        return mapping;
+    }
+
+    /**
+     * Splits a line at tabs, starting behind the indentation. Unlike {@link String#split(String)} this keeps
+     * trailing empty columns, which are meaningful in tiny files.
+     */
+    private static void split(String line, int start, List<String> columns) {
+        columns.clear();
+        int from = start;
+        int tab;
+        while ((tab = line.indexOf('\t', from)) >= 0) {
+            columns.add(line.substring(from, tab));
+            from = tab + 1;
+        }
+        columns.add(line.substring(from));
+    }
+
+    private static String[] readNames(List<String> columns, int offset, int count, boolean escaped, int lineNumber) throws IOException {
+        if (columns.size() < offset + 1) {
+            throw new IOException("Missing names in line " + lineNumber);
+        }
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            String name = offset + i < columns.size() ? unescape(columns.get(offset + i), escaped) : "";
+            // An empty name means the element keeps the name of the first namespace
+            names[i] = name.isEmpty() ? (i == 0 ? name : names[0]) : name;
+        }
+        return names;
+    }
+
+    private static String unescape(String value, boolean escaped) {
+        if (!escaped || value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case '0':
+                        builder.append('\0');
+                        break;
+                    default:
+                        builder.append(next);
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
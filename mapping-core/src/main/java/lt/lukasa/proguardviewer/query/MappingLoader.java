@@ -0,0 +1,112 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MultiNamespaceMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.parser.CSRGMappingParser;
+import lt.lukasa.proguardviewer.parser.PeekableScanner;
+import lt.lukasa.proguardviewer.parser.ProguardMappingParser;
+import lt.lukasa.proguardviewer.parser.TinyMappingParser;
+import lt.lukasa.proguardviewer.profiles.Profile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * Reads the mappings a profile refers to. Where the files come from is up to the caller: the plugin downloads and
+ * caches them, the command line reads local files.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingLoader {
+    public static ObfuscationMapping readMojang(InputStream inputStream) {
+        return ProguardMappingParser.parseProguard(new PeekableScanner(new Scanner(inputStream)));
+    }
+
+    public static ObfuscationMapping readSpigotClasses(InputStream inputStream) {
+        return CSRGMappingParser.parse(new PeekableScanner(new Scanner(inputStream)), null);
+    }
+
+    /**
+     * Adds the members of a {@code spigot-members} file to the Spigot classes, which older versions ship separately.
+     */
+    public static ObfuscationMapping readSpigotMembers(ObfuscationMapping spigotClasses, InputStream inputStream) {
+        CSRGMappingParser.parseMembers(spigotClasses, new PeekableScanner(new Scanner(inputStream)));
+        return spigotClasses;
+    }
+
+    /**
+     * Loads all mappings of a profile, either its {@code tiny} file or its {@code mojang}, {@code spigot-classes} and
+     * {@code spigot-members} files. The composed table of the snapshot is built right away, so queries never pay for it.
+     */
+    public static MappingSnapshot load(Profile profile, Source source) throws IOException {
+        MappingSnapshot snapshot = read(profile, source);
+        snapshot.getComposition();
+        return snapshot;
+    }
+
+    private static MappingSnapshot read(Profile profile, Source source) throws IOException {
+        List<ObfuscationMapping> components = readComponents(profile, source);
+        return new MappingSnapshot(profile, components.get(0), components.get(1));
+    }
+
+    /**
+     * Reads the Mojang and Spigot mappings of a profile without building a snapshot, for callers which only store
+     * them.
+     */
+    public static List<ObfuscationMapping> readComponents(Profile profile, Source source) throws IOException {
+        Map<String, String> mappings = profile.getMappings();
+        String tiny = mappings.get("tiny");
+        if (tiny != null && !tiny.isEmpty()) {
+            MultiNamespaceMapping mapping;
+            try (InputStream inputStream = source.open(tiny)) {
+                mapping = TinyMappingParser.parse(inputStream);
+            }
+            return splitTinyMapping(profile, mapping);
+        }
+        ObfuscationMapping mojang;
+        try (InputStream inputStream = source.open(mappings.get("mojang"))) {
+            mojang = readMojang(inputStream);
+        }
+        ObfuscationMapping spigot = new ObfuscationMapping();
+        String spigotClasses = mappings.get("spigot-classes");
+        if (spigotClasses != null && !spigotClasses.isEmpty()) {
+            try (InputStream inputStream = source.open(spigotClasses)) {
+                spigot = readSpigotClasses(inputStream);
+            }
+            String spigotMembers = mappings.get("spigot-members");
+            if (spigotMembers != null && !spigotMembers.isEmpty()) {
+                try (InputStream inputStream = source.open(spigotMembers)) {
+                    readSpigotMembers(spigot, inputStream);
+                }
+            }
+        }
+        return List.of(mojang, spigot);
+    }
+
+    /**
+     * Extracts the Mojang and Spigot mappings from a tiny file. The namespaces default to the ones used by Fabric
+     * and can be changed through the {@code tiny-obfuscated}, {@code tiny-mojang} and {@code tiny-spigot} entries of
+     * the profile. Without a Spigot namespace the Spigot mapping stays empty and classes are matched by their
+     * obfuscated names only.
+     */
+    public static List<ObfuscationMapping> splitTinyMapping(Profile profile, MultiNamespaceMapping mapping) {
+        Map<String, String> sources = profile.getMappings();
+        int obfuscated = mapping.getNamespaceIndex(sources.getOrDefault("tiny-obfuscated", "official"));
+        int mojang = mapping.getNamespaceIndex(sources.getOrDefault("tiny-mojang", "named"));
+        if (obfuscated < 0 || mojang < 0) {
+            throw new IllegalArgumentException("Tiny mapping of profile " + profile.getId() + " does not contain the configured namespaces, found " + mapping.getNamespaces());
+        }
+        int spigot = sources.containsKey("tiny-spigot") ? mapping.getNamespaceIndex(sources.get("tiny-spigot")) : -1;
+        return List.of(mapping.toObfuscationMapping(obfuscated, mojang),
+                spigot < 0 ? new ObfuscationMapping() : mapping.toObfuscationMapping(obfuscated, spigot));
+    }
+
+    public interface Source {
+        InputStream open(String location) throws IOException;
+    }
+}
@@ -0,0 +1,153 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MultiNamespaceMapping;
+import lt.lukasa.proguardviewer.parser.JvmDescriptorParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates class and member names given in any namespace into one target namespace. A query is a class name,
+ * optionally followed by {@code #} and a member name, and for methods optionally by their parameter types in the
+ * namespace of the member name:
+ * <pre>
+ * net.minecraft.server.level.ServerPlayer
+ * net/minecraft/server/level/EntityPlayer#a
+ * net.minecraft.world.entity.Entity#setPos(double,double,double)
+ * </pre>
+ * Class names may be written with {@code /} and {@code $}. A method name without parameters matching overloads with
+ * different names is translated to all of them, separated by {@code |}.
+ * <p>
+ * Lookups go to the composed table of the snapshot, a class is found with one lookup per namespace tried.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class NameTranslator {
+    private final MappingSnapshot snapshot;
+    private final MultiNamespaceMapping mapping;
+    private final int target;
+    // The namespaces a name is looked up in, in this order
+    private final int[] sources;
+
+    public NameTranslator(MappingSnapshot snapshot, Namespace target) {
+        this.snapshot = snapshot;
+        this.mapping = snapshot.getComposition().getMapping();
+        this.target = mapping.getNamespaceIndex(target.getId());
+        Namespace[] namespaces = Namespace.values();
+        this.sources = new int[namespaces.length];
+        for (int i = 0; i < namespaces.length; i++) {
+            sources[i] = mapping.getNamespaceIndex(namespaces[i].getId());
+        }
+    }
+
+    /**
+     * @return the translated name, or null if the class or member is not part of the mappings
+     */
+    public String translate(String query) {
+        int separator = query.indexOf('#');
+        String className = normalize(separator < 0 ? query : query.substring(0, separator));
+        if (!snapshot.getPrefilter().mightContain(className)) {
+            return null;
+        }
+        String internalName = className.replace('.', '/');
+        for (int source : sources) {
+            MultiNamespaceMapping.ClassEntry entry = mapping.getClass(source, internalName);
+            if (entry != null) {
+                String translatedClass = toSourceName(entry.getName(target));
+                if (separator < 0) {
+                    return translatedClass;
+                }
+                String member = translateMember(entry, source, query, separator);
+                return member == null ? null : translatedClass + "#" + member;
+            }
+        }
+        return null;
+    }
+
+    private String translateMember(MultiNamespaceMapping.ClassEntry entry, int classNamespace, String query, int separator) {
+        int parenthesis = query.indexOf('(', separator);
+        String name = query.substring(separator + 1, parenthesis < 0 ? query.length() : parenthesis);
+        String parameters = null;
+        if (parenthesis >= 0) {
+            int end = query.indexOf(')', parenthesis);
+            parameters = query.substring(parenthesis + 1, end < 0 ? query.length() : end).trim();
+        }
+        // Members are usually given in the namespace of their class, the others are only tried if that fails
+        String member = translateMember(entry, classNamespace, name, parameters);
+        for (int i = 0; member == null && i < sources.length; i++) {
+            if (sources[i] != classNamespace) {
+                member = translateMember(entry, sources[i], name, parameters);
+            }
+        }
+        return member;
+    }
+
+    private String translateMember(MultiNamespaceMapping.ClassEntry entry, int namespace, String name, String parameters) {
+        if (parameters == null) {
+            MultiNamespaceMapping.MemberEntry field = entry.findField(namespace, name);
+            if (field != null) {
+                return field.getName(target);
+            }
+        }
+        String result = null;
+        Set<String> names = null;
+        for (MultiNamespaceMapping.MemberEntry method : entry.findMethods(namespace, name)) {
+            if (parameters != null) {
+                if (parametersMatch(parameterTypes(method, namespace), parameters)) {
+                    return method.getName(target) + "(" + String.join(",", parameterTypes(method, target)) + ")";
+                }
+                continue;
+            }
+            String translated = method.getName(target);
+            if (result == null) {
+                result = translated;
+            } else if (!result.equals(translated)) {
+                if (names == null) {
+                    names = new LinkedHashSet<>();
+                    names.add(result);
+                }
+                names.add(translated);
+            }
+        }
+        return names == null ? result : String.join("|", names);
+    }
+
+    private List<String> parameterTypes(MultiNamespaceMapping.MemberEntry method, int namespace) {
+        List<String> parameterTypes = new ArrayList<>();
+        JvmDescriptorParser.parseMethod(method.getDescriptor(), name -> mapping.translateClass(0, namespace, name), parameterTypes);
+        return parameterTypes;
+    }
+
+    private static boolean parametersMatch(List<String> types, String parameters) {
+        if (parameters.isEmpty()) {
+            return types.isEmpty();
+        }
+        int start = 0;
+        for (int i = 0; i < types.size(); i++) {
+            int end = parameters.indexOf(',', start);
+            if (end < 0) {
+                if (i != types.size() - 1) {
+                    return false;
+                }
+                end = parameters.length();
+            }
+            if (!types.get(i).equals(normalize(parameters.substring(start, end).trim()))) {
+                return false;
+            }
+            start = end + 1;
+        }
+        return start > parameters.length();
+    }
+
+    private static String toSourceName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    private static String normalize(String className) {
+        return className.replace('/', '.').replace('$', '.');
+    }
+}
@@ -0,0 +1,29 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public enum Namespace {
+    MOJANG(MappingSnapshot.MOJANG),
+    /**
+     * Spigot class names, members keep their obfuscated names
+     */
+    SPIGOT(MappingSnapshot.SPIGOT),
+    OBFUSCATED(MappingSnapshot.OBFUSCATED);
+
+    private final String id;
+
+    Namespace(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the name of the namespace in {@link MappingSnapshot#getComposition()}
+     */
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,239 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class, field and method names of the server jar, i.e. Spigot or obfuscated names, to be translated to their Mojang
+ * names in one go. Every query gets an index, under which its translation is found in the {@link TranslationResult}.
+ * <p>
+ * Queries are translated grouped by the class they belong to, and every class name, whether owner or parameter type,
+ * is looked up once per batch, so a batch of all references in a file costs far less than translating them one by
+ * one.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class TranslationBatch {
+    private static final byte CLASS = 0;
+    private static final byte FIELD = 1;
+    private static final byte METHOD = 2;
+    private static final ObfuscationClassMapping UNMAPPED = new ObfuscationClassMapping("", "");
+
+    private final byte[] kinds;
+    private final String[][] owners;
+    private final String[] names;
+    private final String[][] parameterTypes;
+    // Query indices, grouped by their first owner
+    private final int[] order;
+
+    private TranslationBatch(Builder builder) {
+        int size = builder.kinds.size();
+        this.kinds = new byte[size];
+        for (int i = 0; i < size; i++) {
+            kinds[i] = builder.kinds.get(i);
+        }
+        this.owners = builder.owners.toArray(new String[0][]);
+        this.names = builder.names.toArray(new String[0]);
+        this.parameterTypes = builder.parameterTypes.toArray(new String[0][]);
+        this.order = new int[size];
+        int position = 0;
+        for (List<Integer> group : builder.groups.values()) {
+            for (int index : group) {
+                order[position++] = index;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return kinds.length;
+    }
+
+    /**
+     * Translates all queries against one snapshot.
+     */
+    public TranslationResult translate(MappingSnapshot snapshot) {
+        Object[] resolved = new Object[kinds.length];
+        Lookup lookup = new Lookup(snapshot);
+        for (int index : order) {
+            switch (kinds[index]) {
+                case CLASS:
+                    resolved[index] = lookup.getClass(owners[index][0]);
+                    break;
+                case FIELD:
+                    resolved[index] = translateField(lookup, index);
+                    break;
+                default:
+                    resolved[index] = translateMethod(lookup, index);
+                    break;
+            }
+        }
+        return new TranslationResult(snapshot, resolved);
+    }
+
+    private String translateField(Lookup lookup, int index) {
+        for (String owner : owners[index]) {
+            ObfuscationClassMapping classMapping = lookup.getClass(owner);
+            if (classMapping != null) {
+                String name = classMapping.getFieldByObfuscation().get(names[index]);
+                if (name != null) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private ObfuscationMethodMapping translateMethod(Lookup lookup, int index) {
+        String[] translatedTypes = null;
+        for (String owner : owners[index]) {
+            ObfuscationClassMapping classMapping = lookup.getClass(owner);
+            if (classMapping == null) {
+                continue;
+            }
+            List<ObfuscationMethodMapping> candidates = classMapping.getMethodsByObfuscatedName().get(names[index]);
+            if (candidates == null || candidates.isEmpty()) {
+                continue;
+            }
+            String[] types = parameterTypes[index];
+            if (types == null) {
+                return candidates.get(0);
+            }
+            if (translatedTypes == null) {
+                translatedTypes = new String[types.length];
+                for (int i = 0; i < types.length; i++) {
+                    translatedTypes[i] = lookup.getTypeName(types[i]);
+                }
+            }
+            for (ObfuscationMethodMapping candidate : candidates) {
+                if (matches(candidate.getParameterTypes(), translatedTypes)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(List<String> expected, String[] given) {
+        if (expected.size() != given.length) {
+            return false;
+        }
+        for (int i = 0; i < given.length; i++) {
+            if (!expected.get(i).equals(given[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The class lookups of one translation, each name is only resolved once.
+     */
+    private static final class Lookup {
+        private final MappingSnapshot snapshot;
+        private final Map<String, ObfuscationClassMapping> classes = new HashMap<>();
+        private final Map<String, String> typeNames = new HashMap<>();
+
+        Lookup(MappingSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        ObfuscationClassMapping getClass(String className) {
+            ObfuscationClassMapping classMapping = classes.get(className);
+            if (classMapping == null) {
+                classMapping = UNMAPPED;
+                if (snapshot.getPrefilter().mightContain(className)) {
+                    classMapping = snapshot.getMojangClass(className).orElse(UNMAPPED);
+                }
+                classes.put(className, classMapping);
+            }
+            return classMapping == UNMAPPED ? null : classMapping;
+        }
+
+        /**
+         * @return the Mojang name of a type, keeping array dimensions, or the name itself if it is not mapped
+         */
+        String getTypeName(String typeName) {
+            return typeNames.computeIfAbsent(typeName, name -> {
+                int dimensions = name.indexOf('[');
+                ObfuscationClassMapping classMapping = getClass(dimensions < 0 ? name : name.substring(0, dimensions));
+                if (classMapping == null) {
+                    return name;
+                }
+                return dimensions < 0 ? classMapping.getRealName() : classMapping.getRealName() + name.substring(dimensions);
+            });
+        }
+    }
+
+    public static final class Builder {
+        private final List<Byte> kinds = new ArrayList<>();
+        private final List<String[]> owners = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String[]> parameterTypes = new ArrayList<>();
+        private final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @return the index of the Mojang class of the given class
+         */
+        public int addClass(String className) {
+            return add(CLASS, new String[]{className}, null, null);
+        }
+
+        /**
+         * @return the index of the Mojang name of the field
+         */
+        public int addField(String className, String fieldName) {
+            return add(FIELD, new String[]{className}, fieldName, null);
+        }
+
+        /**
+         * @param parameterTypes the erased parameter types in the names of the server jar, e.g. {@code int} or
+         *                       {@code net.minecraft.server.level.EntityPlayer[]}, or null to accept any overload
+         * @return the index of the Mojang mapping of the method
+         */
+        public int addMethod(String className, String methodName, List<String> parameterTypes) {
+            return addMethod(Collections.singletonList(className), methodName, parameterTypes);
+        }
+
+        /**
+         * Adds a method which may be inherited. The first of the classes mapping a matching method wins.
+         *
+         * @param classNames the class the method is looked up in, followed by the supertypes to try
+         */
+        public int addMethod(List<String> classNames, String methodName, List<String> parameterTypes) {
+            if (classNames.isEmpty()) {
+                throw new IllegalArgumentException("A method needs at least one class to be looked up in");
+            }
+            return add(METHOD, classNames.toArray(new String[0]), methodName, parameterTypes == null ? null : parameterTypes.toArray(new String[0]));
+        }
+
+        private int add(byte kind, String[] classNames, String name, String[] types) {
+            int index = kinds.size();
+            kinds.add(kind);
+            owners.add(classNames);
+            names.add(name);
+            parameterTypes.add(types);
+            groups.computeIfAbsent(classNames[0], className -> new ArrayList<>()).add(index);
+            return index;
+        }
+
+        public TranslationBatch build() {
+            return new TranslationBatch(this);
+        }
+    }
+}
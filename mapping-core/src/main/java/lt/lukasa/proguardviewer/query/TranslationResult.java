@@ -0,0 +1,67 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+
+/**
+ * The translations of a {@link TranslationBatch}, by query index. Each entry is the Mojang class of a class query,
+ * the Mojang name of a field query or the Mojang method of a method query, or null if the query is not mapped.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class TranslationResult {
+    private final MappingSnapshot snapshot;
+    private final Object[] resolved;
+
+    TranslationResult(MappingSnapshot snapshot, Object[] resolved) {
+        this.snapshot = snapshot;
+        this.resolved = resolved;
+    }
+
+    /**
+     * @return the snapshot all queries were translated against
+     */
+    public MappingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return resolved.length;
+    }
+
+    public boolean isMapped(int index) {
+        return resolved[index] != null;
+    }
+
+    /**
+     * @return the Mojang name of the class, field or method, or null if it is not mapped
+     */
+    public String getName(int index) {
+        Object value = resolved[index];
+        if (value instanceof ObfuscationClassMapping) {
+            return ((ObfuscationClassMapping) value).getRealName();
+        }
+        if (value instanceof ObfuscationMethodMapping) {
+            return ((ObfuscationMethodMapping) value).getRealName();
+        }
+        return (String) value;
+    }
+
+    /**
+     * @return the Mojang class of a class query, or null
+     */
+    public ObfuscationClassMapping getClassMapping(int index) {
+        Object value = resolved[index];
+        return value instanceof ObfuscationClassMapping ? (ObfuscationClassMapping) value : null;
+    }
+
+    /**
+     * @return the Mojang method of a method query, or null
+     */
+    public ObfuscationMethodMapping getMethod(int index) {
+        Object value = resolved[index];
+        return value instanceof ObfuscationMethodMapping ? (ObfuscationMethodMapping) value : null;
+    }
+}
@@ -0,0 +1,48 @@
+package lt.lukasa.proguardviewer.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The gzip streams used for cached mapping files. Mapping files are plain text full of repeated package names and
+ * compress very well, while inflating is cheap compared to parsing, so they are decompressed on the fly straight
+ * into the parsers instead of being unpacked first.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class CompressedStreams {
+    public static final String SUFFIX = ".gz";
+
+    // Large buffers keep the number of inflate calls low, the default of 512 bytes costs noticeably
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static OutputStream compress(OutputStream outputStream) throws IOException {
+        return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    public static InputStream decompress(InputStream inputStream) throws IOException {
+        return new GZIPInputStream(inputStream, BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a file, decompressing it if its name ends with {@link #SUFFIX}.
+     */
+    public static InputStream open(Path path) throws IOException {
+        InputStream inputStream = Files.newInputStream(path);
+        if (!path.getFileName().toString().endsWith(SUFFIX)) {
+            return inputStream;
+        }
+        try {
+            return decompress(inputStream);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+}
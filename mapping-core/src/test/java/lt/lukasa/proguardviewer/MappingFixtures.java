@@ -0,0 +1,51 @@
+package lt.lukasa.proguardviewer;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.parser.PeekableScanner;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * A few classes of the 1.19 server in Mojang, Spigot and Tiny mappings, kept in {@code /fixtures}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingFixtures {
+    public static final Profile PROFILE = new Profile("fixture", Map.of(
+            "mojang", "server.txt",
+            "spigot-classes", "spigot-classes.csrg",
+            "spigot-members", "spigot-members.csrg"));
+
+    private MappingFixtures() {
+    }
+
+    public static InputStream open(String name) throws IOException {
+        InputStream inputStream = MappingFixtures.class.getResourceAsStream("/fixtures/" + name);
+        if (inputStream == null) {
+            throw new IOException("Missing fixture " + name);
+        }
+        return inputStream;
+    }
+
+    public static MappingSnapshot snapshot() {
+        try {
+            return MappingLoader.load(PROFILE, MappingFixtures::open);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a scanner over the given lines, for mappings written inline by a test
+     */
+    public static PeekableScanner lines(String... lines) {
+        return new PeekableScanner(new Scanner(String.join("\n", lines)));
+    }
+}
@@ -0,0 +1,84 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class MappingComposerTest {
+
+    /**
+     * @param names pairs of obfuscated and real class names
+     */
+    private static ObfuscationMapping classes(String... names) {
+        ObfuscationMapping mapping = new ObfuscationMapping();
+        for (int i = 0; i < names.length; i += 2) {
+            ObfuscationClassMapping classMapping = new ObfuscationClassMapping(names[i + 1], names[i]);
+            mapping.getClassesByObfuscation().put(classMapping.getObfuscatedName(), classMapping);
+            mapping.getClassesByRealName().put(classMapping.getRealName(), classMapping);
+        }
+        return mapping;
+    }
+
+    @Test
+    void composesSnapshotWithoutConflicts() {
+        MappingComposer.Composition composition = MappingFixtures.snapshot().getComposition();
+        assertTrue(composition.getConflicts().isEmpty(), composition.getConflicts().toString());
+        MultiNamespaceMapping mapping = composition.getMapping();
+        int obfuscated = mapping.getNamespaceIndex(MappingSnapshot.OBFUSCATED);
+        int spigot = mapping.getNamespaceIndex(MappingSnapshot.SPIGOT);
+        int mojang = mapping.getNamespaceIndex(MappingSnapshot.MOJANG);
+        MultiNamespaceMapping.ClassEntry player = mapping.getClass(obfuscated, "aig");
+        assertEquals("net/minecraft/server/level/EntityPlayer", player.getName(spigot));
+        assertEquals("net/minecraft/server/level/ServerPlayer", player.getName(mojang));
+        MultiNamespaceMapping.MemberEntry counter = player.findField(obfuscated, "cr");
+        assertEquals("containerCounter", counter.getName(spigot));
+        assertEquals("containerCounter", counter.getName(mojang));
+        // Methods without a Spigot member mapping keep their obfuscated name
+        assertEquals("a", player.findMethods(mojang, "setPos").get(0).getName(spigot));
+    }
+
+    @Test
+    void reportsNamesMissingFromHop() {
+        MappingComposer.Composition composition = new MappingComposer("obfuscated")
+                .then("intermediate", MappingComposer.Hop.forward(classes("a", "First", "b", "Second")))
+                .then("named", MappingComposer.Hop.forward(classes("First", "FirstNamed")))
+                .compose();
+        List<MappingComposer.Conflict> conflicts = composition.getConflicts();
+        assertEquals(1, conflicts.size());
+        MappingComposer.Conflict conflict = conflicts.get(0);
+        assertEquals(MappingComposer.Conflict.Kind.UNMAPPED, conflict.getKind());
+        assertEquals("named", conflict.getNamespace());
+        assertEquals("Second", conflict.getClassName());
+        // The unmapped class keeps its name
+        MultiNamespaceMapping mapping = composition.getMapping();
+        assertEquals("Second", mapping.getClass(0, "b").getName(mapping.getNamespaceIndex("named")));
+        assertEquals("FirstNamed", mapping.getClass(0, "a").getName(mapping.getNamespaceIndex("named")));
+    }
+
+    @Test
+    void reportsDuplicateNames() {
+        ObfuscationMapping mapping = new ObfuscationMapping();
+        ObfuscationClassMapping first = new ObfuscationClassMapping("Shared", "a");
+        ObfuscationClassMapping second = new ObfuscationClassMapping("Shared", "b");
+        mapping.getClassesByObfuscation().put("a", first);
+        mapping.getClassesByObfuscation().put("b", second);
+        mapping.getClassesByRealName().put("Shared", second);
+        MappingComposer.Composition composition = new MappingComposer("obfuscated")
+                .then("named", MappingComposer.Hop.forward(mapping))
+                .compose();
+        assertEquals(1, composition.getConflicts().size());
+        MappingComposer.Conflict conflict = composition.getConflicts().get(0);
+        assertEquals(MappingComposer.Conflict.Kind.DUPLICATE, conflict.getKind());
+        assertEquals("named", conflict.getNamespace());
+        assertEquals("Shared", conflict.getClassName());
+        assertEquals("b", composition.getMapping().getClass(1, "Shared").getName(0));
+    }
+}
@@ -0,0 +1,52 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.parser.CSRGMappingParser;
+import lt.lukasa.proguardviewer.parser.ProguardMappingParser;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static lt.lukasa.proguardviewer.MappingFixtures.lines;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class MappingConsistencyAnalyzerTest {
+    private static final Profile PROFILE = new Profile("inline", Map.of());
+
+    @Test
+    void fixturesAreConsistent() {
+        MappingConsistencyAnalyzer.Report report = MappingConsistencyAnalyzer.analyze(MappingFixtures.snapshot());
+        assertTrue(report.isEmpty(), report.getIssues().toString());
+        assertEquals(6, report.getCheckedClasses());
+    }
+
+    @Test
+    void reportsEveryKindOfIssue() {
+        ObfuscationMapping mojang = ProguardMappingParser.parseProguard(lines(
+                "net.minecraft.server.level.ServerPlayer -> aig:",
+                "    int first -> a",
+                "    int second -> a",
+                "    void tick() -> b",
+                "    void update() -> b"));
+        ObfuscationMapping spigot = CSRGMappingParser.parse(lines(
+                "aig net/minecraft/server/level/EntityPlayer",
+                "zz net/minecraft/server/Removed"), lines(
+                "net/minecraft/server/Missing c value"));
+        MappingConsistencyAnalyzer.Report report = MappingConsistencyAnalyzer.analyze(new MappingSnapshot(PROFILE, mojang, spigot));
+
+        assertEquals(List.of(
+                "UNMAPPED spigot: net.minecraft.server.Removed",
+                "AMBIGUOUS mojang: net.minecraft.server.level.ServerPlayer#b()",
+                "DUPLICATE mojang: net.minecraft.server.level.ServerPlayer#a",
+                "ORPHAN spigot: net.minecraft.server.Missing#c"), report.getIssues().stream().map(Object::toString).collect(Collectors.toList()));
+        assertEquals(1, report.getCount(MappingConsistencyAnalyzer.Issue.Kind.ORPHAN));
+    }
+}
@@ -0,0 +1,113 @@
+package lt.lukasa.proguardviewer.mappings;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class MappingSearchIndexTest {
+    private final MappingSearchIndex fixture = MappingFixtures.snapshot().getSearchIndex();
+
+    /**
+     * @return an index over classes of the given simple names, without members and Spigot names
+     */
+    private static MappingSearchIndex index(List<String> classNames) {
+        ObfuscationMapping mojang = new ObfuscationMapping();
+        for (int i = 0; i < classNames.size(); i++) {
+            ObfuscationClassMapping mapping = new ObfuscationClassMapping("test." + classNames.get(i), "c" + i);
+            mojang.getClassesByObfuscation().put(mapping.getObfuscatedName(), mapping);
+            mojang.getClassesByRealName().put(mapping.getRealName(), mapping);
+        }
+        return MappingSearchIndex.build(mojang, new ObfuscationMapping());
+    }
+
+    private static List<String> names(List<MappingSearchIndex.Match> matches) {
+        return matches.stream().map(MappingSearchIndex.Match::getName).collect(Collectors.toList());
+    }
+
+    private static List<String> found(List<MappingSearchIndex.Match> matches) {
+        return matches.stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    @Test
+    void findsClassesByQualifiedName() {
+        assertEquals(List.of("net.minecraft.world.entity.Entity"), found(fixture.search("net.minecraft.world.entity.Entity", 10)));
+        assertEquals(List.of("net.minecraft.world.entity.Entity"), found(fixture.search("entity.Entity", 10)));
+        // By the Spigot name and in the internal form
+        assertEquals(List.of("net.minecraft.server.level.ServerPlayer"), found(fixture.search("net/minecraft/server/level/EntityPlayer", 10)));
+        assertEquals(List.of("net.minecraft.world.entity.Entity.RemovalReason"), found(fixture.search("net.minecraft.world.entity.Entity$RemovalReason", 10)));
+    }
+
+    @Test
+    void findsMembersByOwner() {
+        assertEquals(List.of("net.minecraft.world.entity.Entity.getX"), found(fixture.search("Entity.getX", 10)));
+        assertEquals(List.of("net.minecraft.world.entity.Entity.getX"), found(fixture.search("Entity#get", 10)));
+        assertEquals(List.of("net.minecraft.server.level.ServerPlayer.getCamera"), found(fixture.search("Player.get", 10)));
+    }
+
+    @Test
+    void hashOnlyFindsMembers() {
+        assertEquals(List.of(), found(fixture.search("Entity#RemovalReason", 10)));
+        assertEquals(List.of("net.minecraft.world.entity.Entity.RemovalReason"), found(fixture.search("Entity.Removal", 10)));
+    }
+
+    @Test
+    void ranksExactPrefixWordStartAndOtherMatches() {
+        MappingSearchIndex index = index(List.of("Unblocked", "BlockState", "BaseBlock", "Block", "BlockPos", "Stone"));
+        assertEquals(List.of("Block", "BlockPos", "BlockState", "BaseBlock", "Unblocked"), names(index.search("block", 10)));
+        assertEquals(List.of("Block", "BlockPos", "BlockState", "BaseBlock", "Unblocked"), names(index.search(" BLOCK ", 10)));
+    }
+
+    @Test
+    void keepsBestMatchesWithinLimit() {
+        List<String> classNames = new ArrayList<>();
+        classNames.add("Item");
+        for (int i = 0; i < 200; i++) {
+            classNames.add("Item" + i);
+        }
+        MappingSearchIndex index = index(classNames);
+        // Entries are offered in name order, so Item10 to Item199 reach the heap before the shorter Item2 to Item9
+        assertEquals(List.of("Item", "Item0", "Item1", "Item2", "Item3"), names(index.search("item", 5)));
+        List<String> all = names(index.search("item", 1000));
+        assertEquals(201, all.size());
+        assertEquals(all.subList(0, 20), names(index.search("item", 20)));
+        assertEquals(List.of(), index.search("item", 0));
+    }
+
+    @Test
+    void answersShortQueriesByPrefix() {
+        MappingSearchIndex index = index(List.of("BlockState", "BaseBlock", "Block", "Bl", "Stone"));
+        assertEquals(List.of("Bl", "Block", "BlockState"), names(index.search("bl", 10)));
+        assertEquals(List.of("Bl", "Block", "BaseBlock", "BlockState"), names(index.search("B", 10)));
+        assertEquals(List.of("Stone"), names(index.search("s", 10)));
+        assertEquals(List.of(), index.search("x", 10));
+    }
+
+    @Test
+    void findsMatchesBeyondTheStoredPosition() {
+        // The trigram positions are clamped to 63, so the position of the match is looked up in the name
+        String longName = "a".repeat(63) + "Bcdtar";
+        String longWordStart = "x".repeat(70) + "Tar";
+        MappingSearchIndex index = index(List.of(longName, longWordStart, "xTar" + "y".repeat(80), "Tar"));
+        assertEquals(List.of("Tar", "xTar" + "y".repeat(80), longName, longWordStart), names(index.search("tar", 10)));
+        assertEquals(List.of(longName), names(index.search("bcdtar", 10)));
+        assertEquals(List.of(longWordStart), names(index.search("xxxtar", 10)));
+    }
+
+    @Test
+    void checksNamesOfHashedTrigrams() {
+        // Cyrillic letters are outside of the exactly packed range
+        MappingSearchIndex index = index(List.of("\u0411\u043b\u043e\u043a", "\u0411\u043b\u043e\u043a\u0430\u0434\u0430", "\u041a\u0430\u043c\u0435\u043d\u044c"));
+        assertEquals(List.of("\u0411\u043b\u043e\u043a", "\u0411\u043b\u043e\u043a\u0430\u0434\u0430"), names(index.search("\u0431\u043b\u043e\u043a", 10)));
+        assertEquals(List.of("\u0411\u043b\u043e\u043a\u0430\u0434\u0430"), names(index.search("\u043a\u0430\u0434", 10)));
+        assertEquals(List.of(), index.search("\u043b\u043e\u0431", 10));
+    }
+}
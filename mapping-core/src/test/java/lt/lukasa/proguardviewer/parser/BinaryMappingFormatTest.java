@@ -0,0 +1,100 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class BinaryMappingFormatTest {
+
+    private static List<ObfuscationMapping> roundTrip(List<ObfuscationMapping> mappings) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMappingFormat.write(mappings, out);
+        return BinaryMappingFormat.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void roundTripKeepsAllMappings() throws IOException {
+        MappingSnapshot snapshot = MappingFixtures.snapshot();
+        ObfuscationMapping spigot = snapshot.getSpigot();
+        spigot.getOrphanMembers().add("net/minecraft/server/level/Missing b value");
+        List<ObfuscationMapping> read = roundTrip(List.of(snapshot.getMojang(), spigot));
+        assertEquals(2, read.size());
+        assertSameMapping(snapshot.getMojang(), read.get(0));
+        assertSameMapping(spigot, read.get(1));
+        assertEquals(spigot.getOrphanMembers(), read.get(1).getOrphanMembers());
+    }
+
+    @Test
+    void roundTripSharesMethodsAndLineNumbers() throws IOException {
+        ObfuscationMapping mojang = roundTrip(List.of(MappingFixtures.snapshot().getMojang())).get(0);
+        ObfuscationClassMapping player = mojang.getClassesByObfuscation().get("aig");
+        assertSame(player, mojang.getClassesByRealName().get("net.minecraft.server.level.ServerPlayer"));
+        ObfuscationMethodMapping setPos = player.getMethodsByRealName().get("setPos").get(0);
+        assertSame(setPos, player.getMethodsByObfuscatedName().get("a").get(0));
+        assertSame(setPos, player.getLineNumbers().find("a", 1));
+    }
+
+    @Test
+    void rejectsOtherVersions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMappingFormat.write(List.of(new ObfuscationMapping()), out);
+        byte[] bytes = out.toByteArray();
+        // The version follows the magic number
+        bytes[7]++;
+        IOException exception = assertThrows(IOException.class, () -> BinaryMappingFormat.read(new ByteArrayInputStream(bytes)));
+        assertTrue(exception.getMessage().contains("version"));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataOutputStream(out).writeInt(0x1234);
+        assertThrows(IOException.class, () -> BinaryMappingFormat.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    private static void assertSameMapping(ObfuscationMapping expected, ObfuscationMapping actual) {
+        assertEquals(expected.getClassesByObfuscation().keySet(), actual.getClassesByObfuscation().keySet());
+        assertEquals(expected.getClassesByRealName().keySet(), actual.getClassesByRealName().keySet());
+        expected.getClassesByObfuscation().forEach((name, expectedClass) -> {
+            ObfuscationClassMapping actualClass = actual.getClassesByObfuscation().get(name);
+            assertEquals(expectedClass.getRealName(), actualClass.getRealName());
+            assertEquals(expectedClass.getFieldByObfuscation(), actualClass.getFieldByObfuscation());
+            assertEquals(expectedClass.getFieldByRealName(), actualClass.getFieldByRealName());
+            assertEquals(describe(expectedClass), describe(actualClass));
+            assertEquals(expectedClass.getLineNumbers().size(), actualClass.getLineNumbers().size());
+            for (int i = 0; i < expectedClass.getLineNumbers().size(); i++) {
+                assertEquals(expectedClass.getLineNumbers().getStart(i), actualClass.getLineNumbers().getStart(i));
+                assertEquals(expectedClass.getLineNumbers().getEnd(i), actualClass.getLineNumbers().getEnd(i));
+            }
+        });
+    }
+
+    private static String describe(ObfuscationClassMapping classMapping) {
+        StringBuilder builder = new StringBuilder();
+        classMapping.getMethodsByObfuscatedName().forEach((name, overloads) -> {
+            for (ObfuscationMethodMapping method : overloads) {
+                builder.append(method.getReturnType()).append(' ').append(method.getRealName()).append(method.getParameterTypes())
+                        .append(" -> ").append(method.getObfuscatedName()).append('\n');
+            }
+        });
+        return builder.toString();
+    }
+}
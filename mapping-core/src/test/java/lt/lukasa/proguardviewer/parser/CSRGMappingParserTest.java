@@ -0,0 +1,62 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static lt.lukasa.proguardviewer.MappingFixtures.lines;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class CSRGMappingParserTest {
+
+    @Test
+    void readsClassesAndSkipsComments() {
+        ObfuscationMapping mapping = CSRGMappingParser.parse(lines(
+                "# comment",
+                "aig net/minecraft/server/level/EntityPlayer",
+                "axk$b net/minecraft/world/entity/Entity$RemovalReason"), null);
+        assertEquals(2, mapping.getClassesByRealName().size());
+        assertEquals("aig", mapping.getClassesByRealName().get("net.minecraft.server.level.EntityPlayer").getObfuscatedName());
+        assertEquals("net.minecraft.world.entity.Entity.RemovalReason", mapping.getClassesByObfuscation().get("axk.b").getRealName());
+    }
+
+    @Test
+    void readsMembersOfKnownClasses() {
+        ObfuscationMapping mapping = CSRGMappingParser.parse(lines("aig net/minecraft/server/level/EntityPlayer"), lines(
+                "net/minecraft/server/level/EntityPlayer cr containerCounter",
+                "net/minecraft/server/level/EntityPlayer a (DLnet/minecraft/world/entity/Entity;)Z teleportTo"));
+        ObfuscationClassMapping player = mapping.getClassesByObfuscation().get("aig");
+        assertEquals("containerCounter", player.getFieldByObfuscation().get("cr"));
+
+        ObfuscationMethodMapping method = player.getMethodsByRealName().get("teleportTo").get(0);
+        assertNotNull(method);
+        assertEquals("a", method.getObfuscatedName());
+        assertEquals("boolean", method.getReturnType());
+        assertEquals(List.of("double", "net.minecraft.world.entity.Entity"), method.getParameterTypes());
+        assertTrue(mapping.getOrphanMembers().isEmpty());
+    }
+
+    @Test
+    void readsMembersOfInnerClasses() {
+        ObfuscationMapping mapping = CSRGMappingParser.parse(lines("axk$b net/minecraft/world/entity/Entity$RemovalReason"), lines(
+                "net/minecraft/world/entity/Entity$RemovalReason a KILLED"));
+        assertEquals("KILLED", mapping.getClassesByObfuscation().get("axk.b").getFieldByObfuscation().get("a"));
+        assertTrue(mapping.getOrphanMembers().isEmpty());
+    }
+
+    @Test
+    void keepsMembersOfUnknownClassesAsOrphans() {
+        ObfuscationMapping mapping = CSRGMappingParser.parse(lines("aig net/minecraft/server/level/EntityPlayer"), lines(
+                "net/minecraft/server/level/Missing b value"));
+        assertEquals(List.of("net/minecraft/server/level/Missing b value"), mapping.getOrphanMembers());
+    }
+}
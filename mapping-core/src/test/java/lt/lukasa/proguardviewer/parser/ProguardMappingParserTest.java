@@ -0,0 +1,72 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class ProguardMappingParserTest {
+
+    private static ObfuscationMapping read() throws IOException {
+        try (InputStream inputStream = MappingFixtures.open("server.txt")) {
+            return MappingLoader.readMojang(inputStream);
+        }
+    }
+
+    @Test
+    void readsClassesByBothNames() throws IOException {
+        ObfuscationMapping mapping = read();
+        ObfuscationClassMapping player = mapping.getClassesByRealName().get("net.minecraft.server.level.ServerPlayer");
+        assertNotNull(player);
+        assertEquals("aig", player.getObfuscatedName());
+        assertSame(player, mapping.getClassesByObfuscation().get("aig"));
+        assertEquals(3, mapping.getClassesByRealName().size());
+    }
+
+    @Test
+    void mapsInnerClassSeparators() throws IOException {
+        ObfuscationMapping mapping = read();
+        ObfuscationClassMapping reason = mapping.getClassesByRealName().get("net.minecraft.world.entity.Entity.RemovalReason");
+        assertNotNull(reason);
+        assertEquals("axk.b", reason.getObfuscatedName());
+        assertEquals("KILLED", reason.getFieldByObfuscation().get("a"));
+    }
+
+    @Test
+    void readsFieldsAndOverloads() throws IOException {
+        ObfuscationClassMapping player = read().getClassesByObfuscation().get("aig");
+        assertEquals("containerCounter", player.getFieldByObfuscation().get("cr"));
+        assertEquals("cr", player.getFieldByRealName().get("containerCounter"));
+
+        List<ObfuscationMethodMapping> overloads = player.getMethodsByObfuscatedName().get("a");
+        assertEquals(2, overloads.size());
+        assertEquals(List.of("double", "double", "double"), overloads.get(0).getParameterTypes());
+        assertEquals(List.of("net.minecraft.world.entity.Entity"), overloads.get(1).getParameterTypes());
+        assertEquals("void", overloads.get(0).getReturnType());
+        assertEquals("net.minecraft.world.entity.Entity", player.getMethodsByRealName().get("getCamera").get(0).getReturnType());
+    }
+
+    @Test
+    void keepsLineNumbersOfMethods() throws IOException {
+        ObfuscationClassMapping player = read().getClassesByObfuscation().get("aig");
+        assertEquals(2, player.getLineNumbers().size());
+        assertEquals(List.of("double", "double", "double"), player.getLineNumbers().find("a", 2).getParameterTypes());
+        assertEquals(List.of("net.minecraft.world.entity.Entity"), player.getLineNumbers().find("a", 4).getParameterTypes());
+        assertNull(player.getLineNumbers().find("a", 5));
+    }
+}
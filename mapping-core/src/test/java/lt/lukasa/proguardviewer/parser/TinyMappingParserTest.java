@@ -0,0 +1,89 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.mappings.MultiNamespaceMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class TinyMappingParserTest {
+
+    private static MultiNamespaceMapping read() throws IOException {
+        try (InputStream inputStream = MappingFixtures.open("mappings.tiny")) {
+            return TinyMappingParser.parse(inputStream);
+        }
+    }
+
+    @Test
+    void readsNamespacesFromHeader() throws IOException {
+        MultiNamespaceMapping mapping = read();
+        assertEquals(List.of("official", "intermediary", "named"), mapping.getNamespaces());
+        assertEquals(2, mapping.getNamespaceIndex("named"));
+        assertEquals(-1, mapping.getNamespaceIndex("spigot"));
+    }
+
+    @Test
+    void readsClassesAndMembers() throws IOException {
+        MultiNamespaceMapping mapping = read();
+        MultiNamespaceMapping.ClassEntry player = mapping.getClass(0, "aig");
+        assertNotNull(player);
+        assertEquals("net/minecraft/server/level/ServerPlayer", player.getName(2));
+        assertEquals("net/minecraft/server/level/ServerPlayer", mapping.translateClass(1, 2, "net/minecraft/class_3222"));
+
+        MultiNamespaceMapping.MemberEntry counter = player.findField(0, "cr");
+        assertEquals("I", counter.getDescriptor());
+        assertEquals("containerCounter", counter.getName(2));
+        // Parameters and comments are skipped, they must not end up as members
+        assertEquals(1, player.getFields().size());
+        assertEquals(2, player.getMethods().size());
+        assertEquals(2, player.findMethods(0, "a").size());
+        assertEquals("(DDD)V", player.findMethods(2, "setPos").get(0).getDescriptor());
+    }
+
+    @Test
+    void emptyNameKeepsFirstNamespace() throws IOException {
+        MultiNamespaceMapping.MemberEntry method = read().getClass(0, "aig").findMethods(1, "method_5815").get(0);
+        assertEquals("a", method.getName(2));
+    }
+
+    @Test
+    void unescapesNames() throws IOException {
+        MultiNamespaceMapping.ClassEntry entity = read().getClass(2, "net/minecraft/world/entity/Entity");
+        assertEquals("x\tcoordinate", entity.findField(0, "t").getName(2));
+    }
+
+    @Test
+    void rejectsOtherFormats() {
+        assertThrows(IOException.class, () -> TinyMappingParser.parse(new StringReader("v1\tofficial\tnamed\n")));
+        assertThrows(IOException.class, () -> TinyMappingParser.parse(new StringReader("")));
+    }
+
+    @Test
+    void splitsIntoObfuscationMappings() throws IOException {
+        Profile profile = new Profile("tiny", Map.of("tiny", "mappings.tiny"));
+        List<ObfuscationMapping> components = MappingLoader.splitTinyMapping(profile, read());
+        ObfuscationMapping mojang = components.get(0);
+        assertEquals("net.minecraft.server.level.ServerPlayer", mojang.getClassesByObfuscation().get("aig").getRealName());
+        assertEquals("containerCounter", mojang.getClassesByObfuscation().get("aig").getFieldByObfuscation().get("cr"));
+        assertTrue(components.get(1).getClassesByObfuscation().isEmpty());
+        // Parameter types are translated to the real namespace as well
+        assertEquals(List.of("net.minecraft.world.entity.Entity"),
+                mojang.getClassesByObfuscation().get("aig").getMethodsByRealName().get("a").get(0).getParameterTypes());
+    }
+}
@@ -0,0 +1,69 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class NameTranslatorTest {
+    private final MappingSnapshot snapshot = MappingFixtures.snapshot();
+    private final NameTranslator mojang = new NameTranslator(snapshot, Namespace.MOJANG);
+    private final NameTranslator spigot = new NameTranslator(snapshot, Namespace.SPIGOT);
+    private final NameTranslator obfuscated = new NameTranslator(snapshot, Namespace.OBFUSCATED);
+
+    @Test
+    void translatesClassesFromEveryNamespace() {
+        assertEquals("net.minecraft.server.level.ServerPlayer", mojang.translate("net/minecraft/server/level/EntityPlayer"));
+        assertEquals("net.minecraft.server.level.ServerPlayer", mojang.translate("aig"));
+        assertEquals("net.minecraft.server.level.EntityPlayer", spigot.translate("net.minecraft.server.level.ServerPlayer"));
+        assertEquals("aig", obfuscated.translate("net.minecraft.server.level.ServerPlayer"));
+    }
+
+    @Test
+    void acceptsInnerClassSeparators() {
+        assertEquals("axk.b", obfuscated.translate("net.minecraft.world.entity.Entity$RemovalReason"));
+        assertEquals("axk.b", obfuscated.translate("net/minecraft/world/entity/Entity.RemovalReason"));
+    }
+
+    @Test
+    void translatesFields() {
+        assertEquals("net.minecraft.server.level.ServerPlayer#containerCounter", mojang.translate("aig#cr"));
+        assertEquals("aig#cr", obfuscated.translate("net.minecraft.server.level.ServerPlayer#containerCounter"));
+        // Named by the spigot-members file of the profile
+        assertEquals("net.minecraft.server.level.EntityPlayer#containerCounter", spigot.translate("net.minecraft.server.level.ServerPlayer#containerCounter"));
+        assertEquals("net.minecraft.world.entity.Entity.RemovalReason#KILLED", spigot.translate("axk$b#a"));
+    }
+
+    @Test
+    void translatesOverloadsByParameters() {
+        assertEquals("aig#a(double,double,double)", obfuscated.translate("net.minecraft.server.level.ServerPlayer#setPos(double, double, double)"));
+        assertEquals("net.minecraft.server.level.ServerPlayer#setPos(net.minecraft.world.entity.Entity)", mojang.translate("aig#a(axk)"));
+        assertEquals("net.minecraft.server.level.ServerPlayer#setPos(net.minecraft.world.entity.Entity)",
+                mojang.translate("net/minecraft/server/level/EntityPlayer#a(net.minecraft.world.entity.Entity)"));
+        assertNull(mojang.translate("aig#a(int)"));
+    }
+
+    @Test
+    void keepsObfuscatedNamesOfUnnamedSpigotMembers() {
+        assertEquals("net.minecraft.server.level.EntityPlayer#a", spigot.translate("net.minecraft.server.level.ServerPlayer#setPos"));
+    }
+
+    @Test
+    void joinsDifferentNamesOfOverloads() {
+        assertEquals("net.minecraft.server.level.ServerPlayer#setPos", mojang.translate("aig#a"));
+        assertEquals("aig#a", obfuscated.translate("net.minecraft.server.level.ServerPlayer#setPos"));
+    }
+
+    @Test
+    void returnsNullForUnknownNames() {
+        assertNull(mojang.translate("net.minecraft.Unknown"));
+        assertNull(mojang.translate("aig#unknown"));
+        assertNull(mojang.translate("aig#unknown()"));
+    }
+}
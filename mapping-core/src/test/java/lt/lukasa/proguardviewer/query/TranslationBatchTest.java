@@ -0,0 +1,95 @@
+package lt.lukasa.proguardviewer.query;
+
+import lt.lukasa.proguardviewer.MappingFixtures;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+class TranslationBatchTest {
+    private final MappingSnapshot snapshot = MappingFixtures.snapshot();
+
+    @Test
+    void keepsQueryIndicesAcrossOwnerGroups() {
+        TranslationBatch.Builder builder = TranslationBatch.builder();
+        int player = builder.addClass("net.minecraft.server.level.EntityPlayer");
+        int x = builder.addField("axk", "t");
+        int counter = builder.addField("aig", "cr");
+        int getX = builder.addMethod("axk", "dg", List.of());
+        int camera = builder.addMethod("net.minecraft.server.level.EntityPlayer", "C", List.of());
+        int entity = builder.addClass("axk");
+        TranslationResult result = builder.build().translate(snapshot);
+
+        assertEquals(6, result.size());
+        assertSame(snapshot, result.getSnapshot());
+        assertEquals("net.minecraft.server.level.ServerPlayer", result.getName(player));
+        assertEquals("x", result.getName(x));
+        assertEquals("containerCounter", result.getName(counter));
+        assertEquals("getX", result.getName(getX));
+        assertEquals("getCamera", result.getName(camera));
+        assertEquals("net.minecraft.world.entity.Entity", result.getClassMapping(entity).getRealName());
+    }
+
+    @Test
+    void looksUpInheritedMethodsInSupertypes() {
+        TranslationBatch.Builder builder = TranslationBatch.builder();
+        int getX = builder.addMethod(List.of("aig", "axk"), "dg", List.of());
+        // ServerPlayer declares a() as well, but none of its overloads takes the parameter
+        int remove = builder.addMethod(List.of("aig", "axk"), "a", List.of("axk.b"));
+        int setPos = builder.addMethod(List.of("aig", "axk"), "a", List.of("double", "double", "double"));
+        int missing = builder.addMethod(List.of("aig", "axk"), "zz", List.of());
+        TranslationResult result = builder.build().translate(snapshot);
+
+        assertEquals("getX", result.getName(getX));
+        assertEquals("remove", result.getName(remove));
+        assertEquals("setPos", result.getName(setPos));
+        assertFalse(result.isMapped(missing));
+    }
+
+    @Test
+    void translatesArrayParameters() {
+        TranslationBatch.Builder builder = TranslationBatch.builder();
+        int byObfuscatedName = builder.addMethod("axk", "a", List.of("axk[]"));
+        int bySpigotName = builder.addMethod("axk", "a", List.of("net.minecraft.world.entity.Entity[]"));
+        int wrongDimensions = builder.addMethod("axk", "a", List.of("axk[][]"));
+        TranslationResult result = builder.build().translate(snapshot);
+
+        assertEquals("addPassengers", result.getName(byObfuscatedName));
+        assertEquals(List.of("net.minecraft.world.entity.Entity[]"), result.getMethod(bySpigotName).getParameterTypes());
+        assertNull(result.getMethod(wrongDimensions));
+    }
+
+    @Test
+    void acceptsAnyOverloadWithoutParameterTypes() {
+        TranslationBatch.Builder builder = TranslationBatch.builder();
+        int setPos = builder.addMethod("aig", "a", null);
+        int inherited = builder.addMethod(List.of("aig", "axk"), "dg", null);
+        TranslationResult result = builder.build().translate(snapshot);
+
+        assertEquals("setPos", result.getName(setPos));
+        assertEquals("getX", result.getName(inherited));
+    }
+
+    @Test
+    void leavesUnknownNamesUnmapped() {
+        TranslationBatch.Builder builder = TranslationBatch.builder();
+        int unknownClass = builder.addClass("net.minecraft.Unknown");
+        int unknownField = builder.addField("aig", "zz");
+        int fieldOfUnknownClass = builder.addField("net.minecraft.Unknown", "cr");
+        TranslationResult result = builder.build().translate(snapshot);
+
+        assertNull(result.getName(unknownClass));
+        assertNull(result.getClassMapping(unknownClass));
+        assertFalse(result.isMapped(unknownField));
+        assertFalse(result.isMapped(fieldOfUnknownClass));
+    }
+}
@@ -0,0 +1,110 @@
+package lt.lukasa.proguardviewer.parser;
+
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import lt.lukasa.proguardviewer.util.CompressedStreams;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compares the size of a cached ProGuard mapping with and without compression, and the time it takes to parse it
+ * from either file. Without a file a mapping shaped like the Mojang server mappings is generated: nested packages,
+ * fields, and methods with line numbers and parameters of other mapped classes.
+ * <p>
+ * Run with {@code ./gradlew benchmark -PbenchmarkClass=lt.lukasa.proguardviewer.parser.CacheCompressionBenchmark
+ * [-PbenchmarkArgs="<mapping file or class count> <runs>"]}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class CacheCompressionBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        String source = args.length > 0 ? args[0] : "8000";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path directory = Files.createTempDirectory("compression-benchmark");
+        Path plain = directory.resolve("server.txt");
+        Path compressed = directory.resolve("server.txt" + CompressedStreams.SUFFIX);
+        if (source.chars().allMatch(Character::isDigit)) {
+            createMapping(plain, Integer.parseInt(source));
+        } else {
+            Files.copy(Paths.get(source), plain);
+        }
+        long start = System.nanoTime();
+        try (InputStream inputStream = Files.newInputStream(plain); OutputStream outputStream = CompressedStreams.compress(Files.newOutputStream(compressed))) {
+            inputStream.transferTo(outputStream);
+        }
+        long compressMillis = (System.nanoTime() - start) / 1_000_000;
+        long plainSize = Files.size(plain);
+        long compressedSize = Files.size(compressed);
+        System.out.printf("Plain %d KB, compressed %d KB (%.1f%%), compressed in %d ms%n",
+                plainSize / 1024, compressedSize / 1024, compressedSize * 100.0 / plainSize, compressMillis);
+
+        // Alternate both variants, so neither profits from a warmer JIT
+        long plainTotal = 0;
+        long compressedTotal = 0;
+        for (int run = 1; run <= runs; run++) {
+            long plainMillis = parse(plain);
+            long compressedMillis = parse(compressed);
+            System.out.println("Run " + run + ": plain " + plainMillis + " ms, compressed " + compressedMillis + " ms");
+            if (run > 1 || runs == 1) {
+                plainTotal += plainMillis;
+                compressedTotal += compressedMillis;
+            }
+        }
+        int measured = Math.max(1, runs - 1);
+        System.out.printf("Average without the first run: plain %d ms, compressed %d ms%n", plainTotal / measured, compressedTotal / measured);
+
+        Files.delete(plain);
+        Files.delete(compressed);
+        Files.delete(directory);
+    }
+
+    private static long parse(Path path) throws IOException {
+        long start = System.nanoTime();
+        try (InputStream inputStream = CompressedStreams.open(path)) {
+            MappingLoader.readMojang(inputStream);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static String className(int i) {
+        return "net.minecraft.world.level" + (i % 40 == 0 ? "" : ".package" + i % 40) + ".SomeClassName" + i;
+    }
+
+    private static void createMapping(Path path, int classes) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), 1 << 16)) {
+            writer.write("# {\"fileName\":\"server.txt\",\"id\":\"sourceFile\"}\n");
+            for (int i = 0; i < classes; i++) {
+                String next = className((i + 1) % classes);
+                writer.write(className(i) + " -> " + obfuscatedName(i) + ":\n");
+                for (int field = 0; field < 6; field++) {
+                    writer.write("    " + (field % 2 == 0 ? "int" : next) + " someFieldName" + field + " -> " + (char) ('a' + field) + "\n");
+                }
+                int line = 20;
+                for (int method = 0; method < 12; method++) {
+                    writer.write("    " + line + ":" + (line + 9) + ":void someMethodName" + method + "(int," + next + ") -> " + (char) ('a' + method) + "\n");
+                    line += 10;
+                }
+            }
+        }
+    }
+
+    private static String obfuscatedName(int i) {
+        StringBuilder builder = new StringBuilder();
+        do {
+            builder.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return builder.toString();
+    }
+}
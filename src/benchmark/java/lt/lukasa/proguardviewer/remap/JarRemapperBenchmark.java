@@ -0,0 +1,131 @@
+package lt.lukasa.proguardviewer.remap;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.MethodVisitor;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Measures the throughput of {@link JarRemapper} on a generated Spigot-named jar. Every class extends the previous
+ * one, has two mapped fields and two overloads sharing one obfuscated name, and calls into the next class, so member
+ * lookups go through the hierarchy like in a real server jar.
+ * <p>
+ * Run with {@code ./gradlew benchmark [-PbenchmarkArgs="<classes> <runs>"]}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class JarRemapperBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path directory = Files.createTempDirectory("remap-benchmark");
+        Path input = directory.resolve("server.jar");
+        Path output = directory.resolve("server-mojang.jar");
+        MappingSnapshot snapshot = createMappings(classes);
+        createJar(input, classes);
+        System.out.println("Generated " + classes + " classes, " + Files.size(input) / 1024 + " KB");
+
+        for (int run = 1; run <= runs; run++) {
+            JarRemapper.Statistics statistics = new JarRemapper(snapshot).remap(input, output, fraction -> {}, () -> false);
+            System.out.println("Run " + run + ": " + statistics);
+        }
+        JarRemapper.Statistics single = new JarRemapper(snapshot, 1).remap(input, output, fraction -> {}, () -> false);
+        System.out.println("Single threaded: " + single);
+
+        Files.delete(input);
+        Files.delete(output);
+        Files.delete(directory);
+    }
+
+    private static String spigotName(int i) {
+        return "net/minecraft/server/Spigot" + i;
+    }
+
+    private static MappingSnapshot createMappings(int classes) {
+        ObfuscationMapping mojang = new ObfuscationMapping();
+        ObfuscationMapping spigot = new ObfuscationMapping();
+        for (int i = 0; i < classes; i++) {
+            String obfuscated = "c" + i;
+            ObfuscationClassMapping spigotClass = new ObfuscationClassMapping(spigotName(i).replace('/', '.'), obfuscated);
+            spigot.getClassesByRealName().put(spigotClass.getRealName(), spigotClass);
+            spigot.getClassesByObfuscation().put(obfuscated, spigotClass);
+
+            ObfuscationClassMapping mojangClass = new ObfuscationClassMapping("net.minecraft.world.Mojang" + i, obfuscated);
+            mojangClass.getFieldByObfuscation().put("a", "counter" + i);
+            mojangClass.getFieldByObfuscation().put("b", "next" + i);
+            List<ObfuscationMethodMapping> methods = new ArrayList<>();
+            methods.add(new ObfuscationMethodMapping("void", "tick" + i, "a", Collections.singletonList("int")));
+            methods.add(new ObfuscationMethodMapping("void", "tickAll" + i, "a", Collections.emptyList()));
+            mojangClass.getMethodsByObfuscatedName().put("a", methods);
+            mojang.getClassesByRealName().put(mojangClass.getRealName(), mojangClass);
+            mojang.getClassesByObfuscation().put(obfuscated, mojangClass);
+        }
+        return new MappingSnapshot(new Profile("benchmark", Collections.emptyMap()), mojang, spigot);
+    }
+
+    private static void createJar(Path path, int classes) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 20))) {
+            for (int i = 0; i < classes; i++) {
+                String name = spigotName(i);
+                String superName = i == 0 ? "java/lang/Object" : spigotName(i - 1);
+                String next = spigotName((i + 1) % classes);
+                ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+                writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, name, null, superName, null);
+                writer.visitField(Opcodes.ACC_PUBLIC, "a", "I", null, null).visitEnd();
+                writer.visitField(Opcodes.ACC_PUBLIC, "b", "L" + next + ";", null, null).visitEnd();
+
+                MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+                init.visitCode();
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+                init.visitInsn(Opcodes.RETURN);
+                init.visitMaxs(0, 0);
+                init.visitEnd();
+
+                MethodVisitor tick = writer.visitMethod(Opcodes.ACC_PUBLIC, "a", "(I)V", null, null);
+                tick.visitCode();
+                tick.visitVarInsn(Opcodes.ALOAD, 0);
+                tick.visitVarInsn(Opcodes.ILOAD, 1);
+                tick.visitFieldInsn(Opcodes.PUTFIELD, name, "a", "I");
+                tick.visitVarInsn(Opcodes.ALOAD, 0);
+                tick.visitFieldInsn(Opcodes.GETFIELD, name, "b", "L" + next + ";");
+                tick.visitVarInsn(Opcodes.ILOAD, 1);
+                tick.visitMethodInsn(Opcodes.INVOKEVIRTUAL, next, "a", "(I)V", false);
+                tick.visitInsn(Opcodes.RETURN);
+                tick.visitMaxs(0, 0);
+                tick.visitEnd();
+
+                MethodVisitor tickAll = writer.visitMethod(Opcodes.ACC_PUBLIC, "a", "()V", null, null);
+                tickAll.visitCode();
+                tickAll.visitVarInsn(Opcodes.ALOAD, 0);
+                tickAll.visitInsn(Opcodes.ICONST_1);
+                tickAll.visitMethodInsn(Opcodes.INVOKEVIRTUAL, name, "a", "(I)V", false);
+                tickAll.visitInsn(Opcodes.RETURN);
+                tickAll.visitMaxs(0, 0);
+                tickAll.visitEnd();
+
+                writer.visitEnd();
+                out.putNextEntry(new JarEntry(name + ".class"));
+                out.write(writer.toByteArray());
+                out.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package lt.lukasa.proguardviewer.actions;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.unscramble.AnalyzeStacktraceUtil;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.retrace.StackTraceRetracer;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.service.ObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+
+/**
+ * Retraces a pasted crash report or server log with the mappings of the selected profile and opens the result in a
+ * stack trace console.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class AnalyzeMinecraftStackTraceAction extends AnAction {
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        if (service.triggerMappingLoad() != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+            Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Mappings not available", "Select a profile and wait until its mappings have been loaded", NotificationType.WARNING), project);
+            return;
+        }
+        MappingSnapshot snapshot = service.getSnapshotIfPresent();
+        if (snapshot == null) {
+            return;
+        }
+        StackTraceDialog dialog = new StackTraceDialog(project);
+        String clipboard = CopyPasteManager.getInstance().getContents(DataFlavor.stringFlavor);
+        if (clipboard != null) {
+            dialog.text.setText(clipboard);
+        }
+        if (dialog.showAndGet()) {
+            String retraced = new StackTraceRetracer(snapshot).retrace(dialog.text.getText());
+            AnalyzeStacktraceUtil.addConsole(project, null, "Minecraft Stack Trace (" + snapshot.getProfile().getId() + ")", retraced);
+        }
+    }
+
+    static class StackTraceDialog extends DialogWrapper {
+        final JBTextArea text = new JBTextArea(30, 120);
+
+        protected StackTraceDialog(Project project) {
+            super(project, true);
+            setTitle("Analyze Minecraft Stack Trace");
+            init();
+        }
+
+        @Override
+        protected @Nullable JComponent createCenterPanel() {
+            JPanel dialogPanel = new JPanel(new BorderLayout());
+            dialogPanel.add(new JLabel("Paste a crash report or server log:"), BorderLayout.NORTH);
+            dialogPanel.add(new JBScrollPane(text), BorderLayout.CENTER);
+            return dialogPanel;
+        }
+
+        @Override
+        public @Nullable JComponent getPreferredFocusedComponent() {
+            return text;
+        }
+    }
+}
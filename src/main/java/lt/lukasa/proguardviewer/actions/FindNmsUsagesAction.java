@@ -0,0 +1,94 @@
+package lt.lukasa.proguardviewer.actions;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiElement;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usages.Usage;
+import com.intellij.usages.UsageInfo2UsageAdapter;
+import com.intellij.usages.UsageTarget;
+import com.intellij.usages.UsageViewManager;
+import com.intellij.usages.UsageViewPresentation;
+import lt.lukasa.proguardviewer.index.NmsUsageSearcher;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.service.ObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Asks for a Mojang class or member name like {@code net.minecraft.world.entity.Entity#getBoundingBox} and shows
+ * its usages in the Spigot named sources of the project.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class FindNmsUsagesAction extends AnAction {
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        if (service.triggerMappingLoad() != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+            Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Mappings not available", "Select a profile and wait until its mappings have been loaded", NotificationType.WARNING), project);
+            return;
+        }
+        MappingSnapshot snapshot = service.getSnapshotIfPresent();
+        if (snapshot == null) {
+            return;
+        }
+        String query = Messages.showInputDialog(project, "Mojang name of a class or member, e.g. net.minecraft.world.entity.Entity#getBoundingBox:",
+                "Find Usages by Mojang Name", null);
+        if (query == null || query.isBlank()) {
+            return;
+        }
+        query = query.trim();
+        int separator = query.indexOf('#');
+        String className = separator < 0 ? query : query.substring(0, separator);
+        String member = separator < 0 ? null : query.substring(separator + 1);
+        String title = query;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Searching usages of " + title, true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                NmsUsageSearcher searcher = new NmsUsageSearcher(project, snapshot);
+                List<PsiElement> elements = DumbService.getInstance(project).runReadActionInSmartMode(
+                        () -> searcher.findUsages(className, member, indicator));
+                if (elements == null) {
+                    Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Unknown class", className + " is not part of the mappings or not on the classpath", NotificationType.WARNING), project);
+                    return;
+                }
+                Usage[] usages = ReadAction.compute(() -> elements.stream()
+                        .map(element -> new UsageInfo2UsageAdapter(new UsageInfo(element)))
+                        .toArray(Usage[]::new));
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    UsageViewPresentation presentation = new UsageViewPresentation();
+                    presentation.setTabText(title);
+                    presentation.setCodeUsagesString("Usages of " + title);
+                    UsageViewManager.getInstance(project).showUsages(UsageTarget.EMPTY_ARRAY, usages, presentation);
+                }, project.getDisposed());
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package lt.lukasa.proguardviewer.actions;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.analysis.BaseAnalysisAction;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.TimeoutUtil;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.refactoring.MigrateToMojangNamesProcessor;
+import lt.lukasa.proguardviewer.refactoring.MigrationUsageCollector;
+import lt.lukasa.proguardviewer.refactoring.MigrationUsageInfo;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.service.ObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rewrites the references to Spigot and obfuscated names in the chosen scope to their Mojang names, e.g. when moving
+ * a plugin to a Mojang mapped setup. Every file is resolved with the mappings of the profile of its module, which are
+ * all loaded before resolving starts. The files are resolved concurrently, each in a read action of its own, and the
+ * result is shown as the preview of a {@link MigrateToMojangNamesProcessor}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MigrateToMojangNamesAction extends BaseAnalysisAction {
+    private static final long LOAD_POLL_MILLIS = 100;
+
+    public MigrateToMojangNamesAction() {
+        super("Migrate to Mojang Names", "Migration");
+    }
+
+    @Override
+    protected void analyze(@NotNull Project project, @NotNull AnalysisScope scope) {
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Resolving references to migrate", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+                List<VirtualFile> files = new ArrayList<>();
+                Set<Module> modules = new LinkedHashSet<>();
+                ReadAction.run(() -> scope.accept(file -> {
+                    if (file.getFileType() == JavaFileType.INSTANCE && fileIndex.isInSourceContent(file)) {
+                        files.add(file);
+                        modules.add(ModuleUtilCore.findModuleForFile(file, project));
+                    }
+                    return true;
+                }));
+                awaitMappings(service, modules, indicator);
+                indicator.setText("Resolving references to migrate");
+
+                Queue<MigrationUsageInfo> usages = new ConcurrentLinkedQueue<>();
+                AtomicInteger processed = new AtomicInteger();
+                AtomicInteger unavailable = new AtomicInteger();
+                PsiManager psiManager = PsiManager.getInstance(project);
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, file -> {
+                    DumbService.getInstance(project).runReadActionInSmartMode(() -> {
+                        PsiFile psiFile = psiManager.findFile(file);
+                        if (!(psiFile instanceof PsiJavaFile)) {
+                            return;
+                        }
+                        Module module = ModuleUtilCore.findModuleForFile(file, project);
+                        if (service.triggerMappingLoad(module, () -> {}) != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+                            unavailable.incrementAndGet();
+                            return;
+                        }
+                        MappingSnapshot snapshot = service.getSnapshotIfPresent(module);
+                        if (snapshot == null) {
+                            unavailable.incrementAndGet();
+                            return;
+                        }
+                        usages.addAll(new MigrationUsageCollector(snapshot).collect((PsiJavaFile) psiFile));
+                    });
+                    indicator.setFraction((double) processed.incrementAndGet() / files.size());
+                    return true;
+                });
+
+                if (unavailable.get() > 0) {
+                    Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Mappings not available",
+                            unavailable.get() + " files were skipped, the mappings of their modules are disabled or could not be loaded", NotificationType.WARNING), project);
+                }
+                if (usages.isEmpty()) {
+                    Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Nothing to migrate",
+                            "No references to mapped names found in " + scope.getDisplayName(), NotificationType.INFORMATION), project);
+                    return;
+                }
+                List<MigrationUsageInfo> found = new ArrayList<>(usages);
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    MigrateToMojangNamesProcessor processor = new MigrateToMojangNamesProcessor(project, found);
+                    processor.setPreviewUsages(true);
+                    processor.run();
+                }, project.getDisposed());
+            }
+        });
+    }
+
+    /**
+     * Waits until the mappings of every module have been loaded, or have failed to load. All loads are started first,
+     * so the profiles of different modules load side by side. A load which is already pending does not take another
+     * callback, so the service is asked again until it no longer delays.
+     */
+    private static void awaitMappings(IObfuscationMappingService service, Set<Module> modules, ProgressIndicator indicator) {
+        indicator.setText("Loading mappings");
+        for (Module module : modules) {
+            service.triggerMappingLoad(module, () -> {});
+        }
+        for (Module module : modules) {
+            while (service.triggerMappingLoad(module, () -> {}) == IObfuscationMappingService.Result.TASK_DELAYED) {
+                indicator.checkCanceled();
+                TimeoutUtil.sleep(LOAD_POLL_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package lt.lukasa.proguardviewer.actions;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.remap.JarRemapper;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.service.ObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Remaps a Spigot or obfuscated jar to Mojang names and writes the result next to it as {@code <name>-mojang.jar}.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class RemapJarAction extends AnAction {
+    private static final Logger LOG = Logger.getInstance(RemapJarAction.class);
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        if (service.triggerMappingLoad() != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+            Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Mappings not available", "Select a profile and wait until its mappings have been loaded", NotificationType.WARNING), project);
+            return;
+        }
+        MappingSnapshot snapshot = service.getSnapshotIfPresent();
+        if (snapshot == null) {
+            return;
+        }
+        FileChooserDescriptor descriptor = new FileChooserDescriptor(true, false, true, true, false, false)
+                .withTitle("Select Jar to Remap")
+                .withFileFilter(file -> "jar".equalsIgnoreCase(file.getExtension()));
+        VirtualFile file = FileChooser.chooseFile(descriptor, project, null);
+        if (file == null) {
+            return;
+        }
+        Path input = Paths.get(file.getPath());
+        String name = input.getFileName().toString();
+        Path output = input.resolveSibling(name.substring(0, name.length() - ".jar".length()) + "-mojang.jar");
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Remapping " + name, true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                try {
+                    JarRemapper.Statistics statistics = new JarRemapper(snapshot).remap(input, output, indicator::setFraction, indicator::isCanceled);
+                    LocalFileSystem.getInstance().refreshAndFindFileByNioFile(output);
+                    Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Jar remapped", "Wrote " + output.getFileName() + ": " + statistics, NotificationType.INFORMATION), project);
+                } catch (CancellationException ex) {
+                    deleteQuietly(output);
+                } catch (Throwable t) {
+                    deleteQuietly(output);
+                    Notifications.Bus.notify(new Notification(ObfuscationMappingService.GROUP_ID, "Remapping failed", "Remapping of " + name + " failed: " + t.getMessage(), NotificationType.ERROR), project);
+                    LOG.warn(t);
+                }
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception ignored) {
+        }
+    }
+}
@@ -3,6 +3,8 @@ package lt.lukasa.proguardviewer.configurable;
 import com.intellij.codeInsight.hints.InlayHintsProvider;
 import com.intellij.codeInsight.hints.ParameterHintsPassFactory;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.options.ConfigurationException;
 import com.intellij.openapi.project.Project;
@@ -10,23 +12,30 @@ import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.openapi.util.NlsContexts;
 import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.JBIntSpinner;
 import com.intellij.ui.ToolbarDecorator;
 import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.JBTextField;
 import com.intellij.ui.components.labels.BoldLabel;
 import lt.lukasa.proguardviewer.profiles.Profile;
 import lt.lukasa.proguardviewer.profiles.ProfilePreset;
 import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.service.IPresetPrecompiler;
 import lt.lukasa.proguardviewer.service.IProfileManager;
 import lt.lukasa.proguardviewer.service.IProjectSettingsStateService;
+import lt.lukasa.proguardviewer.ui.JModelCheckBox;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.event.ListDataListener;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * @author Lukas Alt
@@ -59,44 +68,9 @@ public class ProjectSettingsConfigurable implements Configurable {
         IProfileManager profileManager = ApplicationManager.getApplication().getService(IProfileManager.class);
 
         List<Profile> elements = profileManager.getAvailableProfiles();
-        ComboBox<Profile> profileSelection = new ComboBox<>(new ComboBoxModel<>() {
-            @Override
-            public void setSelectedItem(Object o) {
-                project.getService(IProjectSettingsStateService.class).setCurrentProjectId(o instanceof Profile ? ((Profile) o).getId() : null);
-                IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
-
-                service.triggerMappingLoad(ParameterHintsPassFactory::forceHintsUpdateOnNextPass);
-
-            }
-
-            @Override
-            public Object getSelectedItem() {
-                String selectedId = project.getService(IProjectSettingsStateService.class).getCurrentProjectId();
-                if (selectedId == null) {
-                    return null;
-                }
-                return profileManager.getAvailableProfiles().stream().filter(a -> a.getId().equals(selectedId)).findFirst().orElse(null);
-            }
-
-
-            @Override
-            public int getSize() {
-                return elements.size() + 1;
-            }
-
-            @Override
-            public Profile getElementAt(int i) {
-                return i == 0 ? null : elements.get(i - 1);
-            }
-
-            @Override
-            public void addListDataListener(ListDataListener listDataListener) {
-            }
-
-            @Override
-            public void removeListDataListener(ListDataListener listDataListener) {
-            }
-        });
+        IProjectSettingsStateService settings = project.getService(IProjectSettingsStateService.class);
+        ComboBox<Profile> profileSelection = new ComboBox<>(new ProfileSelectionModel(profileManager, elements, settings::getCurrentProjectId, settings::setCurrentProjectId));
+        List<ComboBox<Profile>> moduleSelections = new ArrayList<>();
 
         final CollectionListModel<Profile> profileCollectionListModel = new CollectionListModel<>(elements, true);
         JBList<Profile> profileList = new JBList<>(profileCollectionListModel);
@@ -121,6 +95,9 @@ public class ProjectSettingsConfigurable implements Configurable {
                 mappings.put("mojang", dialog.mojangUrl.getText());
                 mappings.put("spigot-classes", dialog.spigotClassUrl.getText());
                 mappings.put("spigot-members", dialog.spigotMemberUrl.getText());
+                if (!dialog.tinyUrl.getText().isEmpty()) {
+                    mappings.put("tiny", dialog.tinyUrl.getText());
+                }
                 String id = dialog.id.getText();
                 if (elements.stream().anyMatch(a -> a.getId().equals(id))) {
                     return;
@@ -128,6 +105,7 @@ public class ProjectSettingsConfigurable implements Configurable {
                 profileManager.addCustomProfile(new Profile(id, mappings));
                 profileList.updateUI();
                 profileSelection.updateUI();
+                moduleSelections.forEach(JComponent::updateUI);
             }
         });
         decorator.setRemoveAction(button -> {
@@ -136,6 +114,7 @@ public class ProjectSettingsConfigurable implements Configurable {
                 profileManager.removeCustomProfile(selected);
                 profileList.updateUI();
                 profileSelection.updateUI();
+                moduleSelections.forEach(JComponent::updateUI);
             }
         });
         panel.add(decorator.createPanel());
@@ -148,6 +127,40 @@ public class ProjectSettingsConfigurable implements Configurable {
             }
         });
         panel.add(profileSelection);
+
+        panel.add(alignLeft(new BoldLabel("Release mappings unused for minutes (0 keeps them):")));
+        JBIntSpinner idleRelease = new JBIntSpinner(settings.getIdleReleaseMinutes(), 0, 24 * 60);
+        idleRelease.addChangeListener(e -> settings.setIdleReleaseMinutes(idleRelease.getNumber()));
+        panel.add(alignLeft(idleRelease));
+
+        IPresetPrecompiler precompiler = ApplicationManager.getApplication().getService(IPresetPrecompiler.class);
+        panel.add(alignLeft(new JModelCheckBox("Prepare preset profiles in the background while the IDE is idle",
+                precompiler::isEnabled, precompiler::setEnabled)));
+        panel.add(alignLeft(new BoldLabel("Most recent presets to prepare (0 prepares all):")));
+        JBIntSpinner presetLimit = new JBIntSpinner(precompiler.getPresetLimit(), 0, 1000);
+        presetLimit.addChangeListener(e -> precompiler.setPresetLimit(presetLimit.getNumber()));
+        panel.add(alignLeft(presetLimit));
+
+        Module[] modules = ModuleManager.getInstance(project).getSortedModules();
+        if (modules.length > 1) {
+            panel.add(alignLeft(new BoldLabel("Module Profiles:")));
+            JPanel modulePanel = new JPanel(new GridLayout(0, 2));
+            for (Module module : modules) {
+                String name = module.getName();
+                ComboBox<Profile> moduleSelection = new ComboBox<>(new ProfileSelectionModel(profileManager, elements,
+                        () -> settings.getModuleProfileIds().get(name), id -> settings.setModuleProfileId(name, id)));
+                moduleSelection.setRenderer(new ListCellRenderer<>() {
+                    @Override
+                    public Component getListCellRendererComponent(JList<? extends Profile> jList, Profile profile, int i, boolean b, boolean b1) {
+                        return profile == null ? new JLabel("Project profile") : (b ? new BoldLabel(profile.getId()) : new JLabel(profile.getId()));
+                    }
+                });
+                modulePanel.add(new JLabel(name));
+                modulePanel.add(moduleSelection);
+                moduleSelections.add(moduleSelection);
+            }
+            panel.add(new JBScrollPane(modulePanel));
+        }
         return panel;
     }
 
@@ -161,11 +174,68 @@ public class ProjectSettingsConfigurable implements Configurable {
 
     }
 
+    /**
+     * The selection of the profile of the project or of one module, where null stands for no profile or the profile
+     * of the project respectively. Every change loads the newly selected profile and releases the ones no longer used.
+     */
+    private class ProfileSelectionModel implements ComboBoxModel<Profile> {
+        private final IProfileManager profileManager;
+        private final List<Profile> elements;
+        private final Supplier<String> selectedId;
+        private final Consumer<String> select;
+
+        ProfileSelectionModel(IProfileManager profileManager, List<Profile> elements, Supplier<String> selectedId, Consumer<String> select) {
+            this.profileManager = profileManager;
+            this.elements = elements;
+            this.selectedId = selectedId;
+            this.select = select;
+        }
+
+        @Override
+        public void setSelectedItem(Object o) {
+            select.accept(o instanceof Profile ? ((Profile) o).getId() : null);
+            IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+            service.releaseUnusedProfiles();
+            service.triggerMappingLoad(ParameterHintsPassFactory::forceHintsUpdateOnNextPass);
+            for (Module module : ModuleManager.getInstance(project).getModules()) {
+                service.triggerMappingLoad(module, ParameterHintsPassFactory::forceHintsUpdateOnNextPass);
+            }
+        }
+
+        @Override
+        public Object getSelectedItem() {
+            String id = selectedId.get();
+            if (id == null) {
+                return null;
+            }
+            return profileManager.getAvailableProfiles().stream().filter(a -> a.getId().equals(id)).findFirst().orElse(null);
+        }
+
+        @Override
+        public int getSize() {
+            return elements.size() + 1;
+        }
+
+        @Override
+        public Profile getElementAt(int i) {
+            return i == 0 ? null : elements.get(i - 1);
+        }
+
+        @Override
+        public void addListDataListener(ListDataListener listDataListener) {
+        }
+
+        @Override
+        public void removeListDataListener(ListDataListener listDataListener) {
+        }
+    }
+
     static class AddCustomProfileDialog extends DialogWrapper {
         final JBTextField id = new JBTextField();
         final JBTextField mojangUrl = new JBTextField();
         final JBTextField spigotClassUrl = new JBTextField();
         final JBTextField spigotMemberUrl = new JBTextField();
+        final JBTextField tinyUrl = new JBTextField();
 
         protected AddCustomProfileDialog() {
             super(true);
@@ -185,6 +255,8 @@ public class ProjectSettingsConfigurable implements Configurable {
             dialogPanel.add(spigotClassUrl);
             dialogPanel.add(new JLabel("Spigot Members Mapping URL (optional)"));
             dialogPanel.add(spigotMemberUrl);
+            dialogPanel.add(new JLabel("Tiny v2 Mapping URL (optional, replaces the mappings above)"));
+            dialogPanel.add(tinyUrl);
 
             return dialogPanel;
         }
@@ -0,0 +1,136 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The HTML added to quick documentation for one snapshot. Every fragment and shortened name is built once and kept in
+ * a bounded LRU map, so hovering the same NMS symbols again only costs a lookup. An empty fragment means the symbol
+ * is not part of the mappings.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class DocumentationFragments {
+    private static final int MAX_NAMES = 4096;
+    private static final int MAX_FRAGMENTS = 1024;
+    private static final String NET_MINECRAFT = "net.minecraft.";
+
+    private final MappingSnapshot snapshot;
+    private final LruCache<String, String> shortNames = new LruCache<>(MAX_NAMES);
+    private final LruCache<String, String> classFragments = new LruCache<>(MAX_FRAGMENTS);
+    private final LruCache<ObfuscationMethodMapping, String> methodFragments = new LruCache<>(MAX_FRAGMENTS);
+    private final LruCache<MemberNameTable.Member, String> memberFragments = new LruCache<>(MAX_FRAGMENTS);
+
+    public DocumentationFragments(MappingSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public MappingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param className the Spigot or obfuscated name of the class
+     * @param mojang    the Mojang class it translates to, or null if it is not mapped
+     * @return the other names of the class
+     */
+    public String getClassFragment(String className, ObfuscationClassMapping mojang) {
+        if (mojang == null) {
+            return "";
+        }
+        return classFragments.computeIfAbsent(className, name -> {
+            StringBuilder builder = new StringBuilder("<b>Mojang:</b> ").append(shorten(mojang.getRealName()));
+            String sourceName = snapshot.getSourceClassName(mojang);
+            if (!sourceName.equals(name)) {
+                builder.append(", <b>Spigot:</b> ").append(shorten(sourceName));
+            }
+            if (!mojang.getObfuscatedName().equals(name)) {
+                builder.append(" (").append(shorten(mojang.getObfuscatedName())).append(')');
+            }
+            return builder.toString();
+        });
+    }
+
+    public String getMethodFragment(ObfuscationMethodMapping method) {
+        return methodFragments.computeIfAbsent(method, key -> {
+            StringBuilder builder = new StringBuilder("<b>Mojang:</b> ")
+                    .append(shorten(method.getReturnType())).append(' ').append(method.getRealName()).append('(');
+            for (int i = 0; i < method.getParameterTypes().size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(shorten(method.getParameterTypes().get(i)));
+            }
+            return builder.append(')').toString();
+        });
+    }
+
+    /**
+     * @return the qualified Mojang name of a member found by its obfuscated name
+     */
+    public String getMemberFragment(MemberNameTable.Member member) {
+        return memberFragments.computeIfAbsent(member, key -> {
+            StringBuilder builder = new StringBuilder(shorten(member.getOwner().getRealName())).append('#').append(member.getName());
+            if (member.isMethod()) {
+                builder.append('(');
+                for (int i = 0; i < member.getMethod().getParameterTypes().size(); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(shorten(member.getMethod().getParameterTypes().get(i)));
+                }
+                builder.append(')');
+            }
+            return builder.toString();
+        });
+    }
+
+    /**
+     * Abbreviates {@code net.minecraft.world.entity.Entity} to {@code n.m.w.entity.Entity}.
+     */
+    String shorten(String name) {
+        if (!name.startsWith(NET_MINECRAFT)) {
+            return name;
+        }
+        return shortNames.computeIfAbsent(name, DocumentationFragments::abbreviate);
+    }
+
+    private static String abbreviate(String name) {
+        int third = NET_MINECRAFT.length();
+        int thirdEnd = name.indexOf('.', third);
+        // Names with less than four segments stay as they are
+        if (thirdEnd <= third) {
+            return name;
+        }
+        return "n.m." + name.charAt(third) + name.substring(thirdEnd);
+    }
+
+    private static final class LruCache<K, V> {
+        private final Map<K, V> map;
+
+        LruCache(int maxSize) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized V computeIfAbsent(K key, Function<K, V> function) {
+            V value = map.get(key);
+            if (value == null) {
+                value = function.apply(key);
+                map.put(key, value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.pom.Navigatable;
+import com.intellij.psi.PsiElement;
+import lt.lukasa.proguardviewer.mappings.MappingSearchIndex;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.util.PsiMappingHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * A class or member of the mappings shown by its Mojang name. The obfuscated element in the server jar is only looked
+ * up when the item is navigated to, so listing many results does not touch the PSI.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingNavigationItem implements NavigationItem {
+    private final Project project;
+    private final MappingSnapshot snapshot;
+    private final MappingSearchIndex.Match match;
+
+    public MappingNavigationItem(Project project, MappingSnapshot snapshot, MappingSearchIndex.Match match) {
+        this.project = project;
+        this.snapshot = snapshot;
+        this.match = match;
+    }
+
+    public MappingSearchIndex.Match getMatch() {
+        return match;
+    }
+
+    @Override
+    public @Nullable String getName() {
+        return match.getName();
+    }
+
+    public Icon getIcon() {
+        switch (match.getKind()) {
+            case FIELD:
+                return AllIcons.Nodes.Field;
+            case METHOD:
+                return AllIcons.Nodes.Method;
+            default:
+                return AllIcons.Nodes.Class;
+        }
+    }
+
+    public String getPresentableText() {
+        if (match.getKind() == MappingSearchIndex.Kind.CLASS) {
+            return match.getName();
+        }
+        String owner = match.getMojangClass().getRealName();
+        String text = owner.substring(owner.lastIndexOf('.') + 1) + "." + match.getName();
+        return match.getKind() == MappingSearchIndex.Kind.METHOD
+                ? text + "(" + String.join(", ", match.getMethod().getParameterTypes()) + ")"
+                : text;
+    }
+
+    /**
+     * @return the Mojang class name, followed by the name in the server jar
+     */
+    public String getLocationString() {
+        String sourceClass = snapshot.getSourceClassName(match.getMojangClass());
+        String sourceName = match.getKind() == MappingSearchIndex.Kind.CLASS ? sourceClass : sourceClass + "." + match.getObfuscatedName();
+        return match.getMojangClass().getRealName() + " (" + sourceName + ")";
+    }
+
+    @Override
+    public @NotNull ItemPresentation getPresentation() {
+        return new ItemPresentation() {
+            @Override
+            public String getPresentableText() {
+                return MappingNavigationItem.this.getPresentableText();
+            }
+
+            @Override
+            public String getLocationString() {
+                return MappingNavigationItem.this.getLocationString();
+            }
+
+            @Override
+            public Icon getIcon(boolean unused) {
+                return MappingNavigationItem.this.getIcon();
+            }
+        };
+    }
+
+    @Override
+    public void navigate(boolean requestFocus) {
+        for (PsiElement element : PsiMappingHelper.findElements(project, snapshot, match)) {
+            if (element instanceof Navigatable && ((Navigatable) element).canNavigate()) {
+                ((Navigatable) element).navigate(requestFocus);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean canNavigate() {
+        return true;
+    }
+
+    @Override
+    public boolean canNavigateToSource() {
+        return true;
+    }
+}
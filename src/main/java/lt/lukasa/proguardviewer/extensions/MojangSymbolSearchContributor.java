@@ -0,0 +1,103 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.util.Processor;
+import lt.lukasa.proguardviewer.mappings.MappingSearchIndex;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * A Search Everywhere tab over the names of the loaded mappings. Unlike Go to Symbol, which matches every name with
+ * the platform matcher, results come ranked straight from the {@link MappingSearchIndex} of the snapshot.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MojangSymbolSearchContributor implements SearchEverywhereContributor<MappingNavigationItem> {
+    private static final int MAX_RESULTS = 200;
+
+    private final Project project;
+
+    public MojangSymbolSearchContributor(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return MojangSymbolSearchContributor.class.getSimpleName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "Mojang Symbols";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 1000;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern, @NotNull ProgressIndicator progressIndicator, @NotNull Processor<? super MappingNavigationItem> consumer) {
+        MappingSnapshot snapshot = ObfuscationSymbolContributor.getSnapshot(project);
+        if (snapshot == null || pattern.isBlank()) {
+            return;
+        }
+        for (MappingSearchIndex.Match match : snapshot.getSearchIndex().search(pattern, MAX_RESULTS)) {
+            progressIndicator.checkCanceled();
+            if (!consumer.process(new MappingNavigationItem(project, snapshot, match))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull MappingNavigationItem selected, int modifiers, @NotNull String searchText) {
+        selected.navigate(true);
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super MappingNavigationItem> getElementsRenderer() {
+        return new ColoredListCellRenderer<MappingNavigationItem>() {
+            @Override
+            protected void customizeCellRenderer(@NotNull JList<? extends MappingNavigationItem> list, MappingNavigationItem value, int index, boolean selected, boolean hasFocus) {
+                setIcon(value.getIcon());
+                append(value.getPresentableText());
+                append(" " + value.getLocationString(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        };
+    }
+
+    @Override
+    public @Nullable Object getDataForItem(@NotNull MappingNavigationItem element, @NotNull String dataId) {
+        return null;
+    }
+
+    public static class Factory implements SearchEverywhereContributorFactory<MappingNavigationItem> {
+        @Override
+        public @NotNull SearchEverywhereContributor<MappingNavigationItem> createContributor(@NotNull AnActionEvent initEvent) {
+            return new MojangSymbolSearchContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.codeInsight.completion.*;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.icons.AllIcons;
+import com.intellij.patterns.PlatformPatterns;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ProcessingContext;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.util.PsiClassMappingCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.stream.Collectors;
+
+/**
+ * Completes members of NMS receivers by their Mojang names. The lookup shows and matches the Mojang name, accepting
+ * it inserts the obfuscated name the server jar actually uses.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ObfuscationCompletionContributor extends CompletionContributor {
+    private static final InsertHandler<LookupElement> OBFUSCATED_NAME_INSERT_HANDLER = (context, item) -> {
+        MemberNameTable.Member member = (MemberNameTable.Member) item.getObject();
+        String text = member.isMethod() ? member.getObfuscatedName() + "()" : member.getObfuscatedName();
+        context.getDocument().replaceString(context.getStartOffset(), context.getTailOffset(), text);
+        int caret = context.getStartOffset() + text.length();
+        if (member.isMethod() && !member.getMethod().getParameterTypes().isEmpty()) {
+            caret--;
+        }
+        context.getEditor().getCaretModel().moveToOffset(caret);
+    };
+
+    public ObfuscationCompletionContributor() {
+        extend(CompletionType.BASIC, PlatformPatterns.psiElement(JavaTokenType.IDENTIFIER).withParent(PsiReferenceExpression.class), new CompletionProvider<>() {
+            @Override
+            protected void addCompletions(@NotNull CompletionParameters parameters, @NotNull ProcessingContext context, @NotNull CompletionResultSet result) {
+                PsiReferenceExpression reference = (PsiReferenceExpression) parameters.getPosition().getParent();
+                PsiClass receiver = getReceiverClass(reference);
+                if (receiver == null) {
+                    return;
+                }
+                MappingSnapshot snapshot = reference.getProject().getService(IObfuscationMappingService.class).getSnapshotFor(reference);
+                if (snapshot == null) {
+                    return;
+                }
+                MemberNameTable members = PsiClassMappingCache.getMemberTable(receiver, snapshot);
+                PrefixMatcher matcher = result.getPrefixMatcher();
+                members.processCandidates(matcher.getPrefix(), member -> {
+                    // Members which are not obfuscated are already offered by the regular completion
+                    if (!member.getName().equals(member.getObfuscatedName()) && matcher.prefixMatches(member.getName())) {
+                        result.addElement(createLookupElement(member));
+                    }
+                    return true;
+                });
+            }
+        });
+    }
+
+    /**
+     * @return the class whose members can follow the reference: the type of the qualifier, the class itself for a
+     * static access, or the enclosing class for an unqualified reference
+     */
+    private static PsiClass getReceiverClass(PsiReferenceExpression reference) {
+        PsiExpression qualifier = reference.getQualifierExpression();
+        if (qualifier == null) {
+            return PsiTreeUtil.getParentOfType(reference, PsiClass.class);
+        }
+        if (qualifier instanceof PsiReferenceExpression) {
+            PsiElement resolved = ((PsiReferenceExpression) qualifier).resolve();
+            if (resolved instanceof PsiClass) {
+                return (PsiClass) resolved;
+            }
+        }
+        PsiType type = qualifier.getType();
+        return type instanceof PsiClassType ? ((PsiClassType) type).resolve() : null;
+    }
+
+    private static LookupElement createLookupElement(MemberNameTable.Member member) {
+        LookupElementBuilder builder = LookupElementBuilder.create(member, member.getName())
+                .withIcon(member.isMethod() ? AllIcons.Nodes.Method : AllIcons.Nodes.Field)
+                .withInsertHandler(OBFUSCATED_NAME_INSERT_HANDLER);
+        ObfuscationMethodMapping method = member.getMethod();
+        if (method != null) {
+            String parameters = method.getParameterTypes().stream().map(ObfuscationCompletionContributor::simpleName).collect(Collectors.joining(", "));
+            builder = builder.withTailText("(" + parameters + ") " + member.getObfuscatedName(), true)
+                    .withTypeText(simpleName(method.getReturnType()));
+        } else {
+            builder = builder.withTailText(" " + member.getObfuscatedName(), true);
+        }
+        return builder;
+    }
+
+    private static String simpleName(String typeName) {
+        return typeName.substring(typeName.lastIndexOf('.') + 1);
+    }
+}
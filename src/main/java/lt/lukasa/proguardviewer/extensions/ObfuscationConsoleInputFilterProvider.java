@@ -0,0 +1,58 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.execution.filters.ConsoleInputFilterProvider;
+import com.intellij.execution.filters.InputFilter;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.retrace.StackTraceRetracer;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rewrites obfuscated and Spigot names in the console output of run configurations, e.g. of a test server started
+ * from the IDE. Output printed before the mappings are loaded starts loading them and is shown as it is, the console
+ * never waits for a download.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ObfuscationConsoleInputFilterProvider implements ConsoleInputFilterProvider {
+
+    @Override
+    public InputFilter @NotNull [] getDefaultFilters(@NotNull Project project) {
+        return new InputFilter[]{new RetraceInputFilter(project)};
+    }
+
+    private static class RetraceInputFilter implements InputFilter {
+        private final Project project;
+
+        RetraceInputFilter(Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public @Nullable List<Pair<String, ConsoleViewContentType>> applyFilter(@NotNull String text, @NotNull ConsoleViewContentType contentType) {
+            if (project.isDisposed()) {
+                return null;
+            }
+            IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+            MappingSnapshot snapshot = service.getSnapshotIfPresent();
+            if (snapshot == null) {
+                // Released or never loaded, output printed once the load is done is retraced
+                service.triggerMappingLoad();
+                return null;
+            }
+            String retraced = snapshot.getCache(StackTraceRetracer.class, StackTraceRetracer::new).retrace(text);
+            if (retraced.equals(text)) {
+                return null;
+            }
+            return Collections.singletonList(Pair.create(retraced, contentType));
+        }
+    }
+}
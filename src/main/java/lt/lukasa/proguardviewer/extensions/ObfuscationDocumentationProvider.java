@@ -1,189 +1,137 @@
 package lt.lukasa.proguardviewer.extensions;
 
 import com.intellij.lang.java.JavaDocumentationProvider;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.psi.*;
-import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
-import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.query.TranslationBatch;
+import lt.lukasa.proguardviewer.query.TranslationResult;
 import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import lt.lukasa.proguardviewer.util.PsiMappingHelper;
+import lt.lukasa.proguardviewer.util.ReflectionMemberResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Lukas Alt
  * @since 12.08.2022
  */
 public class ObfuscationDocumentationProvider extends JavaDocumentationProvider {
+    private static final int MAX_REFLECTION_CANDIDATES = 20;
 
-    private static String shortenNMS(String input) {
-        String[] split = input.split("\\.");
-        if (split.length > 3 && split[0].equals("net") && split[1].equals("minecraft")) {
-            split[0] = "n";
-            split[1] = "m";
-            split[2] = split[2].isEmpty() ? "" : split[2].substring(0, 1);
-        }
-        return String.join(".", split);
-    }
-
-    private static String toHtml(List<String> input) {
-        return "<ul><li>" + String.join("</li><li>", input) + "</li></ul>";
-    }
-
-    public static Optional<ObfuscationMethodMapping> findMatch(List<ObfuscationMethodMapping> candidates, PsiType[] parameterTypes) {
-        return candidates.stream().filter(
-                m -> {
-                    if (m.getParameterTypes().size() != parameterTypes.length) {
-                        return false;
-                    }
-                    for (int i = 0; i < parameterTypes.length; i++) {
-                        String expected = parameterTypes[i].getCanonicalText();
-                        if (!Objects.equals(expected, m.getParameterTypes().get(i))) {
-                            return false;
-                        }
-                    }
-                    return true;
-                }
-        ).findFirst();
-    }
-
-    public static String formatClass(ObfuscationMapping mojang, String input) {
-
-        return mojang.getClassByRealName(input).map(a -> a.getObfuscatedName()).map(a -> shortenNMS(a)).orElse(input);
-    }
-
-    private String formatMethod(ObfuscationMapping mojang, ObfuscationMethodMapping method) {
-
-        return formatClass(mojang, method.getReturnType()) + " " + method.getRealName() + "(" + method.getParameterTypes().stream().map(a -> formatClass(mojang, a)).collect(Collectors.joining(", ")) + ")";
-    }
-
-    private Optional<List<String>> annotateMethod(ObfuscationMapping spigot, ObfuscationMapping mojang, String className, String name, PsiType[] parameterTypes, PsiTypeElement returnTypeElement) {
+    /**
+     * Translates everything shown for the element as one batch: a method, or the type and name of a variable, or a
+     * class.
+     */
+    private List<String> annotate(DocumentationFragments fragments, PsiElement element) {
         List<String> list = new ArrayList<>();
-        spigot.getClassByRealName(className).ifPresent(clazz -> {
-            List<ObfuscationMethodMapping> candidates = clazz.getMethodsByObfuscatedName().get(name);
+        MappingSnapshot snapshot = fragments.getSnapshot();
+        if (element instanceof PsiLiteralExpression) {
+            List<MemberNameTable.Member> candidates = ReflectionMemberResolver.resolve(snapshot, (PsiLiteralExpression) element);
             if (candidates != null && !candidates.isEmpty()) {
-                findMatch(candidates, parameterTypes).map((ObfuscationMethodMapping mapping) -> formatMethod(spigot, mapping)).ifPresent(list::add);
-            }
-        });
-        return list.isEmpty() ? Optional.empty() : Optional.of(collapse(list));
-    }
-
-    private Optional<List<String>> annotateClass(ObfuscationMapping spigot, ObfuscationMapping mojang, String className) {
-        List<String> list = new ArrayList<>();
-        mojang.getClassByObfuscatedName(className).ifPresent(c -> {
-            list.add(shortenNMS(c.getRealName()));
-        });
-        spigot.getClassByObfuscatedName(className).ifPresent(c -> {
-            list.add(shortenNMS(c.getRealName()));
-        });
-        spigot.getClassByRealName(className).ifPresent(c -> {
-            mojang.getClassByObfuscatedName(c.getObfuscatedName()).ifPresentOrElse(cm -> {
-                list.add(shortenNMS(cm.getRealName()));
-                list.add(shortenNMS("(" + c.getObfuscatedName() + ")"));
-            }, () -> shortenNMS("(" + c.getObfuscatedName() + ")"));
-        });
-        return list.isEmpty() ? Optional.empty() : Optional.of(collapse(list));
-    }
-
-    private Optional<List<String>> annotateField(ObfuscationMapping spigot, ObfuscationMapping mojang, String className, String fieldName) {
-        List<String> list = new ArrayList<>();
-        mojang.getClassByObfuscatedName(className).ifPresent(c -> {
-            c.deobfuscateField(fieldName).ifPresent(fd -> {
-                list.add(fd);
-            });
-        });
-        spigot.getClassByObfuscatedName(className).ifPresent(c -> {
-            c.deobfuscateField(fieldName).ifPresent(fd -> {
-                list.add(fd);
-            });
-        });
-        spigot.getClassByRealName(className).ifPresent(c -> {
-            c.obfuscateField(fieldName).ifPresent(fd -> {
-                list.add(fd);
-                mojang.getClassByObfuscatedName(c.getObfuscatedName()).ifPresent(cm -> {
-                    cm.deobfuscateField(fd).ifPresent(mojangUnmapped -> {
-                        list.add(mojangUnmapped);
-                    });
-                });
-            });
-            mojang.getClassByObfuscatedName(c.getObfuscatedName()).ifPresent(cm -> {
-                cm.deobfuscateField(fieldName).ifPresent(mojangUnmapped -> {
-                    list.add(mojangUnmapped);
-                });
-            });
-        });
-        return list.isEmpty() ? Optional.empty() : Optional.of(collapse(list));
-    }
-
-    private static List<String> collapse(List<String> in) {
-        Set<String> track = new HashSet<>();
-        List<String> out = new ArrayList<>();
-        for (String s : in) {
-            if (track.add(s)) {
-                out.add(s);
+                StringBuilder builder = new StringBuilder("<b>Mojang:</b><ul>");
+                for (int i = 0; i < Math.min(candidates.size(), MAX_REFLECTION_CANDIDATES); i++) {
+                    builder.append("<li>").append(fragments.getMemberFragment(candidates.get(i))).append("</li>");
+                }
+                if (candidates.size() > MAX_REFLECTION_CANDIDATES) {
+                    builder.append("<li>").append(candidates.size() - MAX_REFLECTION_CANDIDATES).append(" more</li>");
+                }
+                list.add(builder.append("</ul>").toString());
             }
+            return list;
         }
-        return out;
-    }
-
-    private Optional<List<String>> annotateAsString(ObfuscationMapping spigot, ObfuscationMapping mojang, PsiElement element) {
+        TranslationBatch.Builder batch = TranslationBatch.builder();
+        int method = -1;
+        int type = -1;
+        int field = -1;
+        String typeName = null;
         if (element instanceof PsiMethod) {
-            PsiMethod method = (PsiMethod) element;
-            return annotateMethod(spigot, mojang, method.getContainingClass().getQualifiedName(), method.getName(), method.getHierarchicalMethodSignature().getParameterTypes(), method.getReturnTypeElement());
-        }
-        if (element instanceof PsiVariable) {
+            PsiMethod psiMethod = (PsiMethod) element;
+            method = PsiMappingHelper.addMethodQuery(batch, snapshot, psiMethod.getContainingClass(), psiMethod.getName(), psiMethod.getHierarchicalMethodSignature().getParameterTypes());
+        } else if (element instanceof PsiVariable) {
             PsiVariable variable = (PsiVariable) element;
-            final String fieldType = variable.getType().getCanonicalText();
-
-            final Optional<List<String>> cl = annotateClass(spigot, mojang, fieldType);
-            String targetClass;
-            if (variable.getParent() instanceof PsiClass) {
-                targetClass = ((PsiClass) variable.getParent()).getQualifiedName();
-            } else {
-                targetClass = fieldType;
+            typeName = getClassName(variable.getType());
+            if (typeName != null) {
+                type = batch.addClass(typeName);
             }
-            final Optional<List<String>> fl = annotateField(spigot, mojang, targetClass, variable.getName());
-            if (cl.isPresent() || fl.isPresent()) {
-                String s = "";
-                if (cl.isPresent()) {
-                    s += "<b>Type:</b> " + String.join(", ", cl.get()) + "<br/>";
-                }
-                if (fl.isPresent()) {
-                    s += "<b>Name:</b> " + String.join(", ", fl.get());
+            if (variable instanceof PsiField && ((PsiField) variable).getContainingClass() != null) {
+                String className = ((PsiField) variable).getContainingClass().getQualifiedName();
+                if (className != null) {
+                    field = batch.addField(className, variable.getName());
                 }
-                return Optional.of(List.of(s));
-            } else {
-                return Optional.of(Collections.emptyList());
             }
+        } else if (element instanceof PsiClass) {
+            typeName = ((PsiClass) element).getQualifiedName();
+            if (typeName != null) {
+                type = batch.addClass(typeName);
+            }
+        }
+        if (method < 0 && type < 0 && field < 0) {
+            return list;
+        }
+        TranslationResult result = batch.build().translate(snapshot);
+        if (method >= 0 && result.isMapped(method)) {
+            list.add(fragments.getMethodFragment(result.getMethod(method)));
         }
+        if (type >= 0) {
+            addIfPresent(list, element instanceof PsiClass ? "" : "<b>Type:</b> ", fragments.getClassFragment(typeName, result.getClassMapping(type)));
+        }
+        if (field >= 0 && result.isMapped(field)) {
+            list.add("<b>Name:</b> <b>Mojang:</b> " + result.getName(field));
+        }
+        return list;
+    }
 
-        if (element instanceof PsiClass) {
-            PsiClass variable = (PsiClass) element;
-            final String fieldType = variable.getName();
-            return annotateClass(spigot, mojang, fieldType).map(a -> Collections.singletonList("<b>Names:</b> " + String.join(", ", a)));
+    private static void addIfPresent(List<String> list, String prefix, String fragment) {
+        if (!fragment.isEmpty()) {
+            list.add(prefix + fragment);
         }
+    }
+
+    private static String getClassName(PsiType type) {
+        PsiType component = type.getDeepComponentType();
+        if (component instanceof PsiClassType) {
+            PsiClass psiClass = ((PsiClassType) component).resolve();
+            return psiClass == null ? null : psiClass.getQualifiedName();
+        }
+        return null;
+    }
 
-        return Optional.of(Collections.singletonList("Type: " + element.getClass().getName()));
+    /**
+     * Lets quick documentation show the members a string passed to a reflective lookup may name.
+     */
+    @Override
+    public @Nullable PsiElement getCustomDocumentationElement(@NotNull Editor editor, @NotNull PsiFile file, @Nullable PsiElement contextElement, int targetOffset) {
+        PsiElement custom = super.getCustomDocumentationElement(editor, file, contextElement, targetOffset);
+        if (custom == null && contextElement != null && contextElement.getParent() instanceof PsiLiteralExpression) {
+            PsiLiteralExpression literal = (PsiLiteralExpression) contextElement.getParent();
+            MappingSnapshot snapshot = file.getProject().getService(IObfuscationMappingService.class).getSnapshotIfPresent(ModuleUtilCore.findModuleForFile(file));
+            if (snapshot != null && ReflectionMemberResolver.resolve(snapshot, literal) != null) {
+                return literal;
+            }
+        }
+        return custom;
     }
 
-   /* @Override
+    @Override
     public String generateDoc(PsiElement element, PsiElement originalElement) {
         String superText = super.generateDoc(element, originalElement);
-        IObfuscationMappingService service = element.getProject().getService(IObfuscationMappingService.class);
-        if (!service.triggerMappingLoad()) {
+        // The module of the element the documentation was requested for, not of the library declaring the element
+        PsiElement context = originalElement != null ? originalElement : element;
+        MappingSnapshot snapshot = element.getProject().getService(IObfuscationMappingService.class).getSnapshotFor(context);
+        if (snapshot == null) {
             return superText;
         }
-        ObfuscationMapping spigot = service.getSpigotMappingIfPresent();
-        ObfuscationMapping mojang = service.getMojangMappingIfPresent();
-        if(spigot == null || mojang == null) {
+        List<String> annotationText = annotate(snapshot.getCache(DocumentationFragments.class, DocumentationFragments::new), element);
+        if (annotationText.isEmpty()) {
             return superText;
         }
-        Optional<List<String>> annotationResponse = annotateAsString(spigot, mojang, element);
-        if (annotationResponse.isEmpty()) {
-            return superText;
-        }
-        List<String> annotationText = annotationResponse.get();
-        return superText + "<br/>" + String.join("<br/>", annotationText);
-
-
-    }*/
+        String annotation = String.join("<br/>", annotationText);
+        return superText == null ? annotation : superText + "<br/>" + annotation;
+    }
 }
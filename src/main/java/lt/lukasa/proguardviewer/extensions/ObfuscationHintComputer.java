@@ -0,0 +1,182 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.query.TranslationBatch;
+import lt.lukasa.proguardviewer.query.TranslationResult;
+import lt.lukasa.proguardviewer.util.PsiClassMappingCache;
+import lt.lukasa.proguardviewer.util.PsiMappingHelper;
+import lt.lukasa.proguardviewer.util.ReflectionMemberResolver;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes the Mojang name hints of PSI elements, translating the names of a whole range of elements as one
+ * {@link TranslationBatch}. Kept apart from the {@link com.intellij.codeInsight.hints.InlayHintsCollector}
+ * so hints can also be computed ahead of time by the {@link ViewportHintCache}, outside of a highlighting pass.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ObfuscationHintComputer {
+    private static final int MAX_REFLECTION_CANDIDATES = 3;
+
+    private final ObfuscationInlayParameterHintsProvider.Settings settings;
+    private final MappingSnapshot snapshot;
+
+    public ObfuscationHintComputer(ObfuscationInlayParameterHintsProvider.Settings settings, MappingSnapshot snapshot) {
+        this.settings = settings;
+        this.snapshot = snapshot;
+    }
+
+    public MappingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Computes the hints of all elements with one translation, so every class referenced by them is looked up once.
+     */
+    public void compute(Iterable<? extends PsiElement> elements, HintConsumer consumer) {
+        Requests requests = new Requests();
+        for (PsiElement element : elements) {
+            ProgressManager.checkCanceled();
+            compute(element, requests, consumer);
+        }
+        if (requests.size == 0) {
+            return;
+        }
+        TranslationResult result = requests.batch.build().translate(snapshot);
+        for (int i = 0; i < requests.size; i++) {
+            String name = result.getName(requests.indices[i]);
+            if (name != null) {
+                consumer.addHint(requests.offsets[i], name);
+            }
+        }
+    }
+
+    private void compute(PsiElement element, Requests requests, HintConsumer consumer) {
+        if (element instanceof PsiReference) {
+            if (element instanceof PsiMethodReferenceExpression) {
+                if (settings.enableMethodsReferences) {
+                    processPsiMethodReference((PsiMethodReferenceExpression) element, requests);
+                }
+            } else {
+                PsiElement resolved = ((PsiReference) element).resolve();
+                if (resolved instanceof PsiField && settings.enableFieldReferences) {
+                    processPsiFieldReference((PsiReference) element, (PsiField) resolved, requests);
+                }
+            }
+        } else if (element instanceof PsiMember) {
+            if (element instanceof PsiMethod && !((PsiMethod) element).isConstructor()) {
+                if (element.getParent() instanceof PsiClass && settings.enableMethodsDeclarations) {
+                    processPsiMethodDeclaration((PsiMethod) element, (PsiClass) element.getParent(), requests);
+                }
+            } else if (element instanceof PsiField) {
+                if (element.getParent() instanceof PsiClass && settings.enableFieldDeclarations) {
+                    processPsiFieldDeclaration((PsiField) element, (PsiClass) element.getParent(), requests);
+                }
+            }
+        } else if (element instanceof PsiMethodCallExpression) {
+            if (settings.enableMethodsReferences) {
+                processPsiMethodCall((PsiMethodCallExpression) element, requests);
+            }
+        } else if (element instanceof PsiLiteralExpression) {
+            if (settings.enableReflection) {
+                processReflectionLiteral((PsiLiteralExpression) element, consumer);
+            }
+        }
+    }
+
+    /**
+     * Names the member behind {@code getDeclaredField("b")} and similar lookups. Names shared by too many unrelated
+     * members get no hint.
+     */
+    private void processReflectionLiteral(PsiLiteralExpression literal, HintConsumer consumer) {
+        List<MemberNameTable.Member> candidates = ReflectionMemberResolver.resolve(snapshot, literal);
+        if (candidates == null || candidates.isEmpty()) {
+            return;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (MemberNameTable.Member candidate : candidates) {
+            names.add(candidate.getName());
+            if (names.size() > MAX_REFLECTION_CANDIDATES) {
+                return;
+            }
+        }
+        consumer.addHint(literal.getTextRange().getEndOffset(), String.join("|", names));
+    }
+
+    private void processPsiMethodDeclaration(PsiMethod method, PsiClass enclosingClass, Requests requests) {
+        int index = PsiMappingHelper.addMethodQuery(requests.batch, snapshot, enclosingClass, method.getName(), method.getHierarchicalMethodSignature().getParameterTypes());
+        requests.add((method.getNameIdentifier() != null ? method.getNameIdentifier().getTextOffset() : method.getTextOffset()) + method.getName().length(), index);
+    }
+
+    private void processPsiFieldDeclaration(PsiField field, PsiClass enclosingClass, Requests requests) {
+        PsiClassMappingCache.Entry entry = PsiClassMappingCache.getEntry(enclosingClass, snapshot);
+        if (entry.isMapped()) {
+            requests.add(field.getNameIdentifier().getTextOffset() + field.getName().length(), requests.batch.addField(entry.getQualifiedName(), field.getName()));
+        }
+    }
+
+    private void processPsiMethodReference(PsiMethodReferenceExpression method, Requests requests) {
+        PsiElement resolved = method.resolve();
+        if (resolved instanceof PsiMethod) {
+            PsiMethod resolvedMethod = (PsiMethod) resolved;
+            int index = PsiMappingHelper.addMethodQuery(requests.batch, snapshot, resolvedMethod.getContainingClass(), resolvedMethod.getName(), resolvedMethod.getHierarchicalMethodSignature().getParameterTypes());
+            requests.add(method.getTextOffset() + method.getTextLength(), index);
+        }
+    }
+
+    private void processPsiMethodCall(PsiMethodCallExpression method, Requests requests) {
+        if (method.getMethodExpression().getQualifierExpression() != null && method.getMethodExpression().getReference() != null) {
+            PsiElement resolved = method.getMethodExpression().getReference().resolve();
+            if (resolved instanceof PsiMethod) {
+                PsiMethod resolvedMethod = (PsiMethod) resolved;
+                int index = PsiMappingHelper.addMethodQuery(requests.batch, snapshot, resolvedMethod.getContainingClass(), resolvedMethod.getName(), resolvedMethod.getHierarchicalMethodSignature().getParameterTypes());
+                requests.add(method.getArgumentList().getTextOffset(), index);
+            }
+        }
+    }
+
+    private void processPsiFieldReference(PsiReference element, PsiField referent, Requests requests) {
+        if (referent.getContainingClass() == null) {
+            return;
+        }
+        PsiClassMappingCache.Entry entry = PsiClassMappingCache.getEntry(referent.getContainingClass(), snapshot);
+        if (entry.isMapped()) {
+            requests.add(element.getAbsoluteRange().getStartOffset() + element.getAbsoluteRange().getLength(), requests.batch.addField(entry.getQualifiedName(), referent.getName()));
+        }
+    }
+
+    /**
+     * The hints waiting for the translation of their query: an offset per query index.
+     */
+    private static final class Requests {
+        private final TranslationBatch.Builder batch = TranslationBatch.builder();
+        private int[] offsets = new int[64];
+        private int[] indices = new int[64];
+        private int size;
+
+        void add(int offset, int index) {
+            if (index < 0) {
+                return;
+            }
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            offsets[size] = offset;
+            indices[size] = index;
+            size++;
+        }
+    }
+
+    public interface HintConsumer {
+        void addHint(int offset, String text);
+    }
+}
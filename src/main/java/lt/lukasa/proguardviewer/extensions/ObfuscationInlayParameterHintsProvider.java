@@ -3,17 +3,22 @@ package lt.lukasa.proguardviewer.extensions;
 import com.intellij.codeInsight.hints.*;
 import com.intellij.lang.Language;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.project.Project;
-import com.intellij.psi.*;
-import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SyntaxTraverser;
+import com.intellij.util.containers.JBIterable;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
 import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
 import lt.lukasa.proguardviewer.ui.JModelCheckBox;
-import lt.lukasa.proguardviewer.util.PsiMappingHelper;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.BitSet;
 
 /**
  * @author Lukas Alt
@@ -33,6 +38,8 @@ public class ObfuscationInlayParameterHintsProvider implements InlayHintsProvide
                 panel.add(new JModelCheckBox("Show hints for method references", () -> settings.enableMethodsReferences, b -> settings.enableMethodsReferences = b));
                 panel.add(new JModelCheckBox("Show hints for field declarations", () -> settings.enableFieldDeclarations, b -> settings.enableFieldDeclarations = b));
                 panel.add(new JModelCheckBox("Show hints for field references", () -> settings.enableFieldReferences, b -> settings.enableFieldReferences = b));
+                panel.add(new JModelCheckBox("Show hints for member names in reflection", () -> settings.enableReflection, b -> settings.enableReflection = b));
+                panel.add(new JModelCheckBox("Show hints of the visible area first in large files", () -> settings.viewportFirst, b -> settings.viewportFirst = b));
 
                 return panel;
             }
@@ -50,116 +57,54 @@ public class ObfuscationInlayParameterHintsProvider implements InlayHintsProvide
     @Override
     public InlayHintsCollector getCollectorFor(@NotNull PsiFile psiFile, @NotNull Editor editor, @NotNull ObfuscationInlayParameterHintsProvider.Settings settings, @NotNull InlayHintsSink inlayHintsSink) {
 
+        // Every module may target another Minecraft version
+        Module module = ModuleUtilCore.findModuleForFile(psiFile);
         return new FactoryInlayHintsCollector(editor) {
+            private boolean collected;
+
+            /**
+             * The pass calls this for every element of the file, children before their parents. The first call
+             * computes the hints of the whole file (or of the compute range around the viewport) as one batch, after
+             * which the collector asks not to be called for the remaining elements.
+             */
             @Override
             public boolean collect(@NotNull PsiElement element, @NotNull Editor editor, @NotNull InlayHintsSink inlayHintsSink) {
-                if (!element.isValid()) {
-                    return true;
+                if (collected || !psiFile.isValid()) {
+                    return false;
                 }
+                collected = true;
 
                 IObfuscationMappingService service = psiFile.getProject().getService(IObfuscationMappingService.class);
-                if (service.triggerMappingLoad(ParameterHintsPassFactory::forceHintsUpdateOnNextPass) != IObfuscationMappingService.Result.AVAILABLE_NOW) {
-                    return true;
+                if (service.triggerMappingLoad(module, ParameterHintsPassFactory::forceHintsUpdateOnNextPass) != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+                    return false;
                 }
-                ObfuscationMapping spigot = service.getSpigotMappingIfPresent();
-                ObfuscationMapping mojang = service.getMojangMappingIfPresent();
-                if (spigot == null || mojang == null) {
-                    return true;
+                MappingSnapshot snapshot = service.getSnapshotIfPresent(module);
+                if (snapshot == null) {
+                    return false;
                 }
-                processPsiItem(psiFile.getProject(), settings, spigot, mojang, element, inlayHintsSink);
-                return true;
-            }
-
-            private void processPsiMethodDeclaration(Project project, ObfuscationMapping spigot, ObfuscationMapping mojang, PsiMethod method, PsiClass enclosingClass, @NotNull InlayHintsSink inlayHintsSink) {
-                String resolvedName = PsiMappingHelper.resolveMethod(spigot, mojang, PsiMappingHelper.getTypeForPsiClass(project, enclosingClass), method.getName(), method.getHierarchicalMethodSignature().getParameterTypes());
-                if (resolvedName != null) {
-                    inlayHintsSink.addInlineElement((method.getNameIdentifier() != null ? method.getNameIdentifier().getTextOffset() : method.getTextOffset()) + method.getName().length(), true, getFactory().text(resolvedName), false);
-                }
-            }
-
-            private void processPsiFieldDeclaration(ObfuscationMapping spigot, ObfuscationMapping mojang, PsiField field, PsiClass enclosingClass, @NotNull InlayHintsSink inlayHintsSink) {
-                String obfName = spigot.getClassByRealName(enclosingClass.getQualifiedName()).map(a -> a.getObfuscatedName()).orElse(enclosingClass.getQualifiedName());
-                mojang.getClassByObfuscatedName(obfName).ifPresent(mojangMapped -> {
-                    String fieldName = mojangMapped.getFieldByObfuscation().get(field.getName());
-                    if (fieldName != null) {
-                        inlayHintsSink.addInlineElement(field.getNameIdentifier().getTextOffset() + field.getName().length(), true, getFactory().text(fieldName), false);
-                    }
-                });
-            }
-
-            private void processPsiMethodReference(Project project, ObfuscationMapping spigot, ObfuscationMapping mojang, PsiMethodReferenceExpression method, @NotNull InlayHintsSink inlayHintsSink) {
-                PsiElement resolved = method.resolve();
-                if (resolved != null) {
-                    if (resolved instanceof PsiMethod) {
-                        PsiMethod resolvedMethod = (PsiMethod) resolved;
-                        String resolvedName = PsiMappingHelper.resolveMethod(spigot, mojang, PsiMappingHelper.getTypeForPsiClass(project, resolvedMethod.getContainingClass()), resolvedMethod.getName(), resolvedMethod.getHierarchicalMethodSignature().getParameterTypes());
-
-                        if (resolvedName != null) {
-                            inlayHintsSink.addInlineElement(method.getTextOffset() + method.getTextLength(), true, getFactory().text(resolvedName), false);
-                        }
-                    }
+                ObfuscationHintComputer computer = new ObfuscationHintComputer(settings, snapshot);
+                ObfuscationHintComputer.HintConsumer consumer = (offset, text) -> inlayHintsSink.addInlineElement(offset, true, getFactory().text(text), false);
+                JBIterable<PsiElement> elements;
+                if (settings.viewportFirst && editor.getDocument().getTextLength() >= ViewportHintCache.MIN_DOCUMENT_LENGTH) {
+                    ViewportHintCache cache = ViewportHintCache.getInstance(editor);
+                    ViewportHintCache.State viewportState = cache.getState(snapshot, settings.fingerprint());
+                    BitSet emittedChunks = viewportState.emitFinished(consumer);
+                    TextRange computeRange = cache.getComputeRange();
+                    cache.scheduleFill(psiFile, viewportState, computer);
+                    // Subtrees outside of the range are not entered, so only the elements around the viewport are visited
+                    elements = SyntaxTraverser.psiTraverser(psiFile)
+                            .expand(child -> child.getTextRange().intersects(computeRange))
+                            .traverse()
+                            .filter(child -> {
+                                int offset = child.getTextRange().getStartOffset();
+                                return !viewportState.isEmitted(emittedChunks, offset) && computeRange.containsOffset(offset);
+                            });
+                } else {
+                    elements = SyntaxTraverser.psiTraverser(psiFile).traverse();
                 }
+                computer.compute(elements, consumer);
+                return false;
             }
-
-            private void processPsiMethodCall(Project project, ObfuscationMapping spigot, ObfuscationMapping mojang, PsiMethodCallExpression method, @NotNull InlayHintsSink inlayHintsSink) {
-
-                if (method.getMethodExpression().getQualifierExpression() != null) {
-                    if (method.getMethodExpression().getReference() != null) {
-                        PsiElement resolved = method.getMethodExpression().getReference().resolve();
-                        if (resolved instanceof PsiMethod) {
-                            PsiMethod resolvedMethod = (PsiMethod) resolved;
-                            String resolvedName = PsiMappingHelper.resolveMethod(spigot, mojang, PsiMappingHelper.getTypeForPsiClass(project, resolvedMethod.getContainingClass()), resolvedMethod.getName(), resolvedMethod.getHierarchicalMethodSignature().getParameterTypes());
-                            if (resolvedName != null) {
-                                inlayHintsSink.addInlineElement(method.getArgumentList().getTextOffset(), true, getFactory().text(resolvedName), false);
-                            }
-                        }
-                    }
-                }
-            }
-
-
-            private void processPsiFieldReference(ObfuscationMapping spigot, ObfuscationMapping mojang, PsiReference element, PsiField referent, @NotNull InlayHintsSink inlayHintsSink) {
-                if (referent.getContainingClass() == null) {
-                    return;
-                }
-                String obfName = spigot.getClassByRealName(referent.getContainingClass().getQualifiedName()).map(a -> a.getObfuscatedName()).orElse(referent.getContainingClass().getQualifiedName());
-                mojang.getClassByObfuscatedName(obfName).ifPresent(mojangMapped -> {
-                    String fieldName = mojangMapped.getFieldByObfuscation().get(referent.getName());
-                    if (fieldName != null) {
-                        inlayHintsSink.addInlineElement(element.getAbsoluteRange().getStartOffset() + element.getAbsoluteRange().getLength(), true, getFactory().text(fieldName), false);
-                    }
-                });
-            }
-
-            private void processPsiItem(Project project, Settings settings, ObfuscationMapping spigot, ObfuscationMapping mojang, PsiElement element, @NotNull InlayHintsSink inlayHintsSink) {
-                if (element instanceof PsiReference) {
-                    if (element instanceof PsiMethodReferenceExpression) {
-                        if (settings.enableMethodsReferences) {
-                            processPsiMethodReference(project, spigot, mojang, (PsiMethodReferenceExpression) element, inlayHintsSink);
-                        }
-                    } else {
-                        PsiElement resolved = ((PsiReference) element).resolve();
-                        if (resolved instanceof PsiField && settings.enableFieldReferences) {
-                            processPsiFieldReference(spigot, mojang, (PsiReference) element, (PsiField) resolved, inlayHintsSink);
-                        }
-                    }
-                } else if (element instanceof PsiMember) {
-                    if (element instanceof PsiMethod && !((PsiMethod) element).isConstructor()) {
-                        if (element.getParent() instanceof PsiClass && settings.enableMethodsDeclarations) {
-                            processPsiMethodDeclaration(project, spigot, mojang, (PsiMethod) element, (PsiClass) element.getParent(), inlayHintsSink);
-                        }
-                    } else if (element instanceof PsiField) {
-                        if (element.getParent() instanceof PsiClass && settings.enableFieldDeclarations) {
-                            processPsiFieldDeclaration(spigot, mojang, (PsiField) element, (PsiClass) element.getParent(), inlayHintsSink);
-                        }
-                    }
-                } else if (element instanceof PsiMethodCallExpression) {
-                    if (settings.enableMethodsReferences) {
-                        processPsiMethodCall(project, spigot, mojang, (PsiMethodCallExpression) element, inlayHintsSink);
-                    }
-                }
-            }
-
         };
     }
 
@@ -174,6 +119,15 @@ public class ObfuscationInlayParameterHintsProvider implements InlayHintsProvide
         public boolean enableMethodsDeclarations = true;
         public boolean enableFieldDeclarations = true;
         public boolean enableFieldReferences = true;
+        public boolean enableReflection = true;
+        public boolean viewportFirst = true;
+
+        /**
+         * @return a value which changes whenever a setting affecting the computed hints changes
+         */
+        int fingerprint() {
+            return (enableMethodsReferences ? 1 : 0) | (enableMethodsDeclarations ? 2 : 0) | (enableFieldDeclarations ? 4 : 0) | (enableFieldReferences ? 8 : 0) | (enableReflection ? 16 : 0);
+        }
     }
 
 
@@ -0,0 +1,57 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import lt.lukasa.proguardviewer.mappings.MappingSearchIndex;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Offers the Mojang names of all NMS classes and members, and the Spigot names of the classes, in Go to Symbol.
+ * Choosing one opens the obfuscated element in the server jar.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ObfuscationSymbolContributor implements ChooseByNameContributorEx {
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor, @NotNull GlobalSearchScope scope, @Nullable IdFilter filter) {
+        MappingSnapshot snapshot = getSnapshot(scope.getProject());
+        if (snapshot != null) {
+            snapshot.getSearchIndex().processNames(processor::process);
+        }
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name, @NotNull Processor<? super NavigationItem> processor, @NotNull FindSymbolParameters parameters) {
+        Project project = parameters.getProject();
+        MappingSnapshot snapshot = getSnapshot(project);
+        if (snapshot == null) {
+            return;
+        }
+        for (MappingSearchIndex.Match match : snapshot.getSearchIndex().findExact(name)) {
+            if (!processor.process(new MappingNavigationItem(project, snapshot, match))) {
+                return;
+            }
+        }
+    }
+
+    static @Nullable MappingSnapshot getSnapshot(@Nullable Project project) {
+        if (project == null) {
+            return null;
+        }
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        if (service.triggerMappingLoad() != IObfuscationMappingService.Result.AVAILABLE_NOW) {
+            return null;
+        }
+        return service.getSnapshotIfPresent();
+    }
+}
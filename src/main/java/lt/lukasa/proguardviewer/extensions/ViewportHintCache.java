@@ -0,0 +1,220 @@
+package lt.lukasa.proguardviewer.extensions;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.codeInsight.hints.ParameterHintsPassFactory;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.LogicalPosition;
+import com.intellij.openapi.editor.ex.util.EditorUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SyntaxTraverser;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+
+import java.awt.*;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lets the hints pass of a large file only compute the hints around the visible area of the editor, so the time until
+ * the first hints appear does not grow with the file. The rest of the file is computed afterwards in chunks by a
+ * background read action, which restarts the pass once it is done; that pass takes the finished chunks from here.
+ * <p>
+ * Chunks are only valid for one document modification stamp, any edit starts over with the visible area.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ViewportHintCache {
+    public static final int MIN_DOCUMENT_LENGTH = 20_000;
+    private static final int CHUNK_SIZE = 4096;
+    private static final int FALLBACK_VISIBLE_LINES = 100;
+    private static final Key<ViewportHintCache> KEY = Key.create("lt.lukasa.proguardviewer.viewportHints");
+
+    private final Editor editor;
+    private volatile TextRange visibleRange;
+    private volatile State state;
+
+    private ViewportHintCache(Editor editor) {
+        this.editor = editor;
+    }
+
+    public static ViewportHintCache getInstance(Editor editor) {
+        synchronized (KEY) {
+            ViewportHintCache cache = editor.getUserData(KEY);
+            if (cache == null) {
+                cache = new ViewportHintCache(editor);
+                editor.putUserData(KEY, cache);
+                ViewportHintCache created = cache;
+                ApplicationManager.getApplication().invokeLater(created::trackVisibleArea, ModalityState.any());
+            }
+            return cache;
+        }
+    }
+
+    private void trackVisibleArea() {
+        if (editor.isDisposed()) {
+            return;
+        }
+        Disposable disposable = Disposer.newDisposable();
+        EditorUtil.disposeWithEditor(editor, disposable);
+        editor.getScrollingModel().addVisibleAreaListener(e -> visibleRange = calculateVisibleRange(), disposable);
+        visibleRange = calculateVisibleRange();
+    }
+
+    private TextRange calculateVisibleRange() {
+        Rectangle area = editor.getScrollingModel().getVisibleArea();
+        int start = editor.logicalPositionToOffset(editor.xyToLogicalPosition(new Point(area.x, area.y)));
+        LogicalPosition end = editor.xyToLogicalPosition(new Point(area.x + area.width, area.y + area.height));
+        int endOffset = editor.logicalPositionToOffset(new LogicalPosition(end.line + 1, 0));
+        return new TextRange(start, Math.max(start, endOffset));
+    }
+
+    /**
+     * @return the range the pass has to compute itself: the visible area extended by half its height in both
+     * directions, or the lines around the caret until the visible area is known
+     */
+    public TextRange getComputeRange() {
+        Document document = editor.getDocument();
+        TextRange visible = visibleRange;
+        if (visible == null) {
+            int line = document.getLineNumber(Math.min(editor.getCaretModel().getOffset(), document.getTextLength()));
+            int startLine = Math.max(0, line - FALLBACK_VISIBLE_LINES);
+            int endLine = Math.min(document.getLineCount() - 1, line + FALLBACK_VISIBLE_LINES);
+            return new TextRange(document.getLineStartOffset(startLine), document.getLineEndOffset(endLine));
+        }
+        int margin = visible.getLength() / 2;
+        return new TextRange(Math.max(0, visible.getStartOffset() - margin), Math.min(document.getTextLength(), visible.getEndOffset() + margin));
+    }
+
+    /**
+     * @return the chunks computed for the current document and snapshot, or a fresh state if either changed
+     */
+    public State getState(MappingSnapshot snapshot, int settingsKey) {
+        long stamp = editor.getDocument().getModificationStamp();
+        State state = this.state;
+        if (state == null || state.stamp != stamp || state.snapshot.get() != snapshot || state.settingsKey != settingsKey) {
+            state = new State(stamp, snapshot, settingsKey, editor.getDocument().getTextLength() / CHUNK_SIZE + 1);
+            this.state = state;
+        }
+        return state;
+    }
+
+    /**
+     * Computes all missing chunks of the state in the background, unless that has already been started.
+     */
+    public void scheduleFill(PsiFile file, State state, ObfuscationHintComputer computer) {
+        if (!state.fillScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        ReadAction.nonBlocking(() -> fill(file, state, computer))
+                .expireWhen(() -> editor.isDisposed() || editor.getDocument().getModificationStamp() != state.stamp)
+                .finishOnUiThread(ModalityState.any(), computedAny -> {
+                    if (computedAny && file.isValid()) {
+                        ParameterHintsPassFactory.forceHintsUpdateOnNextPass();
+                        DaemonCodeAnalyzer.getInstance(file.getProject()).restart(file);
+                    }
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Elements are visited in pre-order, so their start offsets never decrease and every chunk is complete once the
+     * first element of the next chunk is reached. Each chunk is translated as one batch. A restarted read action
+     * skips the chunks it already finished.
+     */
+    private static boolean fill(PsiFile file, State state, ObfuscationHintComputer computer) {
+        boolean computedAny = false;
+        int currentChunk = -1;
+        List<PsiElement> elements = new ArrayList<>();
+        for (PsiElement element : SyntaxTraverser.psiTraverser(file)) {
+            ProgressManager.checkCanceled();
+            int chunk = state.chunkOf(element.getTextRange().getStartOffset());
+            if (chunk != currentChunk) {
+                computedAny |= finishChunk(state, currentChunk, elements, computer);
+                currentChunk = chunk;
+                elements.clear();
+            }
+            if (state.chunks.get(chunk) == null) {
+                elements.add(element);
+            }
+        }
+        computedAny |= finishChunk(state, currentChunk, elements, computer);
+        return computedAny;
+    }
+
+    private static boolean finishChunk(State state, int chunk, List<PsiElement> elements, ObfuscationHintComputer computer) {
+        if (chunk < 0 || state.chunks.get(chunk) != null) {
+            return false;
+        }
+        List<Hint> hints = new ArrayList<>();
+        computer.compute(elements, (offset, text) -> hints.add(new Hint(offset, text)));
+        state.chunks.set(chunk, hints.toArray(new Hint[0]));
+        return true;
+    }
+
+    public static final class State {
+        private final long stamp;
+        private final WeakReference<MappingSnapshot> snapshot;
+        private final int settingsKey;
+        private final AtomicReferenceArray<Hint[]> chunks;
+        private final AtomicBoolean fillScheduled = new AtomicBoolean();
+
+        private State(long stamp, MappingSnapshot snapshot, int settingsKey, int chunkCount) {
+            this.stamp = stamp;
+            this.snapshot = new WeakReference<>(snapshot);
+            this.settingsKey = settingsKey;
+            this.chunks = new AtomicReferenceArray<>(chunkCount);
+        }
+
+        private int chunkOf(int offset) {
+            return Math.min(offset / CHUNK_SIZE, chunks.length() - 1);
+        }
+
+        /**
+         * Passes the hints of all finished chunks to the consumer.
+         *
+         * @return the chunks which were emitted, elements inside of them must not be computed again
+         */
+        public BitSet emitFinished(ObfuscationHintComputer.HintConsumer consumer) {
+            BitSet emitted = new BitSet(chunks.length());
+            for (int i = 0; i < chunks.length(); i++) {
+                Hint[] hints = chunks.get(i);
+                if (hints != null) {
+                    for (Hint hint : hints) {
+                        consumer.addHint(hint.offset, hint.text);
+                    }
+                    emitted.set(i);
+                }
+            }
+            return emitted;
+        }
+
+        public boolean isEmitted(BitSet emitted, int offset) {
+            return emitted.get(chunkOf(offset));
+        }
+    }
+
+    private static final class Hint {
+        private final int offset;
+        private final String text;
+
+        Hint(int offset, String text) {
+            this.offset = offset;
+            this.text = text;
+        }
+    }
+}
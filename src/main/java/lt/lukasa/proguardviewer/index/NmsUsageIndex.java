@@ -0,0 +1,147 @@
+package lt.lukasa.proguardviewer.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.java.JavaParserDefinition;
+import com.intellij.lexer.Lexer;
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.impl.source.tree.ElementType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes the names through which a Java file may reference NMS code: the qualified names of imported and fully
+ * qualified classes, {@code package.*} for star imports and {@code #name} for every member that is called or
+ * accessed through a qualifier. The keys are the names as they are written in the source, so the index does not
+ * depend on the selected profile and never has to be rebuilt when the mappings change;
+ * {@link NmsUsageSearcher} translates a Mojang name into these keys and checks the candidates with PSI.
+ * <p>
+ * Files are only lexed, which keeps indexing as cheap as the platform's own identifier index.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class NmsUsageIndex extends ScalarIndexExtension<String> {
+    public static final ID<String, Void> NAME = ID.create("lt.lukasa.proguardviewer.NmsUsageIndex");
+    public static final String MEMBER_PREFIX = "#";
+    public static final String STAR_IMPORT_SUFFIX = ".*";
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, Void> keys = new HashMap<>();
+            collectKeys(inputData.getContentAsText(), keys);
+            return keys;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    private static void collectKeys(CharSequence text, Map<String, Void> keys) {
+        Lexer lexer = JavaParserDefinition.createLexer(LanguageLevel.HIGHEST);
+        lexer.start(text);
+
+        StringBuilder importName = null;
+        boolean staticImport = false;
+        // Dotted identifiers outside of imports, e.g. net.minecraft.world.entity.Entity.class
+        StringBuilder chain = new StringBuilder();
+        boolean packageChain = false;
+        IElementType previous = null;
+        int previousStart = 0;
+        int previousEnd = 0;
+
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            if (ElementType.JAVA_COMMENT_OR_WHITESPACE_BIT_SET.contains(type)) {
+                continue;
+            }
+            int start = lexer.getTokenStart();
+            int end = lexer.getTokenEnd();
+
+            if (importName != null) {
+                if (type == JavaTokenType.STATIC_KEYWORD) {
+                    staticImport = true;
+                } else if (type == JavaTokenType.SEMICOLON) {
+                    addImport(importName.toString(), staticImport, keys);
+                    importName = null;
+                } else {
+                    importName.append(text, start, end);
+                }
+            } else if (type == JavaTokenType.IMPORT_KEYWORD) {
+                importName = new StringBuilder();
+                staticImport = false;
+            } else if (type == JavaTokenType.IDENTIFIER) {
+                if (previous == JavaTokenType.DOT || previous == JavaTokenType.DOUBLE_COLON) {
+                    keys.put(MEMBER_PREFIX + text.subSequence(start, end), null);
+                }
+                if (previous == JavaTokenType.DOT && chain.length() > 0) {
+                    chain.append('.').append(text, start, end);
+                    if (packageChain && Character.isUpperCase(text.charAt(start))) {
+                        keys.put(chain.toString(), null);
+                    }
+                } else {
+                    chain.setLength(0);
+                    chain.append(text, start, end);
+                    packageChain = Character.isLowerCase(text.charAt(start));
+                }
+            } else if (type == JavaTokenType.LPARENTH && previous == JavaTokenType.IDENTIFIER) {
+                // Unqualified calls, e.g. of methods inherited from an NMS superclass
+                keys.put(MEMBER_PREFIX + text.subSequence(previousStart, previousEnd), null);
+            } else if (type != JavaTokenType.DOT) {
+                chain.setLength(0);
+            }
+            previous = type;
+            previousStart = start;
+            previousEnd = end;
+        }
+    }
+
+    private static void addImport(String name, boolean staticImport, Map<String, Void> keys) {
+        if (!staticImport) {
+            keys.put(name, null);
+            return;
+        }
+        int lastDot = name.lastIndexOf('.');
+        if (lastDot < 0) {
+            return;
+        }
+        String member = name.substring(lastDot + 1);
+        keys.put(name.substring(0, lastDot), null);
+        if (!member.equals("*")) {
+            keys.put(MEMBER_PREFIX + member, null);
+        }
+    }
+}
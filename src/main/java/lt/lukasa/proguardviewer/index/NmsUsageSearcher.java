@@ -0,0 +1,145 @@
+package lt.lukasa.proguardviewer.index;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.util.PsiMappingHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds references to an NMS class or member given by its Mojang name, e.g.
+ * {@code net.minecraft.world.entity.Entity#getBoundingBox}. The name is translated into the Spigot or obfuscated
+ * names used in the sources, the {@link NmsUsageIndex} narrows the search down to the files mentioning one of them
+ * and only those files are resolved to drop unrelated members that happen to share an obfuscated name.
+ * <p>
+ * Must be called inside a read action.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class NmsUsageSearcher {
+    private final Project project;
+    private final MappingSnapshot snapshot;
+
+    public NmsUsageSearcher(Project project, MappingSnapshot snapshot) {
+        this.project = project;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @param member the Mojang name of a field or method, or null to search for the class itself
+     * @return the referencing elements, or null if the class is not part of the mappings or not on the classpath
+     */
+    public @Nullable List<PsiElement> findUsages(String mojangClassName, @Nullable String member, ProgressIndicator indicator) {
+        ObfuscationClassMapping mojangClass = snapshot.getMojang().getClassesByRealName().get(mojangClassName);
+        if (mojangClass == null) {
+            return null;
+        }
+        PsiClass target = JavaPsiFacade.getInstance(project).findClass(snapshot.getSourceClassName(mojangClass), GlobalSearchScope.allScope(project));
+        if (target == null) {
+            return null;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        Set<String> memberNames = new HashSet<>();
+        Set<String> fieldNames = new HashSet<>();
+        if (member == null) {
+            for (PsiClass psiClass = target; psiClass != null; psiClass = psiClass.getContainingClass()) {
+                String qualifiedName = psiClass.getQualifiedName();
+                if (qualifiedName != null) {
+                    keys.add(qualifiedName);
+                }
+            }
+            String packageName = ((PsiJavaFile) target.getContainingFile()).getPackageName();
+            keys.add(packageName + NmsUsageIndex.STAR_IMPORT_SUFFIX);
+        } else {
+            List<ObfuscationMethodMapping> methods = mojangClass.getMethodsByRealName().get(member);
+            if (methods != null) {
+                for (ObfuscationMethodMapping method : methods) {
+                    memberNames.add(method.getObfuscatedName());
+                }
+            }
+            mojangClass.obfuscateField(member).ifPresent(field -> {
+                memberNames.add(field);
+                fieldNames.add(field);
+            });
+            for (String name : memberNames) {
+                keys.add(NmsUsageIndex.MEMBER_PREFIX + name);
+            }
+        }
+
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        for (String key : keys) {
+            files.addAll(FileBasedIndex.getInstance().getContainingFiles(NmsUsageIndex.NAME, key, scope));
+        }
+
+        List<PsiElement> usages = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        int processed = 0;
+        for (VirtualFile file : files) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) processed++ / files.size());
+            PsiFile psiFile = psiManager.findFile(file);
+            if (!(psiFile instanceof PsiJavaFile)) {
+                continue;
+            }
+            psiFile.accept(new JavaRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitReferenceElement(PsiJavaCodeReferenceElement reference) {
+                    super.visitReferenceElement(reference);
+                    String name = reference.getReferenceName();
+                    if (name == null) {
+                        return;
+                    }
+                    if (member == null) {
+                        if (name.equals(target.getName()) && psiManager.areElementsEquivalent(reference.resolve(), target)) {
+                            usages.add(reference);
+                        }
+                    } else if (reference instanceof PsiReferenceExpression && memberNames.contains(name)
+                            && isUsageOfMember(reference.resolve(), name, member, fieldNames, target)) {
+                        usages.add(reference);
+                    }
+                }
+            });
+        }
+        return usages;
+    }
+
+    private boolean isUsageOfMember(PsiElement resolved, String name, String member, Set<String> fieldNames, PsiClass target) {
+        if (!(resolved instanceof PsiMember)) {
+            return false;
+        }
+        PsiClass owner = ((PsiMember) resolved).getContainingClass();
+        if (owner == null || !InheritanceUtil.isInheritorOrSelf(owner, target, true)) {
+            return false;
+        }
+        if (resolved instanceof PsiField) {
+            return fieldNames.contains(name);
+        }
+        if (resolved instanceof PsiMethod) {
+            PsiMethod method = (PsiMethod) resolved;
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            PsiType[] parameterTypes = new PsiType[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                parameterTypes[i] = parameters[i].getType();
+            }
+            // Overloads sharing the obfuscated name may have different Mojang names
+            return member.equals(PsiMappingHelper.resolveMethod(snapshot, owner, name, parameterTypes));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.extapi.psi.PsiFileBase;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingFile extends PsiFileBase {
+    public MappingFile(@NotNull FileViewProvider viewProvider) {
+        super(viewProvider, MappingLanguage.INSTANCE);
+    }
+
+    /**
+     * @return the class blocks of the current text, built on first use after each modification
+     */
+    public MappingOutline getOutline() {
+        return CachedValuesManager.getCachedValue(this, () -> CachedValueProvider.Result.create(MappingOutline.build(getViewProvider().getContents()), this));
+    }
+
+    @Override
+    public @NotNull FileType getFileType() {
+        return MappingFileType.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "Mapping file";
+    }
+}
@@ -0,0 +1,39 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingFileType extends LanguageFileType {
+    public static final MappingFileType INSTANCE = new MappingFileType();
+
+    private MappingFileType() {
+        super(MappingLanguage.INSTANCE);
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "Minecraft Mapping";
+    }
+
+    @Override
+    public @NotNull String getDescription() {
+        return "ProGuard or CSRG mapping";
+    }
+
+    @Override
+    public @NotNull String getDefaultExtension() {
+        return "csrg";
+    }
+
+    @Override
+    public Icon getIcon() {
+        return AllIcons.FileTypes.Text;
+    }
+}
@@ -0,0 +1,24 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lang.Language;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.FileViewProviderFactory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.SingleRootFileViewProvider;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Mojang's mappings are larger than the size up to which the IDE creates PSI for a file, so without this they would
+ * open as plain text. The flat PSI of mapping files is no more expensive than plain text, the limit is lifted for them.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingFileViewProviderFactory implements FileViewProviderFactory {
+    @Override
+    public @NotNull FileViewProvider createFileViewProvider(@NotNull VirtualFile file, Language language, @NotNull PsiManager manager, boolean eventSystemEnabled) {
+        SingleRootFileViewProvider.doNotCheckFileSizeLimit(file);
+        return new SingleRootFileViewProvider(manager, file, eventSystemEnabled, MappingLanguage.INSTANCE);
+    }
+}
@@ -0,0 +1,51 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.folding.FoldingBuilderEx;
+import com.intellij.lang.folding.FoldingDescriptor;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds the member lines of every class block, leaving the header line visible.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingFoldingBuilder extends FoldingBuilderEx implements DumbAware {
+    @Override
+    public FoldingDescriptor @NotNull [] buildFoldRegions(@NotNull PsiElement root, @NotNull Document document, boolean quick) {
+        if (!(root instanceof MappingFile)) {
+            return FoldingDescriptor.EMPTY;
+        }
+        MappingOutline outline = ((MappingFile) root).getOutline();
+        ASTNode node = root.getNode();
+        List<FoldingDescriptor> descriptors = new ArrayList<>(outline.size());
+        for (int block = 0; block < outline.size(); block++) {
+            int start = outline.getHeaderEnd(block);
+            int end = outline.getEndOffset(block);
+            if (end > start && end <= document.getTextLength()) {
+                int members = outline.getMemberCount(block);
+                descriptors.add(new FoldingDescriptor(node, new TextRange(start, end), null, " " + members + (members == 1 ? " member" : " members")));
+            }
+        }
+        return descriptors.toArray(FoldingDescriptor.EMPTY);
+    }
+
+    @Override
+    public @Nullable String getPlaceholderText(@NotNull ASTNode node) {
+        return "...";
+    }
+
+    @Override
+    public boolean isCollapsedByDefault(@NotNull ASTNode node) {
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lang.Language;
+
+/**
+ * ProGuard and CSRG mapping files.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingLanguage extends Language {
+    public static final MappingLanguage INSTANCE = new MappingLanguage();
+
+    private MappingLanguage() {
+        super("MinecraftMapping");
+    }
+}
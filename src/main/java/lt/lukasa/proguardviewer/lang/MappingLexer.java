@@ -0,0 +1,230 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Lexes mapping files one line at a time. Every line is tokenized on its own when its first token is reached, and only
+ * the first token of a line has the initial state, so the editor highlighter restarts lexing at the start of the
+ * edited line and stops as soon as the following lines produce the same tokens again.
+ * <p>
+ * Lines containing {@code ->} are ProGuard lines: unindented ones are class headers, indented ones members. All other
+ * lines are CSRG lines, which are told apart by their number of columns.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingLexer extends LexerBase {
+    private static final int LINE_START = 0;
+    private static final int IN_LINE = 1;
+
+    private static final IElementType[] CSRG_CLASS = {MappingTokenTypes.OBFUSCATED_NAME, MappingTokenTypes.CLASS_NAME};
+    private static final IElementType[] CSRG_FIELD = {MappingTokenTypes.CLASS_NAME, MappingTokenTypes.OBFUSCATED_NAME, MappingTokenTypes.MEMBER_NAME};
+    private static final IElementType[] CSRG_METHOD = {MappingTokenTypes.CLASS_NAME, MappingTokenTypes.OBFUSCATED_NAME, MappingTokenTypes.TYPE, MappingTokenTypes.MEMBER_NAME};
+
+    private CharSequence buffer;
+    private int bufferEnd;
+    private int tokenStart;
+    private int tokenEnd;
+    private IElementType tokenType;
+    private int state;
+
+    // Tokens of the current line
+    private IElementType[] lineTypes = new IElementType[32];
+    private int[] lineEnds = new int[32];
+    private int lineTokens;
+    private int lineIndex;
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+        this.buffer = buffer;
+        this.bufferEnd = endOffset;
+        this.tokenEnd = startOffset;
+        this.lineTokens = 0;
+        this.lineIndex = 0;
+        // Lexing only restarts at line starts, a different state is treated the same
+        advance();
+    }
+
+    @Override
+    public int getState() {
+        return state;
+    }
+
+    @Override
+    public @NotNull CharSequence getBufferSequence() {
+        return buffer;
+    }
+
+    @Override
+    public int getBufferEnd() {
+        return bufferEnd;
+    }
+
+    @Override
+    public IElementType getTokenType() {
+        return tokenType;
+    }
+
+    @Override
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    @Override
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    @Override
+    public void advance() {
+        tokenStart = tokenEnd;
+        if (tokenStart >= bufferEnd) {
+            tokenType = null;
+            return;
+        }
+        state = IN_LINE;
+        if (lineIndex == lineTokens) {
+            lexLine(tokenStart);
+            state = LINE_START;
+        }
+        tokenType = lineTypes[lineIndex];
+        tokenEnd = lineEnds[lineIndex];
+        lineIndex++;
+    }
+
+    private void lexLine(int start) {
+        lineTokens = 0;
+        lineIndex = 0;
+        int lineEnd = start;
+        while (lineEnd < bufferEnd && buffer.charAt(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        int position = skipSpaces(start, lineEnd);
+        add(TokenType.WHITE_SPACE, position);
+        boolean indented = position > start;
+        if (position < lineEnd && buffer.charAt(position) == '#') {
+            add(MappingTokenTypes.COMMENT, lineEnd);
+        } else if (containsArrow(position, lineEnd)) {
+            lexProguard(position, lineEnd, indented);
+        } else {
+            lexCsrg(position, lineEnd);
+        }
+        add(TokenType.WHITE_SPACE, Math.min(lineEnd + 1, bufferEnd));
+    }
+
+    private void lexProguard(int position, int lineEnd, boolean indented) {
+        boolean afterArrow = false;
+        boolean inParameters = false;
+        while (position < lineEnd) {
+            char c = buffer.charAt(position);
+            if (isSpace(c)) {
+                position = skipSpaces(position, lineEnd);
+                add(TokenType.WHITE_SPACE, position);
+            } else if (isArrow(position, lineEnd)) {
+                position += 2;
+                add(MappingTokenTypes.ARROW, position);
+                afterArrow = true;
+            } else if (c == ':' || c == '(' || c == ')' || c == ',') {
+                inParameters = c == '(' || (inParameters && c == ',');
+                add(MappingTokenTypes.PUNCTUATION, ++position);
+            } else {
+                int wordEnd = position;
+                boolean digits = true;
+                while (wordEnd < lineEnd && !isSeparator(buffer.charAt(wordEnd)) && !isArrow(wordEnd, lineEnd)) {
+                    digits &= Character.isDigit(buffer.charAt(wordEnd));
+                    wordEnd++;
+                }
+                IElementType type;
+                if (digits) {
+                    type = MappingTokenTypes.NUMBER;
+                } else if (afterArrow) {
+                    type = MappingTokenTypes.OBFUSCATED_NAME;
+                } else if (!indented) {
+                    type = MappingTokenTypes.CLASS_NAME;
+                } else if (inParameters) {
+                    type = MappingTokenTypes.TYPE;
+                } else {
+                    int next = skipSpaces(wordEnd, lineEnd);
+                    type = next < lineEnd && (buffer.charAt(next) == '(' || isArrow(next, lineEnd)) ? MappingTokenTypes.MEMBER_NAME : MappingTokenTypes.TYPE;
+                }
+                add(type, wordEnd);
+                position = wordEnd;
+            }
+        }
+    }
+
+    private void lexCsrg(int position, int lineEnd) {
+        int columns = 0;
+        for (int i = position; i < lineEnd; columns++) {
+            i = skipSpaces(wordEnd(i, lineEnd), lineEnd);
+        }
+        IElementType[] types = columns == 2 ? CSRG_CLASS : columns == 3 ? CSRG_FIELD : columns == 4 ? CSRG_METHOD : null;
+        for (int column = 0; position < lineEnd; column++) {
+            int wordEnd = wordEnd(position, lineEnd);
+            add(types == null ? MappingTokenTypes.TYPE : types[column], wordEnd);
+            position = skipSpaces(wordEnd, lineEnd);
+            add(TokenType.WHITE_SPACE, position);
+        }
+    }
+
+    /**
+     * Appends a token ending at the given offset. Empty tokens are dropped, adjacent white space is merged.
+     */
+    private void add(IElementType type, int end) {
+        int start = lineTokens == 0 ? tokenStart : lineEnds[lineTokens - 1];
+        if (end <= start) {
+            return;
+        }
+        if (type == TokenType.WHITE_SPACE && lineTokens > 0 && lineTypes[lineTokens - 1] == TokenType.WHITE_SPACE) {
+            lineEnds[lineTokens - 1] = end;
+            return;
+        }
+        if (lineTokens == lineTypes.length) {
+            lineTypes = Arrays.copyOf(lineTypes, lineTokens * 2);
+            lineEnds = Arrays.copyOf(lineEnds, lineTokens * 2);
+        }
+        lineTypes[lineTokens] = type;
+        lineEnds[lineTokens] = end;
+        lineTokens++;
+    }
+
+    private boolean containsArrow(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isArrow(i, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isArrow(int position, int lineEnd) {
+        return position + 1 < lineEnd && buffer.charAt(position) == '-' && buffer.charAt(position + 1) == '>';
+    }
+
+    private int skipSpaces(int from, int to) {
+        while (from < to && isSpace(buffer.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private int wordEnd(int from, int to) {
+        while (from < to && !isSpace(buffer.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static boolean isSeparator(char c) {
+        return isSpace(c) || c == ':' || c == '(' || c == ')' || c == ',';
+    }
+}
@@ -0,0 +1,259 @@
+package lt.lukasa.proguardviewer.lang;
+
+import java.util.Arrays;
+
+/**
+ * The offsets of all class blocks of a ProGuard or CSRG mapping file, found by one pass over the text without creating
+ * any strings. A ProGuard block is a class header followed by all indented lines, the same rule the parser's
+ * {@code processClass} uses. In a CSRG member file consecutive lines of the same owner form a block, a CSRG class line
+ * is a block without members.
+ * <p>
+ * Names are only cut out of the text when a block is shown, so the outline of a file with tens of thousands of classes
+ * consists of a few int arrays.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public final class MappingOutline {
+    private static final String ARROW = "->";
+
+    private final CharSequence text;
+    // Per block: the name, the alternative name (obfuscated name or -1), the end of the header line, the start of the
+    // first member line, the end of the last line and the number of member lines
+    private int[] nameStarts = new int[64];
+    private int[] nameEnds = new int[64];
+    private int[] alternativeStarts = new int[64];
+    private int[] alternativeEnds = new int[64];
+    private int[] headerEnds = new int[64];
+    private int[] memberStarts = new int[64];
+    private int[] blockEnds = new int[64];
+    private int[] memberCounts = new int[64];
+    private int size;
+
+    private MappingOutline(CharSequence text) {
+        this.text = text;
+    }
+
+    public static MappingOutline build(CharSequence text) {
+        MappingOutline outline = new MappingOutline(text);
+        outline.scan();
+        return outline;
+    }
+
+    private void scan() {
+        int length = text.length();
+        // -1 if no block is open, 0 for a ProGuard block, 1 for a CSRG block
+        int open = -1;
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineEnd(lineStart);
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd == lineStart) {
+                lineStart = lineEnd + 1;
+                continue;
+            }
+            char first = text.charAt(lineStart);
+            if (first == ' ' || first == '\t') {
+                if (open == 0 && !isComment(lineStart, contentEnd)) {
+                    extend(contentEnd);
+                }
+            } else if (first == '#') {
+                open = -1;
+            } else {
+                int arrow = indexOf(ARROW, lineStart, contentEnd);
+                if (arrow >= 0) {
+                    open = -1;
+                    if (text.charAt(contentEnd - 1) == ':') {
+                        add(lineStart, trimEnd(lineStart, arrow), skipSpaces(arrow + ARROW.length(), contentEnd), contentEnd - 1, contentEnd, lineEnd + 1);
+                        open = 0;
+                    }
+                } else {
+                    int firstEnd = wordEnd(lineStart, contentEnd);
+                    int secondStart = skipSpaces(firstEnd, contentEnd);
+                    int secondEnd = wordEnd(secondStart, contentEnd);
+                    if (secondStart == contentEnd) {
+                        open = -1;
+                    } else if (secondEnd == contentEnd) {
+                        // obfuscated name and class name
+                        add(secondStart, secondEnd, lineStart, firstEnd, contentEnd, contentEnd);
+                        open = -1;
+                    } else {
+                        if (open != 1 || !sameOwner(nameStarts[size - 1], nameEnds[size - 1], lineStart, firstEnd)) {
+                            add(lineStart, firstEnd, -1, -1, contentEnd, lineStart);
+                            open = 1;
+                        }
+                        extend(contentEnd);
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void add(int nameStart, int nameEnd, int alternativeStart, int alternativeEnd, int headerEnd, int memberStart) {
+        if (size == nameStarts.length) {
+            int capacity = size * 2;
+            nameStarts = Arrays.copyOf(nameStarts, capacity);
+            nameEnds = Arrays.copyOf(nameEnds, capacity);
+            alternativeStarts = Arrays.copyOf(alternativeStarts, capacity);
+            alternativeEnds = Arrays.copyOf(alternativeEnds, capacity);
+            headerEnds = Arrays.copyOf(headerEnds, capacity);
+            memberStarts = Arrays.copyOf(memberStarts, capacity);
+            blockEnds = Arrays.copyOf(blockEnds, capacity);
+            memberCounts = Arrays.copyOf(memberCounts, capacity);
+        }
+        nameStarts[size] = nameStart;
+        nameEnds[size] = nameEnd;
+        alternativeStarts[size] = alternativeStart;
+        alternativeEnds[size] = alternativeEnd;
+        headerEnds[size] = headerEnd;
+        memberStarts[size] = memberStart;
+        blockEnds[size] = headerEnd;
+        size++;
+    }
+
+    private void extend(int lineContentEnd) {
+        blockEnds[size - 1] = lineContentEnd;
+        memberCounts[size - 1]++;
+    }
+
+    private int lineEnd(int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private boolean isComment(int lineStart, int contentEnd) {
+        int start = skipSpaces(lineStart, contentEnd);
+        return start < contentEnd && text.charAt(start) == '#';
+    }
+
+    private int indexOf(String needle, int from, int to) {
+        for (int i = from; i <= to - needle.length(); i++) {
+            if (text.charAt(i) == needle.charAt(0) && text.charAt(i + 1) == needle.charAt(1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int skipSpaces(int from, int to) {
+        while (from < to && (text.charAt(from) == ' ' || text.charAt(from) == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private int trimEnd(int from, int to) {
+        while (to > from && (text.charAt(to - 1) == ' ' || text.charAt(to - 1) == '\t')) {
+            to--;
+        }
+        return to;
+    }
+
+    private int wordEnd(int from, int to) {
+        while (from < to && text.charAt(from) != ' ' && text.charAt(from) != '\t') {
+            from++;
+        }
+        return from;
+    }
+
+    private boolean sameOwner(int start, int end, int otherStart, int otherEnd) {
+        if (end - start != otherEnd - otherStart) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (text.charAt(start + i) != text.charAt(otherStart + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public CharSequence getText() {
+        return text;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the Mojang or Spigot name of a block
+     */
+    public String getName(int block) {
+        return text.subSequence(nameStarts[block], nameEnds[block]).toString();
+    }
+
+    /**
+     * @return the obfuscated name of a class, or null for a CSRG member block
+     */
+    public String getAlternativeName(int block) {
+        return alternativeStarts[block] < 0 ? null : text.subSequence(alternativeStarts[block], alternativeEnds[block]).toString();
+    }
+
+    public int getStartOffset(int block) {
+        return Math.min(nameStarts[block], alternativeStarts[block] < 0 ? nameStarts[block] : alternativeStarts[block]);
+    }
+
+    public int getHeaderEnd(int block) {
+        return headerEnds[block];
+    }
+
+    public int getMemberStart(int block) {
+        return memberStarts[block];
+    }
+
+    public int getEndOffset(int block) {
+        return blockEnds[block];
+    }
+
+    public int getMemberCount(int block) {
+        return memberCounts[block];
+    }
+
+    /**
+     * @return the block containing the offset, or -1
+     */
+    public int findBlock(int offset) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (getStartOffset(middle) > offset) {
+                high = middle - 1;
+            } else if (blockEnds[middle] < offset) {
+                low = middle + 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits the member lines of a block. Comment lines are skipped.
+     *
+     * @return the start and end offset of each member line, trimmed
+     */
+    public int[] getMemberLines(int block) {
+        int[] lines = new int[memberCounts[block] * 2];
+        int count = 0;
+        int lineStart = memberStarts[block];
+        int end = blockEnds[block];
+        while (lineStart < end && count < lines.length) {
+            int lineEnd = Math.min(lineEnd(lineStart), end);
+            int contentStart = skipSpaces(lineStart, lineEnd);
+            int contentEnd = trimEnd(contentStart, lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd);
+            if (contentEnd > contentStart && text.charAt(contentStart) != '#') {
+                lines[count++] = contentStart;
+                lines[count++] = contentEnd;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return count == lines.length ? lines : Arrays.copyOf(lines, count);
+    }
+}
@@ -0,0 +1,75 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lang.ASTFactory;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiParser;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IFileElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the PSI of mapping files flat: the file consists of one leaf holding the whole text, like plain text files.
+ * Folding and the structure view work on the {@link MappingOutline} instead, so even files with hundreds of thousands
+ * of lines cost no more memory than their text.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingParserDefinition implements ParserDefinition {
+    public static final IFileElementType FILE = new IFileElementType(MappingLanguage.INSTANCE) {
+        @Override
+        public ASTNode parseContents(@NotNull ASTNode chameleon) {
+            return ASTFactory.leaf(MappingTokenTypes.TEXT, chameleon.getChars());
+        }
+    };
+
+    @Override
+    public @NotNull Lexer createLexer(Project project) {
+        return new MappingLexer();
+    }
+
+    @Override
+    public @NotNull PsiParser createParser(Project project) {
+        // Never used, the file element type creates its contents itself
+        return (root, builder) -> {
+            PsiBuilder.Marker marker = builder.mark();
+            while (!builder.eof()) {
+                builder.advanceLexer();
+            }
+            marker.done(root);
+            return builder.getTreeBuilt();
+        };
+    }
+
+    @Override
+    public @NotNull IFileElementType getFileNodeType() {
+        return FILE;
+    }
+
+    @Override
+    public @NotNull TokenSet getCommentTokens() {
+        return MappingTokenTypes.COMMENTS;
+    }
+
+    @Override
+    public @NotNull TokenSet getStringLiteralElements() {
+        return TokenSet.EMPTY;
+    }
+
+    @Override
+    public @NotNull PsiElement createElement(ASTNode node) {
+        throw new UnsupportedOperationException("Unexpected element " + node.getElementType());
+    }
+
+    @Override
+    public @NotNull PsiFile createFile(@NotNull FileViewProvider viewProvider) {
+        return new MappingFile(viewProvider);
+    }
+}
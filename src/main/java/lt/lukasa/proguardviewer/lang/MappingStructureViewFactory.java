@@ -0,0 +1,34 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.ide.structureView.StructureViewBuilder;
+import com.intellij.ide.structureView.StructureViewModel;
+import com.intellij.ide.structureView.TreeBasedStructureViewBuilder;
+import com.intellij.lang.PsiStructureViewFactory;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingStructureViewFactory implements PsiStructureViewFactory {
+    @Override
+    public @Nullable StructureViewBuilder getStructureViewBuilder(@NotNull PsiFile psiFile) {
+        if (!(psiFile instanceof MappingFile)) {
+            return null;
+        }
+        return new TreeBasedStructureViewBuilder() {
+            @Override
+            public @NotNull StructureViewModel createStructureViewModel(@Nullable Editor editor) {
+                return new MappingStructureViewModel((MappingFile) psiFile, editor);
+            }
+
+            @Override
+            public boolean isRootNodeShown() {
+                return false;
+            }
+        };
+    }
+}
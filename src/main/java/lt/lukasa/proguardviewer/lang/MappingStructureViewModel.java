@@ -0,0 +1,259 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.ide.structureView.StructureViewModel;
+import com.intellij.ide.structureView.StructureViewModelBase;
+import com.intellij.ide.structureView.StructureViewTreeElement;
+import com.intellij.ide.util.treeView.smartTree.SortableTreeElement;
+import com.intellij.ide.util.treeView.smartTree.Sorter;
+import com.intellij.ide.util.treeView.smartTree.TreeElement;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The classes of a mapping file and their members. Class nodes are created from the {@link MappingOutline} without
+ * reading the text, the member lines of a class are only split when the class is expanded.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingStructureViewModel extends StructureViewModelBase implements StructureViewModel.ElementInfoProvider {
+    private final MappingFile file;
+
+    public MappingStructureViewModel(@NotNull MappingFile file, @Nullable Editor editor) {
+        super(file, editor, new FileElement(file));
+        this.file = file;
+    }
+
+    @Override
+    public Sorter @NotNull [] getSorters() {
+        return new Sorter[]{Sorter.ALPHA_SORTER};
+    }
+
+    /**
+     * @return the start offset of the class block at the caret, which is the value of its node
+     */
+    @Override
+    public @Nullable Object getCurrentEditorElement() {
+        Editor editor = getEditor();
+        if (editor == null) {
+            return null;
+        }
+        MappingOutline outline = file.getOutline();
+        int block = outline.findBlock(editor.getCaretModel().getOffset());
+        return block < 0 ? null : outline.getStartOffset(block);
+    }
+
+    @Override
+    public boolean isAlwaysShowsPlus(StructureViewTreeElement element) {
+        return element instanceof ClassElement && ((ClassElement) element).hasMembers();
+    }
+
+    @Override
+    public boolean isAlwaysLeaf(StructureViewTreeElement element) {
+        return element instanceof MemberElement || (element instanceof ClassElement && !((ClassElement) element).hasMembers());
+    }
+
+    private static void navigate(MappingFile file, int offset, boolean requestFocus) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile != null) {
+            new OpenFileDescriptor(file.getProject(), virtualFile, Math.min(offset, file.getTextLength())).navigate(requestFocus);
+        }
+    }
+
+    private static final class FileElement implements StructureViewTreeElement {
+        private final MappingFile file;
+
+        FileElement(MappingFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public Object getValue() {
+            return file;
+        }
+
+        @Override
+        public @NotNull ItemPresentation getPresentation() {
+            return new PresentationData(file.getName(), null, AllIcons.FileTypes.Text, null);
+        }
+
+        @Override
+        public TreeElement @NotNull [] getChildren() {
+            MappingOutline outline = file.getOutline();
+            TreeElement[] children = new TreeElement[outline.size()];
+            for (int block = 0; block < children.length; block++) {
+                children[block] = new ClassElement(file, outline, block);
+            }
+            return children;
+        }
+
+        @Override
+        public void navigate(boolean requestFocus) {
+            file.navigate(requestFocus);
+        }
+
+        @Override
+        public boolean canNavigate() {
+            return file.canNavigate();
+        }
+
+        @Override
+        public boolean canNavigateToSource() {
+            return file.canNavigateToSource();
+        }
+    }
+
+    private static final class ClassElement implements StructureViewTreeElement, SortableTreeElement {
+        private final MappingFile file;
+        private final MappingOutline outline;
+        private final int block;
+
+        ClassElement(MappingFile file, MappingOutline outline, int block) {
+            this.file = file;
+            this.outline = outline;
+            this.block = block;
+        }
+
+        boolean hasMembers() {
+            return outline.getMemberCount(block) > 0;
+        }
+
+        @Override
+        public Object getValue() {
+            return outline.getStartOffset(block);
+        }
+
+        @Override
+        public @NotNull String getAlphaSortKey() {
+            return outline.getName(block);
+        }
+
+        @Override
+        public @NotNull ItemPresentation getPresentation() {
+            return new PresentationData(outline.getName(block), outline.getAlternativeName(block), AllIcons.Nodes.Class, null);
+        }
+
+        @Override
+        public TreeElement @NotNull [] getChildren() {
+            int[] lines = outline.getMemberLines(block);
+            TreeElement[] children = new TreeElement[lines.length / 2];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = new MemberElement(file, lines[i * 2], outline.getText().subSequence(lines[i * 2], lines[i * 2 + 1]).toString());
+            }
+            return children;
+        }
+
+        @Override
+        public void navigate(boolean requestFocus) {
+            MappingStructureViewModel.navigate(file, outline.getStartOffset(block), requestFocus);
+        }
+
+        @Override
+        public boolean canNavigate() {
+            return true;
+        }
+
+        @Override
+        public boolean canNavigateToSource() {
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ClassElement && ((ClassElement) o).getValue().equals(getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getValue().hashCode();
+        }
+    }
+
+    private static final class MemberElement implements StructureViewTreeElement, SortableTreeElement {
+        private final MappingFile file;
+        private final int offset;
+        private final String name;
+        private final String obfuscatedName;
+        private final boolean method;
+
+        /**
+         * Splits a ProGuard member line ({@code 1:2:void tick(int) -> a}) or a CSRG member line
+         * ({@code net/minecraft/Owner a (I)V tick}) into its names.
+         */
+        MemberElement(MappingFile file, int offset, String line) {
+            this.file = file;
+            this.offset = offset;
+            int arrow = line.indexOf("->");
+            if (arrow >= 0) {
+                String declaration = line.substring(0, arrow).trim();
+                // Drop the line numbers in front of and behind the declaration
+                int parenthesis = declaration.lastIndexOf(')');
+                if (parenthesis >= 0) {
+                    declaration = declaration.substring(0, parenthesis + 1);
+                }
+                while (!declaration.isEmpty() && Character.isDigit(declaration.charAt(0)) && declaration.indexOf(':') >= 0) {
+                    declaration = declaration.substring(declaration.indexOf(':') + 1);
+                }
+                this.name = declaration;
+                this.obfuscatedName = line.substring(arrow + 2).trim();
+                this.method = parenthesis >= 0;
+            } else {
+                String[] columns = line.split("\\s+");
+                this.method = columns.length >= 4;
+                this.name = method ? columns[3] + columns[2] : columns[columns.length - 1];
+                this.obfuscatedName = columns.length >= 3 ? columns[1] : null;
+            }
+        }
+
+        @Override
+        public Object getValue() {
+            return offset;
+        }
+
+        @Override
+        public @NotNull String getAlphaSortKey() {
+            return name;
+        }
+
+        @Override
+        public @NotNull ItemPresentation getPresentation() {
+            return new PresentationData(name, obfuscatedName, method ? AllIcons.Nodes.Method : AllIcons.Nodes.Field, null);
+        }
+
+        @Override
+        public TreeElement @NotNull [] getChildren() {
+            return EMPTY_ARRAY;
+        }
+
+        @Override
+        public void navigate(boolean requestFocus) {
+            MappingStructureViewModel.navigate(file, offset, requestFocus);
+        }
+
+        @Override
+        public boolean canNavigate() {
+            return true;
+        }
+
+        @Override
+        public boolean canNavigateToSource() {
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MemberElement && ((MemberElement) o).offset == offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return offset;
+        }
+    }
+}
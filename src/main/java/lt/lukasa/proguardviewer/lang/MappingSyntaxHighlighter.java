@@ -0,0 +1,51 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileTypes.SingleLazyInstanceSyntaxHighlighterFactory;
+import com.intellij.openapi.fileTypes.SyntaxHighlighter;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingSyntaxHighlighter extends SyntaxHighlighterBase {
+    private static final Map<IElementType, TextAttributesKey[]> KEYS = new HashMap<>();
+
+    static {
+        KEYS.put(MappingTokenTypes.COMMENT, pack(createTextAttributesKey("MINECRAFT_MAPPING_COMMENT", DefaultLanguageHighlighterColors.LINE_COMMENT)));
+        KEYS.put(MappingTokenTypes.CLASS_NAME, pack(createTextAttributesKey("MINECRAFT_MAPPING_CLASS_NAME", DefaultLanguageHighlighterColors.CLASS_NAME)));
+        KEYS.put(MappingTokenTypes.MEMBER_NAME, pack(createTextAttributesKey("MINECRAFT_MAPPING_MEMBER_NAME", DefaultLanguageHighlighterColors.FUNCTION_DECLARATION)));
+        KEYS.put(MappingTokenTypes.OBFUSCATED_NAME, pack(createTextAttributesKey("MINECRAFT_MAPPING_OBFUSCATED_NAME", DefaultLanguageHighlighterColors.METADATA)));
+        KEYS.put(MappingTokenTypes.TYPE, pack(createTextAttributesKey("MINECRAFT_MAPPING_TYPE", DefaultLanguageHighlighterColors.CLASS_REFERENCE)));
+        KEYS.put(MappingTokenTypes.NUMBER, pack(createTextAttributesKey("MINECRAFT_MAPPING_NUMBER", DefaultLanguageHighlighterColors.NUMBER)));
+        KEYS.put(MappingTokenTypes.ARROW, pack(createTextAttributesKey("MINECRAFT_MAPPING_ARROW", DefaultLanguageHighlighterColors.OPERATION_SIGN)));
+        KEYS.put(MappingTokenTypes.PUNCTUATION, pack(createTextAttributesKey("MINECRAFT_MAPPING_PUNCTUATION", DefaultLanguageHighlighterColors.COMMA)));
+    }
+
+    @Override
+    public @NotNull Lexer getHighlightingLexer() {
+        return new MappingLexer();
+    }
+
+    @Override
+    public TextAttributesKey @NotNull [] getTokenHighlights(IElementType tokenType) {
+        return KEYS.getOrDefault(tokenType, TextAttributesKey.EMPTY_ARRAY);
+    }
+
+    public static class Factory extends SingleLazyInstanceSyntaxHighlighterFactory {
+        @Override
+        protected @NotNull SyntaxHighlighter createHighlighter() {
+            return new MappingSyntaxHighlighter();
+        }
+    }
+}
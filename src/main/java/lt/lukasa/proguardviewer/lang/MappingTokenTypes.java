@@ -0,0 +1,24 @@
+package lt.lukasa.proguardviewer.lang;
+
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+
+/**
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public interface MappingTokenTypes {
+    IElementType COMMENT = new IElementType("COMMENT", MappingLanguage.INSTANCE);
+    IElementType CLASS_NAME = new IElementType("CLASS_NAME", MappingLanguage.INSTANCE);
+    IElementType MEMBER_NAME = new IElementType("MEMBER_NAME", MappingLanguage.INSTANCE);
+    IElementType OBFUSCATED_NAME = new IElementType("OBFUSCATED_NAME", MappingLanguage.INSTANCE);
+    IElementType TYPE = new IElementType("TYPE", MappingLanguage.INSTANCE);
+    IElementType NUMBER = new IElementType("NUMBER", MappingLanguage.INSTANCE);
+    IElementType ARROW = new IElementType("ARROW", MappingLanguage.INSTANCE);
+    IElementType PUNCTUATION = new IElementType("PUNCTUATION", MappingLanguage.INSTANCE);
+
+    // The whole file is a single leaf of this type, only the editor highlighter lexes the text
+    IElementType TEXT = new IElementType("TEXT", MappingLanguage.INSTANCE);
+
+    TokenSet COMMENTS = TokenSet.create(COMMENT);
+}
@@ -0,0 +1,127 @@
+package lt.lukasa.proguardviewer.refactoring;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Segment;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.refactoring.BaseRefactoringProcessor;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usageView.UsageViewBundle;
+import com.intellij.usageView.UsageViewDescriptor;
+import com.intellij.util.DocumentUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the usages found by the {@link MigrationUsageCollector} with their Mojang names. The usages are resolved
+ * before the processor is created, so the preview opens right away.
+ * <p>
+ * The replacements are written to the documents directly instead of going through PSI, every document as one bulk
+ * update, and the PSI is committed once at the end. The whole migration is one command and therefore one undo step.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MigrateToMojangNamesProcessor extends BaseRefactoringProcessor {
+    private final UsageInfo[] usages;
+
+    public MigrateToMojangNamesProcessor(Project project, List<MigrationUsageInfo> usages) {
+        super(project);
+        this.usages = usages.toArray(UsageInfo.EMPTY_ARRAY);
+    }
+
+    @Override
+    protected @NotNull UsageViewDescriptor createUsageViewDescriptor(UsageInfo @NotNull [] usages) {
+        return new UsageViewDescriptor() {
+            @Override
+            public PsiElement @NotNull [] getElements() {
+                return PsiElement.EMPTY_ARRAY;
+            }
+
+            @Override
+            public String getProcessedElementsHeader() {
+                return "Migrate to Mojang names";
+            }
+
+            @Override
+            public @NotNull String getCodeReferencesText(int usagesCount, int filesCount) {
+                return "References to be renamed " + UsageViewBundle.getReferencesString(usagesCount, filesCount);
+            }
+
+            @Override
+            public String getCommentReferencesText(int usagesCount, int filesCount) {
+                return null;
+            }
+        };
+    }
+
+    @Override
+    protected UsageInfo @NotNull [] findUsages() {
+        List<UsageInfo> valid = new ArrayList<>(usages.length);
+        for (UsageInfo usage : usages) {
+            if (usage.isValid()) {
+                valid.add(usage);
+            }
+        }
+        return valid.toArray(UsageInfo.EMPTY_ARRAY);
+    }
+
+    @Override
+    protected void performRefactoring(UsageInfo @NotNull [] usages) {
+        Map<PsiFile, List<Replacement>> replacements = new LinkedHashMap<>();
+        for (UsageInfo usage : usages) {
+            Segment segment = usage.getSegment();
+            PsiFile file = usage.getFile();
+            if (segment != null && file != null && usage instanceof MigrationUsageInfo) {
+                replacements.computeIfAbsent(file, key -> new ArrayList<>())
+                        .add(new Replacement(segment.getStartOffset(), segment.getEndOffset(), ((MigrationUsageInfo) usage).getNewText()));
+            }
+        }
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(myProject);
+        for (Map.Entry<PsiFile, List<Replacement>> entry : replacements.entrySet()) {
+            Document document = documentManager.getDocument(entry.getKey());
+            if (document == null) {
+                continue;
+            }
+            List<Replacement> fileReplacements = entry.getValue();
+            // Back to front, so the offsets of the remaining replacements stay valid
+            fileReplacements.sort(Comparator.comparingInt((Replacement replacement) -> replacement.start).reversed());
+            documentManager.doPostponedOperationsAndUnblockDocument(document);
+            DocumentUtil.executeInBulk(document, true, () -> {
+                int limit = document.getTextLength();
+                for (Replacement replacement : fileReplacements) {
+                    // A package qualified reference contains no other usage, but never write into a replaced range
+                    if (replacement.end <= limit) {
+                        document.replaceString(replacement.start, replacement.end, replacement.text);
+                        limit = replacement.start;
+                    }
+                }
+            });
+        }
+        documentManager.commitAllDocuments();
+    }
+
+    @Override
+    protected @NotNull String getCommandName() {
+        return "Migrate to Mojang Names";
+    }
+
+    private static final class Replacement {
+        private final int start;
+        private final int end;
+        private final String text;
+
+        Replacement(int start, int end, String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+    }
+}
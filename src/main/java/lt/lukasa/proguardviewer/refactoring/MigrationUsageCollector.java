@@ -0,0 +1,151 @@
+package lt.lukasa.proguardviewer.refactoring;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.*;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.query.TranslationBatch;
+import lt.lukasa.proguardviewer.query.TranslationResult;
+import lt.lukasa.proguardviewer.util.PsiClassMappingCache;
+import lt.lukasa.proguardviewer.util.PsiMappingHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the references of a Java file to mapped classes, fields and methods, and the methods of the file overriding
+ * mapped methods, and computes their Mojang names. The members of a file are translated as one
+ * {@link TranslationBatch}.
+ * <p>
+ * Package qualified class references are replaced as a whole, since the Mojang package may differ. Everything else
+ * only gets its name replaced, the qualifiers are references of their own.
+ * <p>
+ * Must be called inside a read action.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MigrationUsageCollector {
+    private final MappingSnapshot snapshot;
+
+    public MigrationUsageCollector(MappingSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public List<MigrationUsageInfo> collect(PsiJavaFile file) {
+        List<MigrationUsageInfo> usages = new ArrayList<>();
+        TranslationBatch.Builder batch = TranslationBatch.builder();
+        List<PendingMember> members = new ArrayList<>();
+        file.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitReferenceElement(PsiJavaCodeReferenceElement reference) {
+                super.visitReferenceElement(reference);
+                if (!(reference instanceof PsiImportStaticReferenceElement)) {
+                    processReference(reference, usages, batch, members);
+                }
+            }
+
+            @Override
+            public void visitImportStaticStatement(PsiImportStaticStatement statement) {
+                super.visitImportStaticStatement(statement);
+                PsiImportStaticReferenceElement reference = statement.getImportReference();
+                if (reference != null && !statement.isOnDemand()) {
+                    processReference(reference, usages, batch, members);
+                }
+            }
+
+            @Override
+            public void visitMethod(PsiMethod method) {
+                super.visitMethod(method);
+                PsiIdentifier nameIdentifier = method.getNameIdentifier();
+                if (method.isConstructor() || nameIdentifier == null) {
+                    return;
+                }
+                int index = PsiMappingHelper.addMethodQuery(batch, snapshot, method.getContainingClass(), method.getName(),
+                        method.getHierarchicalMethodSignature().getParameterTypes());
+                if (index >= 0) {
+                    members.add(new PendingMember(method, nameIdentifier, index));
+                }
+            }
+        });
+        if (members.isEmpty()) {
+            return usages;
+        }
+        TranslationResult result = batch.build().translate(snapshot);
+        for (PendingMember member : members) {
+            String name = result.getName(member.index);
+            if (name != null && !name.equals(member.nameElement.getText())) {
+                usages.add(create(member.element, member.nameElement.getTextRange(), name));
+            }
+        }
+        return usages;
+    }
+
+    private void processReference(PsiJavaCodeReferenceElement reference, List<MigrationUsageInfo> usages, TranslationBatch.Builder batch, List<PendingMember> members) {
+        ProgressManager.checkCanceled();
+        PsiElement nameElement = reference.getReferenceNameElement();
+        if (!(nameElement instanceof PsiIdentifier)) {
+            return;
+        }
+        PsiElement resolved = reference.resolve();
+        if (resolved instanceof PsiClass) {
+            processClassReference(reference, nameElement, (PsiClass) resolved, usages);
+        } else if (resolved instanceof PsiField) {
+            PsiClass owner = ((PsiField) resolved).getContainingClass();
+            if (owner != null) {
+                PsiClassMappingCache.Entry entry = PsiClassMappingCache.getEntry(owner, snapshot);
+                if (entry.isMapped()) {
+                    members.add(new PendingMember(reference, nameElement, batch.addField(entry.getQualifiedName(), ((PsiField) resolved).getName())));
+                }
+            }
+        } else if (resolved instanceof PsiMethod && !((PsiMethod) resolved).isConstructor()) {
+            PsiMethod method = (PsiMethod) resolved;
+            int index = PsiMappingHelper.addMethodQuery(batch, snapshot, method.getContainingClass(), method.getName(),
+                    method.getHierarchicalMethodSignature().getParameterTypes());
+            if (index >= 0) {
+                members.add(new PendingMember(reference, nameElement, index));
+            }
+        }
+    }
+
+    private void processClassReference(PsiJavaCodeReferenceElement reference, PsiElement nameElement, PsiClass psiClass, List<MigrationUsageInfo> usages) {
+        PsiClassMappingCache.Entry entry = PsiClassMappingCache.getEntry(psiClass, snapshot);
+        if (!entry.isMapped()) {
+            return;
+        }
+        ObfuscationClassMapping mojang = entry.getMojang();
+        PsiElement qualifier = reference.getQualifier();
+        if (qualifier instanceof PsiJavaCodeReferenceElement && ((PsiJavaCodeReferenceElement) qualifier).resolve() instanceof PsiPackage) {
+            TextRange range = new TextRange(reference.getTextRange().getStartOffset(), nameElement.getTextRange().getEndOffset());
+            if (!mojang.getRealName().equals(range.shiftLeft(range.getStartOffset()).substring(reference.getText()))) {
+                usages.add(create(reference, range, mojang.getRealName()));
+            }
+        } else {
+            String simpleName = mojang.getRealName().substring(mojang.getRealName().lastIndexOf('.') + 1);
+            if (!simpleName.equals(nameElement.getText())) {
+                usages.add(create(reference, nameElement.getTextRange(), simpleName));
+            }
+        }
+    }
+
+    private static MigrationUsageInfo create(PsiElement element, TextRange range, String newText) {
+        TextRange rangeInElement = range.shiftLeft(element.getTextRange().getStartOffset());
+        return new MigrationUsageInfo(element, rangeInElement.getStartOffset(), rangeInElement.getEndOffset(), newText);
+    }
+
+    /**
+     * A member reference or declaration waiting for the translation of its query.
+     */
+    private static final class PendingMember {
+        private final PsiElement element;
+        private final PsiElement nameElement;
+        private final int index;
+
+        PendingMember(PsiElement element, PsiElement nameElement, int index) {
+            this.element = element;
+            this.nameElement = nameElement;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package lt.lukasa.proguardviewer.refactoring;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.usageView.UsageInfo;
+
+/**
+ * A range of a reference or declaration to be replaced by its Mojang name.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MigrationUsageInfo extends UsageInfo {
+    private final String newText;
+
+    public MigrationUsageInfo(PsiElement element, int startOffset, int endOffset, String newText) {
+        super(element, startOffset, endOffset);
+        this.newText = newText;
+    }
+
+    public String getNewText() {
+        return newText;
+    }
+}
@@ -0,0 +1,38 @@
+package lt.lukasa.proguardviewer.remap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The direct supertypes of every class in a jar, collected in a first pass so that members inherited from a mapped
+ * class can be renamed when they are referenced through a subclass.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ClassHierarchy {
+    private static final String[] NO_SUPERTYPES = new String[0];
+
+    private final Map<String, String[]> supertypes = new ConcurrentHashMap<>();
+
+    public void add(String internalName, String superName, String[] interfaces) {
+        String[] types = new String[(superName == null ? 0 : 1) + interfaces.length];
+        int i = 0;
+        if (superName != null) {
+            types[i++] = superName;
+        }
+        System.arraycopy(interfaces, 0, types, i, interfaces.length);
+        supertypes.put(internalName, types);
+    }
+
+    /**
+     * @return the superclass followed by the interfaces, or an empty array for classes outside of the jar
+     */
+    public String[] getSupertypes(String internalName) {
+        return supertypes.getOrDefault(internalName, NO_SUPERTYPES);
+    }
+
+    public int size() {
+        return supertypes.size();
+    }
+}
@@ -0,0 +1,216 @@
+package lt.lukasa.proguardviewer.remap;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import org.jetbrains.org.objectweb.asm.ClassReader;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.commons.ClassRemapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BooleanSupplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Writes a copy of a jar with all classes renamed to Mojang names. Entries are read from the jar on demand, class
+ * files are remapped in parallel on a work-stealing pool and written in their original order, with only a bounded
+ * number of remapped classes held in memory at any time.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class JarRemapper {
+    private final MappingSnapshot snapshot;
+    private final int parallelism;
+
+    public JarRemapper(MappingSnapshot snapshot) {
+        this(snapshot, Runtime.getRuntime().availableProcessors());
+    }
+
+    public JarRemapper(MappingSnapshot snapshot, int parallelism) {
+        this.snapshot = snapshot;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @param progress receives the fraction of entries written so far
+     * @param cancelled polled between entries, remapping stops with a {@link CancellationException}
+     *                  once it returns true
+     */
+    public Statistics remap(Path input, Path output, ProgressListener progress, BooleanSupplier cancelled) throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (JarFile jar = new JarFile(input.toFile(), false)) {
+            List<JarEntry> entries = Collections.list(jar.entries());
+            // Only the entries which are written count towards the progress
+            entries.removeIf(entry -> entry.isDirectory() || isSignature(entry.getName()));
+
+            // Members can be inherited from mapped classes, so the hierarchy has to be known before remapping
+            ClassHierarchy hierarchy = new ClassHierarchy();
+            List<ForkJoinTask<?>> headerTasks = new ArrayList<>();
+            for (JarEntry entry : entries) {
+                if (isClass(entry)) {
+                    headerTasks.add(pool.submit(() -> {
+                        ClassReader reader = new ClassReader(read(jar, entry));
+                        hierarchy.add(reader.getClassName(), reader.getSuperName(), reader.getInterfaces());
+                    }));
+                }
+            }
+            for (ForkJoinTask<?> task : headerTasks) {
+                join(task);
+            }
+
+            MappingRemapper remapper = new MappingRemapper(snapshot, hierarchy);
+            Statistics statistics = new Statistics();
+            int window = parallelism * 8;
+            Deque<ForkJoinTask<Entry>> pending = new ArrayDeque<>();
+            int written = 0;
+            try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 20))) {
+                for (JarEntry entry : entries) {
+                    if (cancelled.getAsBoolean()) {
+                        pending.forEach(task -> task.cancel(false));
+                        throw new CancellationException();
+                    }
+                    pending.add(pool.submit(() -> process(jar, entry, remapper)));
+                    while (pending.size() >= window) {
+                        write(out, join(pending.poll()), statistics);
+                        progress.onProgress((double) ++written / entries.size());
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    write(out, join(pending.poll()), statistics);
+                    progress.onProgress((double) ++written / entries.size());
+                }
+            }
+            statistics.nanos = System.nanoTime() - start;
+            return statistics;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Entry process(JarFile jar, JarEntry entry, MappingRemapper remapper) {
+        byte[] bytes = read(jar, entry);
+        if (!isClass(entry)) {
+            return new Entry(entry.getName(), bytes, bytes.length, false);
+        }
+        ClassReader reader = new ClassReader(bytes);
+        ClassWriter writer = new ClassWriter(0);
+        reader.accept(new ClassRemapper(writer, remapper), 0);
+        String name = remapper.map(reader.getClassName()) + ".class";
+        return new Entry(name, writer.toByteArray(), bytes.length, true);
+    }
+
+    private static void write(JarOutputStream out, Entry entry, Statistics statistics) throws IOException {
+        out.putNextEntry(new JarEntry(entry.name));
+        out.write(entry.bytes);
+        out.closeEntry();
+        statistics.bytesRead += entry.originalSize;
+        statistics.bytesWritten += entry.bytes.length;
+        if (entry.isClass) {
+            statistics.classes++;
+        } else {
+            statistics.resources++;
+        }
+    }
+
+    private static byte[] read(JarFile jar, JarEntry entry) {
+        try (InputStream inputStream = jar.getInputStream(entry)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static boolean isClass(JarEntry entry) {
+        return !entry.isDirectory() && entry.getName().endsWith(".class") && !entry.getName().endsWith("module-info.class");
+    }
+
+    /**
+     * Signatures of the original jar are no longer valid once the classes have been changed.
+     */
+    private static boolean isSignature(String name) {
+        return name.startsWith("META-INF/") && (name.endsWith(".SF") || name.endsWith(".RSA") || name.endsWith(".DSA") || name.endsWith(".EC"));
+    }
+
+    public interface ProgressListener {
+        void onProgress(double fraction);
+    }
+
+    private static class Entry {
+        private final String name;
+        private final byte[] bytes;
+        private final int originalSize;
+        private final boolean isClass;
+
+        Entry(String name, byte[] bytes, int originalSize, boolean isClass) {
+            this.name = name;
+            this.bytes = bytes;
+            this.originalSize = originalSize;
+            this.isClass = isClass;
+        }
+    }
+
+    public static class Statistics {
+        private int classes;
+        private int resources;
+        private long bytesRead;
+        private long bytesWritten;
+        private long nanos;
+
+        public int getClasses() {
+            return classes;
+        }
+
+        public int getResources() {
+            return resources;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return String.format("%d classes and %d resources in %.2fs (%.0f classes/s, %.1f MB/s)",
+                    classes, resources, seconds, classes / seconds, bytesRead / seconds / (1024 * 1024));
+        }
+    }
+}
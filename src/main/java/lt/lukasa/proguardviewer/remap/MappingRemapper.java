@@ -0,0 +1,134 @@
+package lt.lukasa.proguardviewer.remap;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.parser.JvmDescriptorParser;
+import org.jetbrains.org.objectweb.asm.commons.Remapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renames classes and members of a Spigot or obfuscated jar to their Mojang names. Class names are looked up like
+ * in the editor, members are searched in the owner and then in its supertypes from the {@link ClassHierarchy}.
+ * Results are cached, the remapper is used by all worker threads at once.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingRemapper extends Remapper {
+    private final MappingSnapshot snapshot;
+    private final ClassHierarchy hierarchy;
+    private final Map<String, String> classNames = new ConcurrentHashMap<>();
+    private final Map<String, String> memberNames = new ConcurrentHashMap<>();
+
+    public MappingRemapper(MappingSnapshot snapshot, ClassHierarchy hierarchy) {
+        this.snapshot = snapshot;
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    public String map(String internalName) {
+        return classNames.computeIfAbsent(internalName, this::mapClass);
+    }
+
+    private String mapClass(String internalName) {
+        ObfuscationClassMapping mapping = findClass(internalName);
+        if (mapping == null) {
+            return internalName;
+        }
+        // The mappings store inner classes with dots, restore as many '$' separators as the original name had
+        char[] chars = mapping.getRealName().replace('.', '/').toCharArray();
+        int innerClasses = 0;
+        for (int i = 0; i < internalName.length(); i++) {
+            if (internalName.charAt(i) == '$') {
+                innerClasses++;
+            }
+        }
+        for (int i = chars.length - 1; i >= 0 && innerClasses > 0; i--) {
+            if (chars[i] == '/') {
+                chars[i] = '$';
+                innerClasses--;
+            }
+        }
+        return new String(chars);
+    }
+
+    private ObfuscationClassMapping findClass(String internalName) {
+        String name = internalName.replace('/', '.').replace('$', '.');
+        if (!snapshot.getPrefilter().mightContain(name)) {
+            return null;
+        }
+        return snapshot.getMojangClass(name).orElse(null);
+    }
+
+    @Override
+    public String mapFieldName(String owner, String name, String descriptor) {
+        return memberNames.computeIfAbsent(owner + '.' + name + ':' + descriptor, key -> {
+            String mapped = findField(owner, name, new HashSet<>());
+            return mapped == null ? name : mapped;
+        });
+    }
+
+    private String findField(String owner, String name, Set<String> visited) {
+        if (!visited.add(owner)) {
+            return null;
+        }
+        ObfuscationClassMapping mapping = findClass(owner);
+        if (mapping != null) {
+            String mapped = mapping.getFieldByObfuscation().get(name);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        for (String supertype : hierarchy.getSupertypes(owner)) {
+            String mapped = findField(supertype, name, visited);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String mapMethodName(String owner, String name, String descriptor) {
+        if (name.startsWith("<")) {
+            return name;
+        }
+        return memberNames.computeIfAbsent(owner + '.' + name + descriptor, key -> {
+            List<String> parameterTypes = new ArrayList<>();
+            JvmDescriptorParser.parseMethod(descriptor, this::map, parameterTypes);
+            String mapped = findMethod(owner, name, parameterTypes, new HashSet<>());
+            return mapped == null ? name : mapped;
+        });
+    }
+
+    private String findMethod(String owner, String name, List<String> parameterTypes, Set<String> visited) {
+        if (!visited.add(owner)) {
+            return null;
+        }
+        ObfuscationClassMapping mapping = findClass(owner);
+        if (mapping != null) {
+            List<ObfuscationMethodMapping> candidates = mapping.getMethodsByObfuscatedName().get(name);
+            if (candidates != null) {
+                for (ObfuscationMethodMapping candidate : candidates) {
+                    if (candidate.getParameterTypes().equals(parameterTypes)) {
+                        return candidate.getRealName();
+                    }
+                }
+            }
+        }
+        for (String supertype : hierarchy.getSupertypes(owner)) {
+            String mapped = findMethod(supertype, name, parameterTypes, visited);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,175 @@
+package lt.lukasa.proguardviewer.retrace;
+
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates crash reports and server logs into Mojang names. Stack frames of obfuscated or Spigot named classes get
+ * their class and method renamed, using the line number to pick the right method if several share one obfuscated
+ * name. Any other fully qualified name of a mapped class in the text is renamed as well.
+ * <p>
+ * Instances only read the snapshot they were created for and can be shared between threads.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class StackTraceRetracer {
+    private static final Pattern FRAME_PATTERN = Pattern.compile("\\bat\\s+(?:[\\w.$-]+/)*([\\w.$]+)\\.([\\w$<>]+)\\(([^)]*)\\)");
+
+    private final MappingSnapshot snapshot;
+
+    public StackTraceRetracer(MappingSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public MappingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public String retrace(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length() + text.length() / 8);
+        Matcher matcher = FRAME_PATTERN.matcher("");
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && text.charAt(end) != '\n') {
+                end++;
+            }
+            retraceLine(text.subSequence(start, end), matcher, builder);
+            if (end < length) {
+                builder.append('\n');
+            }
+            start = end + 1;
+        }
+        return builder.toString();
+    }
+
+    public String retraceLine(CharSequence line) {
+        StringBuilder builder = new StringBuilder(line.length() + 16);
+        retraceLine(line, FRAME_PATTERN.matcher(""), builder);
+        return builder.toString();
+    }
+
+    private void retraceLine(CharSequence line, Matcher matcher, StringBuilder out) {
+        // Most log lines are no stack frames, those never reach the regex
+        if (!mayContainFrame(line) || !matcher.reset(line).find()) {
+            retraceClassNames(line, 0, line.length(), out);
+            return;
+        }
+        retraceClassNames(line, 0, matcher.start(1), out);
+        String className = matcher.group(1);
+        String methodName = matcher.group(2);
+        ObfuscationClassMapping mojangClass = findClass(className);
+        if (mojangClass == null) {
+            out.append(line, matcher.start(1), matcher.end(2));
+        } else {
+            out.append(mojangClass.getRealName()).append('.').append(retraceMethod(mojangClass, methodName, parseLineNumber(matcher.group(3))));
+        }
+        out.append(line, matcher.end(2), line.length());
+    }
+
+    /**
+     * @return the Mojang name of the method, or all candidates separated by {@code |} if the line number does not
+     * identify one of them
+     */
+    private String retraceMethod(ObfuscationClassMapping mojangClass, String methodName, int lineNumber) {
+        if (lineNumber > 0) {
+            ObfuscationMethodMapping method = mojangClass.getLineNumbers().find(methodName, lineNumber);
+            if (method != null) {
+                return method.getRealName();
+            }
+        }
+        List<ObfuscationMethodMapping> candidates = mojangClass.getMethodsByObfuscatedName().get(methodName);
+        if (candidates == null || candidates.isEmpty()) {
+            return methodName;
+        }
+        String first = candidates.get(0).getRealName();
+        StringBuilder names = null;
+        for (int i = 1; i < candidates.size(); i++) {
+            String name = candidates.get(i).getRealName();
+            if (!name.equals(first) && (names == null || names.indexOf(name) < 0)) {
+                if (names == null) {
+                    names = new StringBuilder(first);
+                }
+                names.append('|').append(name);
+            }
+        }
+        return names == null ? first : names.toString();
+    }
+
+    /**
+     * Renames qualified class names outside of stack frames. Names without a package are not touched, since short
+     * obfuscated names like {@code a} would match ordinary words.
+     */
+    private void retraceClassNames(CharSequence line, int from, int to, StringBuilder out) {
+        int i = from;
+        while (i < to) {
+            char c = line.charAt(i);
+            if (!Character.isJavaIdentifierStart(c) || (i > from && isNamePart(line.charAt(i - 1)))) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            boolean qualified = false;
+            while (end < to && isNamePart(line.charAt(end))) {
+                qualified |= line.charAt(end) == '.';
+                end++;
+            }
+            // A sentence may end directly behind a class name
+            while (end > i && line.charAt(end - 1) == '.') {
+                end--;
+            }
+            ObfuscationClassMapping mojangClass = qualified ? findClass(line.subSequence(i, end).toString()) : null;
+            if (mojangClass != null) {
+                out.append(mojangClass.getRealName());
+            } else {
+                out.append(line, i, end);
+            }
+            i = end;
+        }
+    }
+
+    private ObfuscationClassMapping findClass(String className) {
+        String name = className.indexOf('$') >= 0 ? className.replace('$', '.') : className;
+        if (!snapshot.getPrefilter().mightContain(name)) {
+            return null;
+        }
+        return snapshot.getMojangClass(name).orElse(null);
+    }
+
+    private static boolean mayContainFrame(CharSequence line) {
+        for (int i = 0, end = line.length() - 2; i < end; i++) {
+            if (line.charAt(i) == 'a' && line.charAt(i + 1) == 't' && Character.isWhitespace(line.charAt(i + 2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNamePart(char c) {
+        return c == '.' || Character.isJavaIdentifierPart(c);
+    }
+
+    private static int parseLineNumber(String location) {
+        int colon = location.lastIndexOf(':');
+        if (colon < 0) {
+            return -1;
+        }
+        int line = 0;
+        for (int i = colon + 1; i < location.length(); i++) {
+            char c = location.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            line = line * 10 + (c - '0');
+        }
+        return line;
+    }
+}
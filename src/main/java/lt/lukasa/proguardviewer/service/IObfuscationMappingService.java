@@ -1,6 +1,15 @@
 package lt.lukasa.proguardviewer.service;
 
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.psi.PsiElement;
+import lt.lukasa.proguardviewer.mappings.MappingConsistencyAnalyzer;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
 import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.query.TranslationBatch;
+import lt.lukasa.proguardviewer.query.TranslationResult;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Lukas Alt
@@ -11,19 +20,101 @@ public interface IObfuscationMappingService {
 
     boolean isMappingSupported();
 
-    Result triggerMappingLoad(Runnable loadCallback);
+    /**
+     * Starts loading the profile selected for the module, the profile of the project for a null module.
+     */
+    Result triggerMappingLoad(@Nullable Module module, Runnable loadCallback);
+
+    default Result triggerMappingLoad(Runnable loadCallback) {
+        return triggerMappingLoad(null, loadCallback);
+    }
 
     default Result triggerMappingLoad() {
         return triggerMappingLoad(() -> {});
     }
 
-    ObfuscationMapping getMojangMappingIfPresent();
+    /**
+     * @return the mappings of the profile selected for the module, or null if they are not loaded (yet). Callers
+     * should read this once and keep working on the returned snapshot, so they never mix the mappings of two profiles.
+     */
+    MappingSnapshot getSnapshotIfPresent(@Nullable Module module);
+
+    /**
+     * @return the mappings of the profile selected for the project
+     */
+    default MappingSnapshot getSnapshotIfPresent() {
+        return getSnapshotIfPresent(null);
+    }
+
+    /**
+     * Triggers the load of the profile used for the module containing the element and returns its mappings if they
+     * are available right now.
+     */
+    default @Nullable MappingSnapshot getSnapshotFor(PsiElement element, Runnable loadCallback) {
+        Module module = ModuleUtilCore.findModuleForPsiElement(element);
+        if (triggerMappingLoad(module, loadCallback) != Result.AVAILABLE_NOW) {
+            return null;
+        }
+        return getSnapshotIfPresent(module);
+    }
+
+    default @Nullable MappingSnapshot getSnapshotFor(PsiElement element) {
+        return getSnapshotFor(element, () -> {});
+    }
+
+    /**
+     * Translates a batch of class, field and method names of the server jar to their Mojang names, all against the
+     * same snapshot.
+     *
+     * @return the translations, or null if the mappings of the module are not loaded (yet)
+     */
+    default @Nullable TranslationResult translate(@Nullable Module module, TranslationBatch batch) {
+        MappingSnapshot snapshot = getSnapshotIfPresent(module);
+        return snapshot == null ? null : batch.translate(snapshot);
+    }
 
-    ObfuscationMapping getSpigotMappingIfPresent();
+    /**
+     * Translates a batch with the mappings of the module containing the element, triggering their load if needed.
+     */
+    default @Nullable TranslationResult translate(PsiElement context, TranslationBatch batch) {
+        MappingSnapshot snapshot = getSnapshotFor(context);
+        return snapshot == null ? null : batch.translate(snapshot);
+    }
+
+    /**
+     * @return the unmapped, ambiguous and conflicting entries of the mappings of the module, or null if they are not
+     * loaded (yet). The report is computed once per snapshot.
+     */
+    default @Nullable MappingConsistencyAnalyzer.Report getConsistencyReport(@Nullable Module module) {
+        MappingSnapshot snapshot = getSnapshotIfPresent(module);
+        return snapshot == null ? null : snapshot.getCache(MappingConsistencyAnalyzer.Report.class, MappingConsistencyAnalyzer::analyze);
+    }
+
+    /**
+     * Drops the mappings of profiles no longer selected for the project or any of its modules.
+     */
+    void releaseUnusedProfiles();
+
+    /**
+     * Calls the listener on any thread whenever mappings are released, until the disposable is disposed. Views
+     * holding data built from a snapshot drop it then, so the snapshot can be freed.
+     */
+    void addReleaseListener(Runnable listener, Disposable parentDisposable);
+
+    default ObfuscationMapping getMojangMappingIfPresent() {
+        MappingSnapshot snapshot = getSnapshotIfPresent();
+        return snapshot == null ? null : snapshot.getMojang();
+    }
+
+    default ObfuscationMapping getSpigotMappingIfPresent() {
+        MappingSnapshot snapshot = getSnapshotIfPresent();
+        return snapshot == null ? null : snapshot.getSpigot();
+    }
 
     enum Result {
         AVAILABLE_NOW,
         TASK_DELAYED,
-        DISABLED
+        DISABLED,
+        FAILED
     }
 }
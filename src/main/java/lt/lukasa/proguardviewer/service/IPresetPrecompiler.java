@@ -0,0 +1,21 @@
+package lt.lukasa.proguardviewer.service;
+
+/**
+ * Prepares the binary snapshots of the preset profiles while the IDE is idle, so switching to any of them later
+ * restores it instead of downloading and parsing its mappings.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public interface IPresetPrecompiler {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return how many of the most recent presets are prepared, 0 to prepare all of them
+     */
+    int getPresetLimit();
+
+    void setPresetLimit(int presetLimit);
+}
@@ -1,5 +1,10 @@
 package lt.lukasa.proguardviewer.service;
 
+import com.intellij.openapi.module.Module;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
 /**
  * @author Lukas Alt
  * @since 17.09.2022
@@ -8,4 +13,35 @@ public interface IProjectSettingsStateService {
     String getCurrentProjectId();
 
     void setCurrentProjectId(String s);
+
+    /**
+     * @return the profiles selected for single modules by module name, modules without an entry use the profile of
+     * the project
+     */
+    Map<String, String> getModuleProfileIds();
+
+    /**
+     * @param profileId the profile of the module, or null to use the profile of the project
+     */
+    void setModuleProfileId(String moduleName, @Nullable String profileId);
+
+    /**
+     * @return the minutes after which mappings nobody asked for are released from memory, 0 to keep them
+     */
+    int getIdleReleaseMinutes();
+
+    void setIdleReleaseMinutes(int minutes);
+
+    /**
+     * @return the id of the profile used for the module, the profile of the project for a null module
+     */
+    default String getProfileId(@Nullable Module module) {
+        if (module != null) {
+            String profileId = getModuleProfileIds().get(module.getName());
+            if (profileId != null) {
+                return profileId;
+            }
+        }
+        return getCurrentProjectId();
+    }
 }
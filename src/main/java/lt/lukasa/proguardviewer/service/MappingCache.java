@@ -0,0 +1,129 @@
+package lt.lukasa.proguardviewer.service;
+
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.parser.BinaryMappingFormat;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import lt.lukasa.proguardviewer.util.CompressedStreams;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The files kept in the cache folder: downloaded mappings, gzip-compressed and named after their label and source,
+ * and the binary copies of parsed profiles. Entries are written to a temporary file first and then moved into place,
+ * so neither an aborted write nor two writers of the same entry ever leave a truncated file behind.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+final class MappingCache {
+
+    private MappingCache() {
+    }
+
+    static File getCacheFolder() {
+        File cacheFolder = new File(System.getenv("LOCALAPPDATA"), "proguard-viewer");
+        System.out.println("Cache folder: " + cacheFolder);
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        return cacheFolder;
+    }
+
+    /**
+     * @return the label a mapping source of a profile is cached under, e.g. {@code spigot} for {@code spigot-classes}
+     */
+    static String getLabel(String key) {
+        return key.equals("spigot-classes") ? "spigot" : key;
+    }
+
+    /**
+     * @return the compressed cache entry of a downloaded mapping
+     */
+    static File getMappingFile(String label, String input) {
+        return new File(getCacheFolder(), label + "_" + getSha256(input) + CompressedStreams.SUFFIX);
+    }
+
+    /**
+     * @return the uncompressed cache entry older versions stored a downloaded mapping in
+     */
+    static File getLegacyMappingFile(String label, String input) {
+        return new File(getCacheFolder(), label + "_" + getSha256(input));
+    }
+
+    /**
+     * @return the compressed binary copy of the parsed mappings of a profile, named after all its sources so it is
+     * never used for a profile whose mappings have been changed
+     */
+    static File getSnapshotFile(Profile profile) {
+        return new File(getCacheFolder(), getSnapshotName(profile) + CompressedStreams.SUFFIX);
+    }
+
+    private static String getSnapshotName(Profile profile) {
+        return "snapshot_" + getSha256(profile.getId() + new TreeMap<>(profile.getMappings()));
+    }
+
+    /**
+     * Compresses a stream into a cache entry.
+     */
+    static void store(InputStream inputStream, File data) throws IOException {
+        File partial = File.createTempFile(data.getName(), ".part", data.getParentFile());
+        try {
+            try (OutputStream outputStream = CompressedStreams.compress(new FileOutputStream(partial))) {
+                byte[] buf = new byte[8192];
+                int read;
+                while ((read = inputStream.read(buf)) > 0) {
+                    outputStream.write(buf, 0, read);
+                }
+            }
+            moveIntoPlace(partial, data);
+        } finally {
+            partial.delete();
+        }
+    }
+
+    /**
+     * Stores the binary copy of the parsed mappings of a profile, unless there already is one. The uncompressed copy
+     * older versions stored is deleted.
+     */
+    static void writeSnapshotFile(Profile profile, List<ObfuscationMapping> mappings) throws IOException {
+        File data = getSnapshotFile(profile);
+        if (data.exists()) {
+            return;
+        }
+        File partial = File.createTempFile(data.getName(), ".part", data.getParentFile());
+        try {
+            try (OutputStream outputStream = CompressedStreams.compress(new FileOutputStream(partial))) {
+                BinaryMappingFormat.write(mappings, outputStream);
+            }
+            moveIntoPlace(partial, data);
+        } finally {
+            partial.delete();
+        }
+        new File(getCacheFolder(), getSnapshotName(profile)).delete();
+    }
+
+    private static String getSha256(String value) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(value.getBytes());
+            return Hex.encodeHexString(md.digest());
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static void moveIntoPlace(File partial, File data) throws IOException {
+        // Another writer may have finished the same entry in the meantime, its copy is just as good
+        if (!partial.renameTo(data) && !data.isFile()) {
+            throw new IOException("Could not move " + partial + " to " + data);
+        }
+    }
+}
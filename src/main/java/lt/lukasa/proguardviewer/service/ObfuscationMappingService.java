@@ -3,60 +3,100 @@ package lt.lukasa.proguardviewer.service;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
-import com.intellij.openapi.progress.util.AbstractProgressIndicatorBase;
+import com.intellij.openapi.progress.impl.BackgroundableProcessIndicator;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.LowMemoryWatcher;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import lt.lukasa.proguardviewer.mappings.MappingConsistencyAnalyzer;
+import lt.lukasa.proguardviewer.mappings.MappingDeduplicator;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
 import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
-import lt.lukasa.proguardviewer.parser.CSRGMappingParser;
-import lt.lukasa.proguardviewer.parser.PeekableScanner;
-import lt.lukasa.proguardviewer.parser.ProguardMappingParser;
+import lt.lukasa.proguardviewer.parser.BinaryMappingFormat;
+import lt.lukasa.proguardviewer.parser.TinyMappingParser;
 import lt.lukasa.proguardviewer.profiles.Profile;
-import org.apache.commons.codec.binary.Hex;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import lt.lukasa.proguardviewer.util.CompressedStreams;
+import lt.lukasa.proguardviewer.util.ProgressTrackingInputStream;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
-import java.security.MessageDigest;
-import java.util.Scanner;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Lukas Alt
  * @since 13.08.2022
  */
-public class ObfuscationMappingService implements IObfuscationMappingService {
+public class ObfuscationMappingService implements IObfuscationMappingService, Disposable {
+    private static final Logger LOG = Logger.getInstance(ObfuscationMappingService.class);
     public static final String GROUP_ID = "lt.lukasa.proguardviewer";
     private final Project project;
+    private final ScheduledFuture<?> idleCheck;
 
 
     public ObfuscationMappingService(Project project) {
         this.project = project;
+        LowMemoryWatcher.register(() -> releaseIdleSnapshots(LOW_MEMORY_IDLE_MILLIS), this);
+        this.idleCheck = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(() -> {
+            int minutes = ProjectSettingsStateService.getInstance(project).getIdleReleaseMinutes();
+            if (minutes > 0) {
+                releaseIdleSnapshots(TimeUnit.MINUTES.toMillis(minutes));
+            }
+        }, 1, 1, TimeUnit.MINUTES);
     }
 
-    private ObfuscationMapping mojangMapping;
-    private ObfuscationMapping spigotMapping;
+    /**
+     * Time after which a profile whose load failed is attempted again.
+     */
+    private static final long RETRY_DELAY_MILLIS = 60_000;
 
-    private Profile currentlyLoadedProfile;
+    /**
+     * Snapshots used within this time are kept even when memory runs low, they would be restored right away.
+     */
+    private static final long LOW_MEMORY_IDLE_MILLIS = 10_000;
 
-    private final AtomicBoolean loading = new AtomicBoolean(false);
+    /**
+     * The mappings of every profile selected for the project or one of its modules, by profile id. Modules using the
+     * same profile share one slot.
+     */
+    private final Map<String, ProfileSlot> slots = new ConcurrentHashMap<>();
+    // Profiles whose issues have been shown already, restores of a released profile must not show them again
+    private final Set<String> reportedProfiles = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> releaseListeners = new CopyOnWriteArrayList<>();
 
     @Override
     public boolean isMappingLoaded() {
-        return isMappingSupported() && mojangMapping != null && spigotMapping != null;
+        return isMappingSupported() && getSnapshotIfPresent() != null;
     }
 
     @Override
@@ -64,141 +104,370 @@ public class ObfuscationMappingService implements IObfuscationMappingService {
         return true;
     }
 
-    public static String getSha256(String value) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(value.getBytes());
-            return Hex.encodeHexString(md.digest());
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
-    }
-
-    private ListenableFuture<ObfuscationMapping> load(Project project, String label, String input, Function<PeekableScanner, ObfuscationMapping> parser) {
-        SettableFuture<ObfuscationMapping> result = SettableFuture.create();
-        ProgressManager.getInstance().runProcessWithProgressAsynchronously(new Task.Backgroundable(project, "Downloading " + label + " mappings") {
+    private <T> ListenableFuture<T> load(Project project, PendingLoad pending, String label, String input, MappingReader<T> parser) {
+        SettableFuture<T> result = SettableFuture.create();
+        Task.Backgroundable task = new Task.Backgroundable(project, "Loading " + label + " mappings", true) {
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
                 try {
-                    File cacheFolder = new File(System.getenv("LOCALAPPDATA"), "proguard-viewer");
-                    System.out.println("Cache folder: " + cacheFolder);
-                    if (!cacheFolder.exists()) {
-                        cacheFolder.mkdirs();
+                    indicator.setIndeterminate(false);
+                    // Cached mappings are stored compressed, entries of older versions are compressed on first use
+                    File data = MappingCache.getMappingFile(label, input);
+                    File uncompressed = MappingCache.getLegacyMappingFile(label, input);
+                    if (!data.exists() && uncompressed.isFile()) {
+                        indicator.setText("Compressing cached " + label + " mappings");
+                        long length = uncompressed.length();
+                        try (InputStream inputStream = new ProgressTrackingInputStream(new FileInputStream(uncompressed), bytes -> reportProgress(indicator, bytes, length))) {
+                            MappingCache.store(inputStream, data);
+                        }
+                        uncompressed.delete();
                     }
-
-                    File data = new File(cacheFolder, label + "_" + getSha256(input));
                     if (!data.exists()) {
                         System.out.println("Invoking download of " + input);
-                        try (FileOutputStream fos = new FileOutputStream(data)) {
-                            URL url = new URL(input);
-                            URLConnection connection = url.openConnection();
-                            try (InputStream inputStream = connection.getInputStream()) {
-                                byte[] buf = new byte[4096];
-                                int read;
-                                while ((read = inputStream.read(buf)) > 0) {
-                                    fos.write(buf, 0, read);
-                                }
-                            }
-                            System.out.println("Download completed!");
-                        } catch (Throwable throwable) {
-                            result.setException(throwable);
-                            return;
+                        indicator.setText("Downloading " + label + " mappings");
+                        URL url = new URL(input);
+                        URLConnection connection = url.openConnection();
+                        long length = connection.getContentLengthLong();
+                        indicator.setIndeterminate(length <= 0);
+                        try (InputStream inputStream = new ProgressTrackingInputStream(connection.getInputStream(), bytes -> reportProgress(indicator, bytes, length))) {
+                            MappingCache.store(inputStream, data);
                         }
+                        System.out.println("Download completed!");
                     }
 
-                    try (InputStream inputStream = new FileInputStream(data)) {
-                        try {
-                            PeekableScanner scanner = new PeekableScanner(new Scanner(inputStream));
-                            ObfuscationMapping mapping = parser.apply(scanner);
-                            Notifications.Bus.notify(new Notification(GROUP_ID, "Mappings loaded", "Successfully loaded " + label + " from " + input, NotificationType.INFORMATION), project);
-                            result.set(mapping);
-                        } finally {
-                            inputStream.close();
-                        }
+                    indicator.checkCanceled();
+                    indicator.setText("Parsing " + label + " mappings");
+                    indicator.setIndeterminate(false);
+                    long length = data.length();
+                    // Progress is tracked on the compressed bytes, which is what the file length refers to
+                    try (InputStream inputStream = CompressedStreams.decompress(new ProgressTrackingInputStream(new FileInputStream(data), bytes -> reportProgress(indicator, bytes, length)))) {
+                        T mapping = parser.read(inputStream);
+                        indicator.checkCanceled();
+                        Notifications.Bus.notify(new Notification(GROUP_ID, "Mappings loaded", "Successfully loaded " + label + " from " + input, NotificationType.INFORMATION), project);
+                        result.set(mapping);
                     }
-                    // Do not close input stream here
-
+                } catch (ProcessCanceledException e) {
+                    LOG.debug("Loading of " + label + " was cancelled");
+                    result.cancel(false);
                 } catch (Throwable t) {
                     Notifications.Bus.notify(new Notification(GROUP_ID, "Download failed", "Download of " + label + " from " + input + " failed", NotificationType.ERROR), project);
                     result.setException(t);
                 }
 
             }
-        }, new AbstractProgressIndicatorBase() {
+        };
+        ProgressIndicator indicator = new BackgroundableProcessIndicator(task);
+        pending.attach(indicator);
+        ProgressManager.getInstance().runProcessWithProgressAsynchronously(task, indicator);
+        return result;
+    }
 
-        });
+    /**
+     * Reads back the binary copy of the mappings of an evicted snapshot. Any failure is reported as an
+     * {@link IOException}, so the caller can fall back to the original mappings.
+     */
+    private ListenableFuture<List<ObfuscationMapping>> restore(PendingLoad pending, Profile profile, File data) {
+        SettableFuture<List<ObfuscationMapping>> result = SettableFuture.create();
+        Task.Backgroundable task = new Task.Backgroundable(project, "Restoring " + profile.getId() + " mappings", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                long length = data.length();
+                try (InputStream inputStream = CompressedStreams.decompress(new ProgressTrackingInputStream(new FileInputStream(data), bytes -> reportProgress(indicator, bytes, length)))) {
+                    result.set(BinaryMappingFormat.read(inputStream));
+                } catch (ProcessCanceledException e) {
+                    result.cancel(false);
+                } catch (Throwable t) {
+                    LOG.warn("Could not restore " + data + ", loading the original mappings", t);
+                    data.delete();
+                    result.setException(new IOException(t));
+                }
+            }
+        };
+        ProgressIndicator indicator = new BackgroundableProcessIndicator(task);
+        pending.attach(indicator);
+        ProgressManager.getInstance().runProcessWithProgressAsynchronously(task, indicator);
         return result;
     }
 
+    /**
+     * Downloads and parses the original mappings of a profile and stores a binary copy for later restores.
+     */
+    private ListenableFuture<List<ObfuscationMapping>> loadMappings(PendingLoad pending, Profile profile) {
+        ListenableFuture<List<ObfuscationMapping>> components;
+        String tiny = profile.getMappings().get("tiny");
+        if (tiny != null && !tiny.isEmpty()) {
+            // A single tiny file contains all namespaces, there is nothing to join
+            components = Futures.transform(load(project, pending, "tiny", tiny, TinyMappingParser::parse),
+                    mapping -> MappingLoader.splitTinyMapping(profile, mapping), MoreExecutors.directExecutor());
+        } else {
+            ListenableFuture<ObfuscationMapping> mojang = load(project, pending, "mojang", profile.getMappings().get("mojang"), MappingLoader::readMojang);
+            ListenableFuture<ObfuscationMapping> spigot = load(project, pending, MappingCache.getLabel("spigot-classes"), profile.getMappings().get("spigot-classes"), MappingLoader::readSpigotClasses);
+            String spigotMembers = profile.getMappings().get("spigot-members");
+            if (spigotMembers != null && !spigotMembers.isEmpty()) {
+                // Members belong to the classes just read, their file is small enough to be loaded afterwards
+                spigot = Futures.transformAsync(spigot, classes -> load(project, pending, MappingCache.getLabel("spigot-members"), spigotMembers,
+                        inputStream -> MappingLoader.readSpigotMembers(classes, inputStream)), MoreExecutors.directExecutor());
+            }
+            components = Futures.allAsList(mojang, spigot);
+        }
+        return Futures.transform(components, mappings -> {
+            writeSnapshotFile(profile, mappings);
+            return mappings;
+        }, AppExecutorUtil.getAppExecutorService());
+    }
+
+    private static void writeSnapshotFile(Profile profile, List<ObfuscationMapping> mappings) {
+        try {
+            MappingCache.writeSnapshotFile(profile, mappings);
+        } catch (IOException e) {
+            // Only restores get slower, the mappings themselves are fine
+            LOG.warn("Could not write the snapshot of profile " + profile.getId(), e);
+        }
+    }
+
+    /**
+     * Called for every chunk read by a download or parse stage, this is where stale loads get aborted.
+     */
+    private static void reportProgress(ProgressIndicator indicator, long consumed, long total) {
+        indicator.checkCanceled();
+        if (total > 0) {
+            indicator.setFraction(Math.min(1.0, (double) consumed / total));
+        }
+    }
 
     @Override
-    public Result triggerMappingLoad(Runnable loadCallback) {
+    public Result triggerMappingLoad(@Nullable Module module, Runnable loadCallback) {
         IProfileManager profileManager = ApplicationManager.getApplication().getService(IProfileManager.class);
-        Profile currentProfile = profileManager.getProfileById(ProjectSettingsStateService.getInstance(project).getCurrentProjectId());
+        Profile currentProfile = profileManager.getProfileById(ProjectSettingsStateService.getInstance(project).getProfileId(module));
         if(currentProfile == null) {
-            this.mojangMapping = null;
-            this.spigotMapping = null;
             return Result.DISABLED;
         }
-        if (currentProfile.equals(this.currentlyLoadedProfile) && mojangMapping != null && spigotMapping != null) {
+        ProfileSlot slot = slots.computeIfAbsent(currentProfile.getId(), id -> new ProfileSlot());
+        MappingSnapshot current = slot.snapshot;
+        if (current != null && currentProfile.equals(current.getProfile())) {
+            slot.lastAccess = System.currentTimeMillis();
             return Result.AVAILABLE_NOW;
         }
-        this.currentlyLoadedProfile = currentProfile;
         if (!isMappingSupported()) {
             return Result.DISABLED;
         }
-        if (!loading.compareAndSet(false, true)) {
+        FailedLoad failure = slot.lastFailure;
+        if (failure != null && failure.profile.equals(currentProfile) && System.currentTimeMillis() - failure.timestamp < RETRY_DELAY_MILLIS) {
+            return Result.FAILED;
+        }
+        PendingLoad previous = slot.pendingLoad.get();
+        if (previous != null && previous.profile.equals(currentProfile)) {
             return Result.TASK_DELAYED;
         }
+        PendingLoad pending = new PendingLoad(currentProfile);
+        if (!slot.pendingLoad.compareAndSet(previous, pending)) {
+            return Result.TASK_DELAYED;
+        }
+        if (previous != null) {
+            // The profile was changed while loading, the old results would be thrown away anyway
+            LOG.debug("Aborting load of profile " + previous.profile.getId());
+            previous.cancel();
+        }
+        // Readers must never see the previous mappings of a profile once it has been changed
+        slot.snapshot = null;
 
-        AtomicInteger tasksToDo = new AtomicInteger(2);
-        System.out.println("Loading profile " + currentProfile.getId());
-        Futures.addCallback(load(project, "mojang", currentProfile.getMappings().get("mojang"), ProguardMappingParser::parseProguard), new FutureCallback<>() {
+        ListenableFuture<List<ObfuscationMapping>> components;
+        File snapshotFile = MappingCache.getSnapshotFile(currentProfile);
+        if (snapshotFile.isFile()) {
+            // The snapshot has been released before, its binary copy is much faster to read than the original mappings
+            LOG.debug("Restoring profile " + currentProfile.getId());
+            components = Futures.catchingAsync(restore(pending, currentProfile, snapshotFile), IOException.class,
+                    e -> loadMappings(pending, currentProfile), MoreExecutors.directExecutor());
+        } else {
+            LOG.debug("Loading profile " + currentProfile.getId());
+            components = loadMappings(pending, currentProfile);
+        }
+        ListenableFuture<MappingSnapshot> loaded = Futures.transform(components,
+                mappings -> share(slot, currentProfile, mappings),
+                AppExecutorUtil.getAppExecutorService());
+        Futures.addCallback(loaded, new FutureCallback<>() {
 
             @Override
-            public void onSuccess(ObfuscationMapping result) {
-                mojangMapping = result;
-                if (tasksToDo.decrementAndGet() == 0) {
-                    loading.set(false);
-                    System.out.println("All mappings have been loaded!");
-                    EventQueue.invokeLater(loadCallback);
+            public void onSuccess(MappingSnapshot result) {
+                if (!slot.pendingLoad.compareAndSet(pending, null)) {
+                    return;
                 }
+                slot.snapshot = result;
+                slot.lastAccess = System.currentTimeMillis();
+                slot.lastFailure = null;
+                System.out.println("All mappings have been loaded!");
+                EventQueue.invokeLater(loadCallback);
+                AppExecutorUtil.getAppExecutorService().execute(() -> checkConsistency(result));
             }
 
             @Override
             public void onFailure(Throwable t) {
-                System.out.println("Loading of " + "mojang" + " failed");
+                if (!slot.pendingLoad.compareAndSet(pending, null)) {
+                    return;
+                }
+                // Do not keep downloading the remaining mappings of a profile which cannot be used anyway
+                pending.cancel();
+                if (t instanceof CancellationException) {
+                    return;
+                }
+                slot.lastFailure = new FailedLoad(currentProfile, System.currentTimeMillis());
+                System.out.println("Loading of profile " + currentProfile.getId() + " failed");
                 t.printStackTrace();
             }
-        }, EventQueue::invokeLater);
-        Futures.addCallback(load(project, "spigot", currentProfile.getMappings().get("spigot-classes"), scanner -> CSRGMappingParser.parse(scanner, null)), new FutureCallback<>() {
+        }, MoreExecutors.directExecutor());
+        return Result.TASK_DELAYED;
+    }
 
-            @Override
-            public void onSuccess(ObfuscationMapping result) {
-                spigotMapping = result;
-                if (tasksToDo.decrementAndGet() == 0) {
-                    loading.set(false);
-                    System.out.println("All mappings have been loaded!");
-                    EventQueue.invokeLater(loadCallback);
-                }
+    /**
+     * Builds the snapshot of a freshly loaded profile, sharing strings and unchanged classes with the profiles which
+     * are already loaded, so modules targeting neighbouring versions do not each pay for a full copy.
+     */
+    private MappingSnapshot share(ProfileSlot slot, Profile profile, List<ObfuscationMapping> mappings) {
+        List<ObfuscationMapping> loaded = new ArrayList<>();
+        for (ProfileSlot other : slots.values()) {
+            MappingSnapshot snapshot = other.snapshot;
+            if (other != slot && snapshot != null) {
+                loaded.add(snapshot.getMojang());
+                loaded.add(snapshot.getSpigot());
             }
+        }
+        if (loaded.isEmpty()) {
+            // Nothing to share with, copying every record would only cost time and garbage
+            return new MappingSnapshot(profile, mappings.get(0), mappings.get(1));
+        }
+        MappingDeduplicator deduplicator = new MappingDeduplicator(loaded);
+        return new MappingSnapshot(profile, deduplicator.share(mappings.get(0)), deduplicator.share(mappings.get(1)));
+    }
 
-            @Override
-            public void onFailure(Throwable t) {
-                System.out.println("Loading of " + "spigot" + " failed");
-                t.printStackTrace();
+    private void checkConsistency(MappingSnapshot snapshot) {
+        MappingConsistencyAnalyzer.Report report = snapshot.getCache(MappingConsistencyAnalyzer.Report.class, MappingConsistencyAnalyzer::analyze);
+        Profile profile = snapshot.getProfile();
+        LOG.info("Consistency of profile " + profile.getId() + ": " + report);
+        if (!report.isEmpty() && reportedProfiles.add(profile.getId())) {
+            Notifications.Bus.notify(new Notification(GROUP_ID, "Inconsistent mappings",
+                    "Some names of profile " + profile.getId() + " cannot be translated: " + report.getCounts(), NotificationType.WARNING), project);
+        }
+    }
+
+    @Override
+    public MappingSnapshot getSnapshotIfPresent(@Nullable Module module) {
+        String profileId = ProjectSettingsStateService.getInstance(project).getProfileId(module);
+        ProfileSlot slot = profileId == null ? null : slots.get(profileId);
+        if (slot == null) {
+            return null;
+        }
+        MappingSnapshot snapshot = slot.snapshot;
+        if (snapshot != null) {
+            slot.lastAccess = System.currentTimeMillis();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops the snapshots which have not been asked for within the given time. They stay registered, so the next
+     * request restores them from their binary copy, and callers simply see no mappings until then.
+     */
+    private void releaseIdleSnapshots(long idleMillis) {
+        long now = System.currentTimeMillis();
+        boolean released = false;
+        for (Map.Entry<String, ProfileSlot> entry : slots.entrySet()) {
+            ProfileSlot slot = entry.getValue();
+            if (slot.snapshot != null && now - slot.lastAccess >= idleMillis) {
+                LOG.debug("Releasing idle mappings of profile " + entry.getKey());
+                slot.snapshot = null;
+                released = true;
             }
-        }, EventQueue::invokeLater);
-        return Result.TASK_DELAYED;
+        }
+        if (released) {
+            releaseListeners.forEach(Runnable::run);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        idleCheck.cancel(false);
+        slots.values().forEach(ProfileSlot::cancelPendingLoad);
+        slots.clear();
     }
 
     @Override
-    public ObfuscationMapping getMojangMappingIfPresent() {
-        return mojangMapping;
+    public void releaseUnusedProfiles() {
+        IProjectSettingsStateService settings = ProjectSettingsStateService.getInstance(project);
+        Set<String> used = new HashSet<>(settings.getModuleProfileIds().values());
+        used.add(settings.getCurrentProjectId());
+        boolean released = slots.entrySet().removeIf(entry -> {
+            if (used.contains(entry.getKey())) {
+                return false;
+            }
+            LOG.debug("Releasing profile " + entry.getKey());
+            entry.getValue().cancelPendingLoad();
+            return true;
+        });
+        if (released) {
+            releaseListeners.forEach(Runnable::run);
+        }
     }
 
     @Override
-    public ObfuscationMapping getSpigotMappingIfPresent() {
-        return spigotMapping;
+    public void addReleaseListener(Runnable listener, Disposable parentDisposable) {
+        releaseListeners.add(listener);
+        Disposer.register(parentDisposable, () -> releaseListeners.remove(listener));
+    }
+
+    private interface MappingReader<T> {
+        T read(InputStream inputStream) throws IOException;
+    }
+
+    /**
+     * The loaded mappings and the load state of one profile.
+     */
+    private static class ProfileSlot {
+        private volatile MappingSnapshot snapshot;
+        private volatile long lastAccess;
+        private volatile FailedLoad lastFailure;
+        private final AtomicReference<PendingLoad> pendingLoad = new AtomicReference<>();
+
+        void cancelPendingLoad() {
+            PendingLoad pending = pendingLoad.getAndSet(null);
+            if (pending != null) {
+                pending.cancel();
+            }
+        }
+    }
+
+    private static class FailedLoad {
+        private final Profile profile;
+        private final long timestamp;
+
+        FailedLoad(Profile profile, long timestamp) {
+            this.profile = profile;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * The downloads and parse tasks started for one profile, so they can be aborted together.
+     */
+    private static class PendingLoad {
+        private final Profile profile;
+        private final List<ProgressIndicator> indicators = new ArrayList<>();
+        private boolean cancelled;
+
+        PendingLoad(Profile profile) {
+            this.profile = profile;
+        }
+
+        synchronized void attach(ProgressIndicator indicator) {
+            if (cancelled) {
+                indicator.cancel();
+            }
+            indicators.add(indicator);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            indicators.forEach(ProgressIndicator::cancel);
+        }
     }
 }
@@ -0,0 +1,234 @@
+package lt.lukasa.proguardviewer.service;
+
+import com.intellij.ide.IdeEventQueue;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import lt.lukasa.proguardviewer.profiles.Profile;
+import lt.lukasa.proguardviewer.profiles.ProfilePreset;
+import lt.lukasa.proguardviewer.query.MappingLoader;
+import lt.lukasa.proguardviewer.util.CompressedStreams;
+import lt.lukasa.proguardviewer.util.ThrottledInputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Works through the presets on a single thread of minimal priority once the IDE has been idle for a while. Every
+ * read of a download or cached file passes a throttle, which blocks as soon as the user becomes active again and
+ * resumes once the IDE is idle again, so the work never competes with typing or indexing.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+@State(name = "PresetPrecompiler", storages = @Storage("proguardViewer.xml"))
+public class PresetPrecompiler implements IPresetPrecompiler, PersistentStateComponent<PresetPrecompiler.State>, Disposable {
+    private static final Logger LOG = Logger.getInstance(PresetPrecompiler.class);
+
+    /**
+     * Time without user input after which the IDE counts as idle.
+     */
+    private static final int IDLE_MILLIS = 60_000;
+
+    private static final long DOWNLOAD_BYTES_PER_SECOND = 2L << 20;
+
+    /**
+     * Applies to the compressed cache entries, the parsers see about twenty times as much.
+     */
+    private static final long READ_BYTES_PER_SECOND = 1L << 20;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Proguard Viewer preset precompiler");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Runnable idleListener = this::onIdle;
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile boolean disposed;
+
+    static class State {
+        public boolean enabled;
+        public int presetLimit;
+    }
+
+    private State myState = new State();
+
+    public PresetPrecompiler() {
+        IdeEventQueue eventQueue = IdeEventQueue.getInstance();
+        eventQueue.addIdleListener(idleListener, IDLE_MILLIS);
+        eventQueue.addActivityListener(() -> lastActivity = System.currentTimeMillis(), this);
+    }
+
+    @Override
+    public State getState() {
+        return myState;
+    }
+
+    @Override
+    public void loadState(@NotNull State state) {
+        myState = state;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return myState.enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        myState.enabled = enabled;
+    }
+
+    @Override
+    public int getPresetLimit() {
+        return myState.presetLimit;
+    }
+
+    @Override
+    public void setPresetLimit(int presetLimit) {
+        myState.presetLimit = presetLimit;
+    }
+
+    private void onIdle() {
+        if (myState.enabled && !disposed && running.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    precompilePresets();
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    private void precompilePresets() {
+        // The presets are listed newest first
+        List<Profile> presets = new ArrayList<>();
+        for (Profile profile : ApplicationManager.getApplication().getService(IProfileManager.class).getAvailableProfiles()) {
+            if (profile instanceof ProfilePreset) {
+                presets.add(profile);
+            }
+        }
+        int limit = myState.presetLimit;
+        if (limit > 0 && presets.size() > limit) {
+            presets = presets.subList(0, limit);
+        }
+        for (Profile preset : presets) {
+            if (MappingCache.getSnapshotFile(preset).isFile()) {
+                continue;
+            }
+            try {
+                LOG.debug("Precompiling profile " + preset.getId());
+                List<ObfuscationMapping> components = MappingLoader.readComponents(preset, location -> open(preset, location));
+                MappingCache.writeSnapshotFile(preset, components);
+                LOG.debug("Precompiled profile " + preset.getId());
+            } catch (InterruptedIOException e) {
+                LOG.debug("Precompilation stopped at profile " + preset.getId());
+                return;
+            } catch (Exception e) {
+                // The next idle period tries again, a profile loaded in the meantime simply does not profit
+                LOG.warn("Could not precompile profile " + preset.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Opens a mapping of a preset from the cache folder, downloading it first if it is not cached yet. The cache
+     * entries are the same the mapping service uses.
+     */
+    private InputStream open(Profile preset, String location) throws IOException {
+        String label = null;
+        for (Map.Entry<String, String> entry : preset.getMappings().entrySet()) {
+            if (location.equals(entry.getValue())) {
+                label = MappingCache.getLabel(entry.getKey());
+                break;
+            }
+        }
+        if (label == null) {
+            throw new IOException("Profile " + preset.getId() + " does not refer to " + location);
+        }
+        File data = MappingCache.getMappingFile(label, location);
+        File uncompressed = MappingCache.getLegacyMappingFile(label, location);
+        if (!data.exists() && uncompressed.isFile()) {
+            try (InputStream inputStream = throttle(new FileInputStream(uncompressed), READ_BYTES_PER_SECOND)) {
+                MappingCache.store(inputStream, data);
+            }
+            uncompressed.delete();
+        }
+        if (!data.exists()) {
+            URLConnection connection = new URL(location).openConnection();
+            try (InputStream inputStream = throttle(connection.getInputStream(), DOWNLOAD_BYTES_PER_SECOND)) {
+                MappingCache.store(inputStream, data);
+            }
+        }
+        InputStream inputStream = throttle(new FileInputStream(data), READ_BYTES_PER_SECOND);
+        try {
+            return CompressedStreams.decompress(inputStream);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    private InputStream throttle(InputStream inputStream, long bytesPerSecond) {
+        return new ThrottledInputStream(inputStream, bytesPerSecond, this::awaitIdle);
+    }
+
+    /**
+     * Blocks while the user is active, and aborts the work once it has been switched off.
+     */
+    private void awaitIdle() throws IOException {
+        while (true) {
+            if (!myState.enabled || disposed) {
+                throw new InterruptedIOException("Precompilation has been switched off");
+            }
+            long idle = System.currentTimeMillis() - lastActivity;
+            if (idle >= IDLE_MILLIS) {
+                return;
+            }
+            try {
+                Thread.sleep(Math.min(IDLE_MILLIS - idle, 1000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the IDE to become idle");
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        IdeEventQueue.getInstance().removeIdleListener(idleListener);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Application services are created on first use, this creates the precompiler once the first project is open.
+     */
+    public static class Starter implements StartupActivity.DumbAware {
+        @Override
+        public void runActivity(@NotNull Project project) {
+            ApplicationManager.getApplication().getService(IPresetPrecompiler.class);
+        }
+    }
+}
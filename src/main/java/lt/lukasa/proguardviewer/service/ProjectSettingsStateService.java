@@ -3,6 +3,11 @@ package lt.lukasa.proguardviewer.service;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Lukas Alt
@@ -17,6 +22,8 @@ public class ProjectSettingsStateService implements PersistentStateComponent<Pro
 
     static class State {
         public String selectedProfileId;
+        public Map<String, String> moduleProfileIds = new HashMap<>();
+        public int idleReleaseMinutes = 30;
     }
 
     private State myState = new State();
@@ -39,4 +46,31 @@ public class ProjectSettingsStateService implements PersistentStateComponent<Pro
         myState.selectedProfileId = s;
 
     }
+
+    @Override
+    public Map<String, String> getModuleProfileIds() {
+        return Collections.unmodifiableMap(myState.moduleProfileIds);
+    }
+
+    @Override
+    public void setModuleProfileId(String moduleName, @Nullable String profileId) {
+        // Copied on write, the profiles are looked up from background threads
+        Map<String, String> moduleProfileIds = new HashMap<>(myState.moduleProfileIds);
+        if (profileId == null) {
+            moduleProfileIds.remove(moduleName);
+        } else {
+            moduleProfileIds.put(moduleName, profileId);
+        }
+        myState.moduleProfileIds = moduleProfileIds;
+    }
+
+    @Override
+    public int getIdleReleaseMinutes() {
+        return myState.idleReleaseMinutes;
+    }
+
+    @Override
+    public void setIdleReleaseMinutes(int minutes) {
+        myState.idleReleaseMinutes = minutes;
+    }
 }
\ No newline at end of file
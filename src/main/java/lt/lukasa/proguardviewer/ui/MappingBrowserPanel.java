@@ -0,0 +1,170 @@
+package lt.lukasa.proguardviewer.ui;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MappingTable;
+import lt.lukasa.proguardviewer.service.IObfuscationMappingService;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lists all classes and members of the profile selected for the project. Building the table and filtering it run on
+ * a background thread, one query at a time; every keystroke starts a new query, which makes all older ones stale, and
+ * a stale query stops at its next check. A query extending the previous one only checks the rows of the previous
+ * result.
+ * <p>
+ * The table is dropped whenever the tool window is hidden or the mappings are released, so the browser never keeps
+ * a snapshot alive the mapping service has let go of. It is built again on the next query.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingBrowserPanel extends JPanel implements Disposable {
+    private final Project project;
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Mapping Browser", 1);
+    private final AtomicInteger generation = new AtomicInteger();
+    private final SearchTextField searchField = new SearchTextField(false);
+    private final JBLabel statusLabel = new JBLabel();
+    private final MappingTableModel model = new MappingTableModel();
+    private MappingSnapshot snapshot;
+    // The last applied filter, the start for queries refining it
+    private String lastQuery = "";
+    private int[] lastRows;
+    private boolean disposed;
+
+    public MappingBrowserPanel(Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        JBTable table = new JBTable(model);
+        table.setShowGrid(false);
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(searchField, BorderLayout.CENTER);
+        header.add(statusLabel, BorderLayout.EAST);
+        add(header, BorderLayout.NORTH);
+        add(new JBScrollPane(table), BorderLayout.CENTER);
+
+        searchField.addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                update();
+            }
+        });
+        // The first query starts once the panel is shown
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                if (isShowing()) {
+                    update();
+                } else {
+                    clear();
+                }
+            }
+        });
+        project.getService(IObfuscationMappingService.class).addReleaseListener(
+                () -> ApplicationManager.getApplication().invokeLater(this::onRelease, ModalityState.any()), this);
+    }
+
+    /**
+     * Loads the mappings of the project if needed and filters them by the current query. A changed profile is picked
+     * up with the next query.
+     */
+    private void update() {
+        if (disposed || !isShowing()) {
+            return;
+        }
+        IObfuscationMappingService service = project.getService(IObfuscationMappingService.class);
+        switch (service.triggerMappingLoad(this::update)) {
+            case DISABLED:
+                statusLabel.setText("No profile selected");
+                return;
+            case FAILED:
+                statusLabel.setText("Loading the mappings failed");
+                return;
+            case TASK_DELAYED:
+                statusLabel.setText("Loading mappings...");
+                return;
+            default:
+                break;
+        }
+        MappingSnapshot current = service.getSnapshotIfPresent();
+        if (current == null) {
+            return;
+        }
+        if (current != snapshot) {
+            snapshot = current;
+            lastQuery = "";
+            lastRows = null;
+        }
+        String query = searchField.getText().trim();
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        int[] candidates = !lastQuery.isEmpty() && lowerQuery.contains(lastQuery) && model.getTable() != null ? lastRows : null;
+        int queryGeneration = generation.incrementAndGet();
+        statusLabel.setText("Filtering...");
+        executor.execute(() -> {
+            if (generation.get() != queryGeneration) {
+                return;
+            }
+            MappingTable table = current.getCache(MappingTable.class, MappingTable::build);
+            int[] rows = query.isEmpty() ? null : table.filter(query, candidates, () -> generation.get() != queryGeneration);
+            if (generation.get() != queryGeneration) {
+                return;
+            }
+            ApplicationManager.getApplication().invokeLater(() -> {
+                if (generation.get() == queryGeneration) {
+                    apply(table, lowerQuery, rows);
+                }
+            }, ModalityState.any());
+        });
+    }
+
+    private void onRelease() {
+        if (disposed || snapshot == null) {
+            return;
+        }
+        if (project.getService(IObfuscationMappingService.class).getSnapshotIfPresent() != snapshot) {
+            clear();
+            statusLabel.setText("Mappings released, reloaded with the next query");
+        }
+    }
+
+    /**
+     * Drops everything built from the current snapshot and makes pending queries stale.
+     */
+    private void clear() {
+        generation.incrementAndGet();
+        snapshot = null;
+        lastQuery = "";
+        lastRows = null;
+        model.clear();
+    }
+
+    private void apply(MappingTable table, String lowerQuery, int[] rows) {
+        lastQuery = lowerQuery;
+        lastRows = rows;
+        model.setRows(table, rows);
+        statusLabel.setText(rows == null ? model.getTotalRowCount() + " entries" : rows.length + " of " + model.getTotalRowCount() + " entries");
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        // Makes every pending query stale, the executor only runs on the shared application pool
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,25 @@
+package lt.lukasa.proguardviewer.ui;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates the mapping browser once its tool window is opened for the first time.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingBrowserToolWindowFactory implements ToolWindowFactory, DumbAware {
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        MappingBrowserPanel panel = new MappingBrowserPanel(project);
+        Content content = ContentFactory.SERVICE.getInstance().createContent(panel, null, false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
@@ -0,0 +1,78 @@
+package lt.lukasa.proguardviewer.ui;
+
+import lt.lukasa.proguardviewer.mappings.MappingTable;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Shows the rows of a {@link MappingTable}, all of them or those of a filter result. Cells are read from the table
+ * when they are painted, so only the visible rows ever cost anything.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class MappingTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Kind", "Mojang", "Spigot", "Obfuscated", "Parameters", "Class"};
+
+    private MappingTable table;
+    // The rows of the table to show, null to show all of them
+    private int[] rows;
+
+    public MappingTable getTable() {
+        return table;
+    }
+
+    public void setRows(MappingTable table, int[] rows) {
+        this.table = table;
+        this.rows = rows;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Drops the table, so the model no longer keeps the snapshot it was built from alive.
+     */
+    public void clear() {
+        setRows(null, null);
+    }
+
+    public int getTotalRowCount() {
+        return table == null ? 0 : table.getRowCount();
+    }
+
+    @Override
+    public int getRowCount() {
+        if (table == null) {
+            return 0;
+        }
+        return rows != null ? rows.length : table.getRowCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int row = rows != null ? rows[rowIndex] : rowIndex;
+        switch (columnIndex) {
+            case 0:
+                return table.getKind(row);
+            case 1:
+                return table.getMojangName(row);
+            case 2:
+                return table.getSpigotName(row);
+            case 3:
+                return table.getObfuscatedName(row);
+            case 4:
+                return table.getParameters(row);
+            default:
+                return table.getOwnerName(row);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package lt.lukasa.proguardviewer.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports the number of bytes consumed so far after every read. The listener may throw an unchecked exception to
+ * abort the consumer of this stream, which is how download and parse stages get cancelled.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ProgressTrackingInputStream extends FilterInputStream {
+    private final LongConsumer listener;
+    private long consumed;
+
+    public ProgressTrackingInputStream(InputStream in, LongConsumer listener) {
+        super(in);
+        this.listener = listener;
+    }
+
+    public long getConsumed() {
+        return consumed;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            advance(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(long bytes) {
+        consumed += bytes;
+        listener.accept(consumed);
+    }
+}
@@ -0,0 +1,233 @@
+package lt.lukasa.proguardviewer.util;
+
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiCompiledElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers which mappings belong to a {@link PsiClass}, so repeated references to the same class neither rebuild its
+ * qualified name nor repeat the map lookups. The cache is attached to the class as user data and dropped on every PSI
+ * modification; a change of the mapping snapshot is detected by comparing the snapshot the entry was resolved for.
+ * Names rejected by the {@link lt.lukasa.proguardviewer.mappings.MappingPrefilter} are never looked up.
+ * <p>
+ * Library classes and their cache live as long as the project, so nothing derived from a snapshot is held strongly
+ * here: entries only reference records of the snapshot weakly, and member tables are kept by the snapshot itself.
+ * Releasing a snapshot frees all of it.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class PsiClassMappingCache {
+    private static final Key<CachedValue<PsiClassMappingCache>> KEY = Key.create("lt.lukasa.proguardviewer.classMapping");
+
+    private final PsiClass psiClass;
+    private volatile PsiClassType type;
+    private volatile Entry entry;
+
+    private PsiClassMappingCache(PsiClass psiClass) {
+        this.psiClass = psiClass;
+    }
+
+    private static PsiClassMappingCache of(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, KEY, () -> {
+            // Library classes only change together with the project roots, they do not need to be dropped on every edit
+            Object dependency = psiClass instanceof PsiCompiledElement ? ProjectRootModificationTracker.getInstance(psiClass.getProject()) : PsiModificationTracker.MODIFICATION_COUNT;
+            return CachedValueProvider.Result.create(new PsiClassMappingCache(psiClass), dependency);
+        });
+    }
+
+    public static Entry getEntry(PsiClass psiClass, MappingSnapshot snapshot) {
+        return of(psiClass).resolve(snapshot);
+    }
+
+    /**
+     * @return false if neither the class nor any of its supertypes is part of the mappings, in which case none of
+     * its members can be mapped either
+     */
+    public static boolean isHierarchyMapped(PsiClass psiClass, MappingSnapshot snapshot) {
+        return isHierarchyMapped(psiClass, snapshot, new HashSet<>());
+    }
+
+    private static boolean isHierarchyMapped(PsiClass psiClass, MappingSnapshot snapshot, Set<PsiClass> visited) {
+        Entry entry = getEntry(psiClass, snapshot);
+        Boolean hierarchyMapped = entry.hierarchyMapped;
+        if (hierarchyMapped == null) {
+            if (!visited.add(psiClass)) {
+                return false;
+            }
+            boolean mapped = entry.isMapped();
+            for (PsiClass superClass : psiClass.getSupers()) {
+                if (mapped) {
+                    break;
+                }
+                mapped = isHierarchyMapped(superClass, snapshot, visited);
+            }
+            hierarchyMapped = mapped;
+            entry.hierarchyMapped = hierarchyMapped;
+        }
+        return hierarchyMapped;
+    }
+
+    /**
+     * @return the mapped members of the class and of all its mapped supertypes, built once per class and snapshot
+     */
+    public static MemberNameTable getMemberTable(PsiClass psiClass, MappingSnapshot snapshot) {
+        PsiClassMappingCache cache = of(psiClass);
+        Map<PsiClassMappingCache, MemberNameTable> tables = snapshot.getCache(MemberTables.class, key -> new MemberTables()).tables;
+        MemberNameTable members = tables.get(cache);
+        if (members == null) {
+            if (isHierarchyMapped(psiClass, snapshot)) {
+                MemberNameTable.Builder builder = MemberNameTable.builder();
+                collectMembers(psiClass, snapshot, builder, new HashSet<>());
+                members = builder.build();
+            } else {
+                members = MemberNameTable.EMPTY;
+            }
+            tables.put(cache, members);
+        }
+        return members;
+    }
+
+    private static void collectMembers(PsiClass psiClass, MappingSnapshot snapshot, MemberNameTable.Builder builder, Set<PsiClass> visited) {
+        if (!visited.add(psiClass)) {
+            return;
+        }
+        Entry entry = getEntry(psiClass, snapshot);
+        if (entry.isMapped()) {
+            builder.add(entry.getMojang());
+        }
+        for (PsiClass superClass : psiClass.getSupers()) {
+            if (isHierarchyMapped(superClass, snapshot)) {
+                collectMembers(superClass, snapshot, builder, visited);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the mapped classes among the class and its supertypes, in the order an inherited member
+     * is looked up in them, built once per class and snapshot
+     */
+    public static List<String> getMappedHierarchy(PsiClass psiClass, MappingSnapshot snapshot) {
+        Entry entry = getEntry(psiClass, snapshot);
+        List<String> hierarchy = entry.hierarchy;
+        if (hierarchy == null) {
+            if (isHierarchyMapped(psiClass, snapshot)) {
+                List<String> names = new ArrayList<>();
+                collectHierarchy(psiClass, snapshot, names, new HashSet<>());
+                hierarchy = Collections.unmodifiableList(names);
+            } else {
+                hierarchy = Collections.emptyList();
+            }
+            entry.hierarchy = hierarchy;
+        }
+        return hierarchy;
+    }
+
+    private static void collectHierarchy(PsiClass psiClass, MappingSnapshot snapshot, List<String> names, Set<PsiClass> visited) {
+        if (!visited.add(psiClass)) {
+            return;
+        }
+        Entry entry = getEntry(psiClass, snapshot);
+        if (entry.isMapped()) {
+            names.add(entry.getQualifiedName());
+        }
+        for (PsiClass superClass : psiClass.getSupers()) {
+            if (isHierarchyMapped(superClass, snapshot)) {
+                collectHierarchy(superClass, snapshot, names, visited);
+            }
+        }
+    }
+
+    public static PsiClassType getType(PsiClass psiClass) {
+        PsiClassMappingCache cache = of(psiClass);
+        PsiClassType type = cache.type;
+        if (type == null) {
+            type = JavaPsiFacade.getElementFactory(psiClass.getProject()).createType(psiClass);
+            cache.type = type;
+        }
+        return type;
+    }
+
+    private Entry resolve(MappingSnapshot snapshot) {
+        Entry entry = this.entry;
+        if (entry == null || entry.snapshot.get() != snapshot) {
+            String qualifiedName = psiClass.getQualifiedName();
+            if (qualifiedName == null) {
+                entry = new Entry(snapshot, null, null, null);
+            } else if (!snapshot.getPrefilter().mightContain(qualifiedName)) {
+                entry = new Entry(snapshot, qualifiedName, null, null);
+            } else {
+                entry = new Entry(snapshot, qualifiedName,
+                        snapshot.getSpigot().getClassesByRealName().get(qualifiedName),
+                        snapshot.getMojangClass(qualifiedName).orElse(null));
+            }
+            this.entry = entry;
+        }
+        return entry;
+    }
+
+    /**
+     * The member tables built for one snapshot. Tables reference the records of the snapshot, so they are dropped
+     * together with it, and together with the cache of their class on every modification of it.
+     */
+    private static final class MemberTables {
+        private final Map<PsiClassMappingCache, MemberNameTable> tables = Collections.synchronizedMap(new WeakHashMap<>());
+    }
+
+    /**
+     * The mappings a class resolved to in one snapshot. Classes which are not part of the mappings get an entry as
+     * well, with {@link #isMapped()} returning false.
+     */
+    public static final class Entry {
+        private final WeakReference<MappingSnapshot> snapshot;
+        private final String qualifiedName;
+        // Records of the snapshot, which keeps them alive exactly as long as the entry is valid
+        private final WeakReference<ObfuscationClassMapping> spigot;
+        private final WeakReference<ObfuscationClassMapping> mojang;
+        private volatile Boolean hierarchyMapped;
+        // Qualified names of the PSI classes, nothing of the snapshot
+        private volatile List<String> hierarchy;
+
+        private Entry(MappingSnapshot snapshot, String qualifiedName, ObfuscationClassMapping spigot, ObfuscationClassMapping mojang) {
+            this.snapshot = new WeakReference<>(snapshot);
+            this.qualifiedName = qualifiedName;
+            this.spigot = spigot == null ? null : new WeakReference<>(spigot);
+            this.mojang = mojang == null ? null : new WeakReference<>(mojang);
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public ObfuscationClassMapping getSpigot() {
+            return spigot == null ? null : spigot.get();
+        }
+
+        public ObfuscationClassMapping getMojang() {
+            return mojang == null ? null : mojang.get();
+        }
+
+        public boolean isMapped() {
+            return mojang != null;
+        }
+    }
+}
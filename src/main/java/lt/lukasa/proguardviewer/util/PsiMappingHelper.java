@@ -2,17 +2,25 @@ package lt.lukasa.proguardviewer.util;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiArrayType;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
-import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
-import lt.lukasa.proguardviewer.mappings.ObfuscationMapping;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.search.GlobalSearchScope;
+import lt.lukasa.proguardviewer.mappings.MappingSearchIndex;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
 import lt.lukasa.proguardviewer.mappings.ObfuscationMethodMapping;
+import lt.lukasa.proguardviewer.query.TranslationBatch;
+import lt.lukasa.proguardviewer.query.TranslationResult;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * @author Lukas Alt
@@ -20,56 +28,104 @@ import java.util.stream.Collectors;
  */
 public class PsiMappingHelper {
     public static PsiType getTypeForPsiClass(Project project, PsiClass psiClass) {
-        return JavaPsiFacade.getInstance(project).getElementFactory().createType(psiClass);
+        return PsiClassMappingCache.getType(psiClass);
     }
 
-    public static String resolveMethod(ObfuscationMapping spigot, ObfuscationMapping mojang, PsiType baseType, String methodName, PsiType[] parameters) {
-        Optional<ObfuscationClassMapping> mapping = spigot.getClassByRealName(baseType.getCanonicalText());
-
-        if (mapping.isPresent()) {
-            ObfuscationClassMapping clazz = mapping.get();
-            Optional<ObfuscationClassMapping> mojangMapped = mojang.getClassByObfuscatedName(clazz.getObfuscatedName());
-            if (mojangMapped.isPresent()) {
-                List<ObfuscationMethodMapping> candidates = mojangMapped.get().getMethodsByObfuscatedName().get(methodName);
-                if (candidates != null && !candidates.isEmpty()) {
-                    Optional<ObfuscationMethodMapping> method = matchMethod(spigot, mojang, candidates, parameters == null ? new PsiType[0] : parameters);
-                    if (method.isPresent()) {
-                        return method.get().getRealName();
+    /**
+     * Finds the classes, fields or methods of the server jar a search match refers to. Methods are matched by
+     * translating their parameters, since overloads may share one obfuscated name.
+     */
+    public static List<PsiElement> findElements(Project project, MappingSnapshot snapshot, MappingSearchIndex.Match match) {
+        PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(snapshot.getSourceClassName(match.getMojangClass()), GlobalSearchScope.allScope(project));
+        if (psiClass == null) {
+            return Collections.emptyList();
+        }
+        switch (match.getKind()) {
+            case FIELD:
+                PsiField field = psiClass.findFieldByName(match.getObfuscatedName(), false);
+                return field == null ? Collections.emptyList() : Collections.singletonList(field);
+            case METHOD:
+                PsiMethod[] overloads = psiClass.findMethodsByName(match.getObfuscatedName(), false);
+                TranslationBatch.Builder batch = TranslationBatch.builder();
+                int[] indices = new int[overloads.length];
+                for (int i = 0; i < overloads.length; i++) {
+                    PsiParameter[] parameters = overloads[i].getParameterList().getParameters();
+                    PsiType[] parameterTypes = new PsiType[parameters.length];
+                    for (int j = 0; j < parameters.length; j++) {
+                        parameterTypes[j] = parameters[j].getType();
+                    }
+                    indices[i] = addMethodQuery(batch, snapshot, psiClass, overloads[i].getName(), parameterTypes);
+                }
+                TranslationResult result = batch.build().translate(snapshot);
+                List<PsiElement> methods = new ArrayList<>();
+                for (int i = 0; i < overloads.length; i++) {
+                    if (indices[i] >= 0 && match.getName().equals(result.getName(indices[i]))) {
+                        methods.add(overloads[i]);
                     }
                 }
+                return methods;
+            default:
+                return Collections.singletonList(psiClass);
+        }
+    }
+
+    public static String resolveMethod(MappingSnapshot snapshot, PsiClass baseClass, String methodName, PsiType[] parameters) {
+        ObfuscationMethodMapping method = resolveMethodMapping(snapshot, baseClass, methodName, parameters);
+        return method == null ? null : method.getRealName();
+    }
+
+    /**
+     * @return the Mojang mapping of the method declared in the class or inherited from one of its mapped supertypes
+     */
+    public static ObfuscationMethodMapping resolveMethodMapping(MappingSnapshot snapshot, PsiClass baseClass, String methodName, PsiType[] parameters) {
+        TranslationBatch.Builder batch = TranslationBatch.builder();
+        int index = addMethodQuery(batch, snapshot, baseClass, methodName, parameters);
+        return index < 0 ? null : batch.build().translate(snapshot).getMethod(index);
+    }
+
+    /**
+     * Adds a method declared in the class or inherited from one of its mapped supertypes to a batch.
+     *
+     * @return the index of the query, or -1 if neither the class nor any of its supertypes is mapped
+     */
+    public static int addMethodQuery(TranslationBatch.Builder batch, MappingSnapshot snapshot, PsiClass baseClass, String methodName, PsiType[] parameters) {
+        if (baseClass == null) {
+            return -1;
+        }
+        List<String> hierarchy = PsiClassMappingCache.getMappedHierarchy(baseClass, snapshot);
+        if (hierarchy.isEmpty()) {
+            return -1;
+        }
+        List<String> parameterTypes = new ArrayList<>(parameters == null ? 0 : parameters.length);
+        if (parameters != null) {
+            for (PsiType parameter : parameters) {
+                parameterTypes.add(getSourceTypeName(snapshot, parameter));
             }
         }
-        for (PsiType superType : baseType.getSuperTypes()) {
-            String result = resolveMethod(spigot, mojang, superType, methodName, parameters);
-            if (result != null) {
-                return result;
+        return batch.addMethod(hierarchy, methodName, parameterTypes);
+    }
+
+    /**
+     * @return the erased name of a type as the server jar uses it, e.g. {@code net.minecraft.server.level.EntityPlayer[]}
+     */
+    public static String getSourceTypeName(MappingSnapshot snapshot, PsiType type) {
+        if (type instanceof PsiArrayType) {
+            return getSourceTypeName(snapshot, ((PsiArrayType) type).getComponentType()) + "[]";
+        }
+        if (type instanceof PsiClassType) {
+            PsiClass psiClass = ((PsiClassType) type).resolve();
+            if (psiClass != null && !(psiClass instanceof PsiTypeParameter)) {
+                String qualifiedName = PsiClassMappingCache.getEntry(psiClass, snapshot).getQualifiedName();
+                if (qualifiedName != null) {
+                    return qualifiedName;
+                }
             }
         }
-        return null;
+        return trimType(type.getCanonicalText());
     }
 
     private static String trimType(String input) {
         int ind = input.indexOf("<");
         return ind >= 0 ? input.substring(0, ind) : input;
     }
-    private static Optional<ObfuscationMethodMapping> matchMethod(ObfuscationMapping spigot, ObfuscationMapping mojang, List<ObfuscationMethodMapping> candidates, PsiType[] parameterTypes) {
-        return candidates.stream().filter(
-                m -> {
-                    if (m.getParameterTypes().size() != parameterTypes.length) {
-                        return false;
-                    }
-                    for (int i = 0; i < parameterTypes.length; i++) {
-                        String expected = m.getParameterTypes().get(i);
-                        Optional<String> r = spigot.getClassByRealName(parameterTypes[i].getCanonicalText())
-                                .flatMap(s -> mojang.getClassByObfuscatedName(s.getObfuscatedName()))
-                                .map(s -> s.getRealName());
-                        String given = trimType(r.orElse(parameterTypes[i].getCanonicalText()));
-                        if (!Objects.equals(expected, given)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                }
-        ).findFirst();
-    }
 }
@@ -0,0 +1,111 @@
+package lt.lukasa.proguardviewer.util;
+
+import com.intellij.psi.*;
+import lt.lukasa.proguardviewer.mappings.MappingSnapshot;
+import lt.lukasa.proguardviewer.mappings.MemberNameTable;
+import lt.lukasa.proguardviewer.mappings.ObfuscatedMemberIndex;
+import lt.lukasa.proguardviewer.mappings.ObfuscationClassMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the members a string literal may name when it is passed to {@code Class.getDeclaredField}, {@code getField},
+ * {@code getDeclaredMethod} or {@code getMethod}. Candidates come from the {@link ObfuscatedMemberIndex} of the
+ * snapshot and are narrowed down to the receiver class if its {@code Class<T>} type is known, and for methods to the
+ * number of parameter types passed. Only an unknown receiver falls back to all members of the given name.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ReflectionMemberResolver {
+    private static final Set<String> FIELD_LOOKUPS = Set.of("getDeclaredField", "getField");
+    private static final Set<String> METHOD_LOOKUPS = Set.of("getDeclaredMethod", "getMethod");
+
+    /**
+     * @return null if the literal is not the name argument of a reflective lookup, otherwise all members it may name
+     */
+    public static List<MemberNameTable.Member> resolve(MappingSnapshot snapshot, PsiLiteralExpression literal) {
+        if (!(literal.getValue() instanceof String) || !(literal.getParent() instanceof PsiExpressionList)) {
+            return null;
+        }
+        PsiExpressionList arguments = (PsiExpressionList) literal.getParent();
+        PsiExpression[] expressions = arguments.getExpressions();
+        if (expressions[0] != literal || !(arguments.getParent() instanceof PsiMethodCallExpression)) {
+            return null;
+        }
+        PsiReferenceExpression methodExpression = ((PsiMethodCallExpression) arguments.getParent()).getMethodExpression();
+        String lookup = methodExpression.getReferenceName();
+        boolean field = FIELD_LOOKUPS.contains(lookup);
+        if (!field && !METHOD_LOOKUPS.contains(lookup)) {
+            return null;
+        }
+        PsiExpression qualifier = methodExpression.getQualifierExpression();
+        PsiType qualifierType = qualifier == null ? null : qualifier.getType();
+        if (!(qualifierType instanceof PsiClassType)
+                || !CommonClassNames.JAVA_LANG_CLASS.equals(((PsiClassType) qualifierType).rawType().getCanonicalText())) {
+            return null;
+        }
+
+        String name = (String) literal.getValue();
+        ObfuscatedMemberIndex index = snapshot.getMemberIndex();
+        List<MemberNameTable.Member> candidates = field ? index.findFields(name) : index.findMethods(name);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        // Only an exact Class<T> names the class, Class<? extends T> or a type variable may be any class
+        PsiType[] typeArguments = ((PsiClassType) qualifierType).getParameters();
+        if (typeArguments.length == 1 && typeArguments[0] instanceof PsiClassType) {
+            PsiClass receiver = ((PsiClassType) typeArguments[0]).resolve();
+            if (receiver != null && !(receiver instanceof PsiTypeParameter)) {
+                List<ObfuscationClassMapping> owners = new ArrayList<>();
+                collectOwners(snapshot, receiver, lookup.startsWith("getDeclared"), owners, new HashSet<>());
+                if (owners.isEmpty()) {
+                    // A known class outside of the mappings, e.g. a plugin class, has none of the mapped members
+                    return Collections.emptyList();
+                }
+                candidates = ObfuscatedMemberIndex.filterByOwner(candidates, owners);
+            }
+        }
+        if (!field && !passesParameterArray(expressions)) {
+            int parameterCount = expressions.length - 1;
+            List<MemberNameTable.Member> matching = new ArrayList<>();
+            for (MemberNameTable.Member candidate : candidates) {
+                if (candidate.getMethod().getParameterTypes().size() == parameterCount) {
+                    matching.add(candidate);
+                }
+            }
+            candidates = matching;
+        }
+        return candidates;
+    }
+
+    /**
+     * Public members may be inherited, declared members have to be declared by the receiver itself.
+     */
+    private static void collectOwners(MappingSnapshot snapshot, PsiClass psiClass, boolean declaredOnly, List<ObfuscationClassMapping> owners, Set<PsiClass> visited) {
+        if (!visited.add(psiClass)) {
+            return;
+        }
+        ObfuscationClassMapping mojang = PsiClassMappingCache.getEntry(psiClass, snapshot).getMojang();
+        if (mojang != null) {
+            owners.add(mojang);
+        }
+        if (declaredOnly) {
+            return;
+        }
+        for (PsiClass superClass : psiClass.getSupers()) {
+            if (PsiClassMappingCache.isHierarchyMapped(superClass, snapshot)) {
+                collectOwners(snapshot, superClass, false, owners, visited);
+            }
+        }
+    }
+
+    private static boolean passesParameterArray(PsiExpression[] expressions) {
+        return expressions.length == 2 && expressions[1].getType() instanceof PsiArrayType;
+    }
+}
@@ -0,0 +1,81 @@
+package lt.lukasa.proguardviewer.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Limits how fast a stream is consumed, for background work which must not compete with the IDE for disk and network.
+ * Before every read the gate is passed, which may block for as long as the work should pause, or throw to abort it.
+ *
+ * @author Lukas Alt
+ * @since 19.10.2026
+ */
+public class ThrottledInputStream extends FilterInputStream {
+    private final long bytesPerSecond;
+    private final Gate gate;
+    private long start = System.nanoTime();
+    private long consumed;
+
+    public ThrottledInputStream(InputStream in, long bytesPerSecond, Gate gate) {
+        super(in);
+        this.bytesPerSecond = bytesPerSecond;
+        this.gate = gate;
+    }
+
+    @Override
+    public int read() throws IOException {
+        await();
+        int b = super.read();
+        if (b >= 0) {
+            consumed++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        await();
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            consumed += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        await();
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            consumed += skipped;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void await() throws IOException {
+        long beforeGate = System.nanoTime();
+        gate.pass();
+        // Time spent waiting at the gate does not count, the stream must not catch up in a burst afterwards
+        start += System.nanoTime() - beforeGate;
+        long aheadMillis = consumed * 1000 / bytesPerSecond - (System.nanoTime() - start) / 1_000_000;
+        if (aheadMillis > 0) {
+            try {
+                Thread.sleep(aheadMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttling");
+            }
+        }
+    }
+
+    public interface Gate {
+        void pass() throws IOException;
+    }
+}